@@ -0,0 +1,157 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the tick ingestion path: updates passed through the ring and applied to the
+ * price table, alone and with readers pricing symbols from the table at the same time. In the
+ * {@code ingestWhileReading} group compare the per-method scores (writer in updates/s, readers in
+ * reads/s); the group total adds the two. {@code ingestWithListeners} runs the whole pipeline with
+ * a tick listener attached, whose cost per tick must not slow the writer down.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceIngestionBenchmark {
+
+    private static final int BATCH = 4_096;
+
+    @Param({"500", "50000"})
+    int symbolCount;
+
+    private String[] symbols;
+    private int[] symbolIds;
+    private PriceUpdateRing ring;
+    private PriceTable table;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        symbols = new String[symbolCount];
+        symbolIds = new int[symbolCount];
+        table = new PriceTable();
+        for (int i = 0; i < symbolCount; i++) {
+            symbols[i] = "SYM" + i;
+            table.put(symbols[i], BigDecimal.valueOf(10_000 + i, 2));
+            symbolIds[i] = table.getSymbols().idOf(symbols[i]);
+        }
+        ring = new PriceUpdateRing(65_536);
+    }
+
+    /**
+     * One batch offered into the ring and drained into the table, as the source and writer threads do.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @Group("ingest")
+    @GroupThreads(1)
+    public int ingest() {
+        for (int i = 0; i < BATCH; i++) {
+            long next = sequence++;
+            ring.offer(symbolIds[(int) (next % symbolCount)], 10_000 + (next & 1023), 2);
+        }
+        return ring.drain(table::put, BATCH);
+    }
+
+    @Benchmark
+    @Group("ingestWhileReading")
+    @OperationsPerInvocation(BATCH)
+    @GroupThreads(1)
+    public int ingestWhileReadingWriter() {
+        return ingest();
+    }
+
+    @Benchmark
+    @Group("ingestWhileReading")
+    @GroupThreads(3)
+    public BigDecimal ingestWhileReadingReader(ReaderCursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == symbolCount ? 0 : index + 1;
+        return table.get(symbolIds[index]);
+    }
+
+    /**
+     * A read by symbol, as the vendor adapter serves one: a dictionary lookup, then the table.
+     */
+    @Benchmark
+    @Group("readBySymbol")
+    @GroupThreads(1)
+    public BigDecimal readBySymbol(ReaderCursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == symbolCount ? 0 : index + 1;
+        return table.get(symbols[index]);
+    }
+
+    /**
+     * Updates applied by a running pipeline whose source never runs dry, waited for a batch at a time.
+     */
+    @Benchmark
+    @Group("ingestWithListeners")
+    @OperationsPerInvocation(BATCH)
+    @GroupThreads(1)
+    public long ingestWithListeners(Pipeline pipeline) {
+        long target = pipeline.ingestion.getAppliedCount() + BATCH;
+        long applied;
+        while ((applied = pipeline.ingestion.getAppliedCount()) < target) {
+            Thread.onSpinWait();
+        }
+        return applied;
+    }
+
+    @State(Scope.Group)
+    public static class Pipeline {
+
+        /**
+         * CPU spent by the listener on each tick, in {@link Blackhole#consumeCPU} tokens.
+         */
+        @Param({"0", "1000"})
+        long listenerTokens;
+
+        TickIngestionPipeline ingestion;
+
+        @Setup(Level.Trial)
+        public void start(PriceIngestionBenchmark benchmark) {
+            int[] symbolIds = benchmark.symbolIds;
+            PriceUpdateSource source = sink -> {
+                for (long next = 0; ; next++) {
+                    sink.accept(symbolIds[(int) (next % symbolIds.length)], 10_000 + (next & 1023), 2);
+                }
+            };
+            ingestion = new TickIngestionPipeline(benchmark.table, source, 65_536, BATCH,
+                (symbol, price) -> Blackhole.consumeCPU(listenerTokens));
+            ingestion.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ingestion.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReaderCursor {
+        int next;
+    }
+}
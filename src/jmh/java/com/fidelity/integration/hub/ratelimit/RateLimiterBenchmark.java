@@ -0,0 +1,54 @@
+package com.fidelity.integration.hub.ratelimit;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of admitting one request, with a few busy clients and with more clients than the limiter
+ * keeps (buckets replaced on most requests).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final String ENDPOINT = "/api/v1/clients/{clientId}/accounts";
+
+    @Param({"16", "2000000"})
+    int clientCount;
+
+    private String[] clients;
+    private RateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        IntegrationHubProperties.RateLimit config = new IntegrationHubProperties.RateLimit();
+        config.setMaximumKeys(1_000_000);
+        limiter = new RateLimiter(config);
+        clients = new String[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = "client:CLIENT-" + i;
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(ENDPOINT, clients[ThreadLocalRandom.current().nextInt(clientCount)]);
+    }
+}
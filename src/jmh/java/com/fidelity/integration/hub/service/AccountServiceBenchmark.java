@@ -0,0 +1,74 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.AccountDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping OMS accounts to DTOs, alone and through the filtered client lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountServiceBenchmark {
+
+    @Param({"1", "10", "100"})
+    int accountCount;
+
+    private List<Account> accounts;
+    private AccountService service;
+
+    @Setup
+    public void setUp() {
+        accounts = BenchmarkData.accounts(accountCount);
+        service = new AccountService(new OmsAdapter() {
+            @Override
+            public Account getAccountById(String accountId) {
+                return accounts.get(0);
+            }
+
+            @Override
+            public List<Account> getAccountsByClient(String clientId) {
+                return accounts;
+            }
+
+            @Override
+            public List<Position> getPositionsByAccount(String accountId) {
+                return List.of();
+            }
+        });
+    }
+
+    @Benchmark
+    public List<AccountDto> toDto() {
+        List<AccountDto> result = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            result.add(service.toDto(account));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<AccountDto> getAccountsByClient() {
+        return service.getAccountsByClient("CLIENT-BENCH", null, null);
+    }
+}
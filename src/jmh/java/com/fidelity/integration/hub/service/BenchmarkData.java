@@ -0,0 +1,96 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AccountStatus;
+import com.fidelity.integration.hub.model.enums.AccountType;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.valuation.BigDecimalValuationEngine;
+import com.fidelity.integration.hub.service.valuation.FixedPointValuationEngine;
+import com.fidelity.integration.hub.service.valuation.PortfolioTotals;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic fixtures shared by the JMH benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Position> positions(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Position> positions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            positions.add(Position.builder()
+                .symbol("SYM" + i)
+                .instrumentName("Instrument " + i)
+                .assetClass(AssetClass.EQUITY)
+                .quantity(BigDecimal.valueOf(1 + random.nextInt(1_000)))
+                .costBasisPerShare(BigDecimal.valueOf(500 + random.nextInt(50_000), 2))
+                .currency("USD")
+                .build());
+        }
+        return positions;
+    }
+
+    static Map<String, BigDecimal> prices(List<Position> positions) {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<String, BigDecimal> prices = new HashMap<>();
+        for (Position position : positions) {
+            prices.put(position.getSymbol(), BigDecimal.valueOf(500 + random.nextInt(50_000), 2));
+        }
+        return prices;
+    }
+
+    static ValuationEngine engine(String name) {
+        return "big-decimal".equals(name) ? new BigDecimalValuationEngine() : new FixedPointValuationEngine();
+    }
+
+    static List<PositionDto> enriched(List<Position> positions, Map<String, BigDecimal> prices) {
+        ValuationEngine engine = new BigDecimalValuationEngine();
+        List<PositionDto> enriched = new ArrayList<>(positions.size());
+        for (Position position : positions) {
+            enriched.add(engine.valuePosition(position, prices.get(position.getSymbol())));
+        }
+        return enriched;
+    }
+
+    static PortfolioDto portfolio(List<PositionDto> enriched) {
+        ValuationEngine.TotalsAccumulator accumulator = new BigDecimalValuationEngine().newAccumulator();
+        enriched.forEach(accumulator::add);
+        PortfolioTotals totals = accumulator.totals();
+        return new PortfolioDto("ACC-BENCH", totals.totalValue(), totals.totalCostBasis(),
+            totals.totalUnrealizedGainLoss(), totals.totalUnrealizedGainLossPercent(), "USD", enriched,
+            Instant.parse("2024-01-15T00:00:00Z"), Instant.parse("2024-01-15T00:00:00Z"), false);
+    }
+
+    static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(Account.builder()
+                .accountId("ACC-" + i)
+                .clientId("CLIENT-BENCH")
+                .accountType(AccountType.BROKERAGE)
+                .status(AccountStatus.ACTIVE)
+                .displayName("Account " + i)
+                .accountNumber("****" + (1000 + i))
+                .currentValue(new BigDecimal("125000.50"))
+                .currency("USD")
+                .openedDate(Instant.parse("2020-01-15T00:00:00Z"))
+                .lastUpdated(Instant.parse("2024-01-15T00:00:00Z"))
+                .build());
+        }
+        return accounts;
+    }
+}
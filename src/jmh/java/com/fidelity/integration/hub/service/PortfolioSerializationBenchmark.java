@@ -0,0 +1,90 @@
+package com.fidelity.integration.hub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a {@link PortfolioDto} as JSON with the same mapper settings Spring Boot uses
+ * for responses, both to a byte array and straight to an output stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int positionCount;
+
+    private PortfolioDto portfolio;
+    private ObjectWriter writer;
+    private CountingOutputStream sink;
+
+    @Setup
+    public void setUp() {
+        List<Position> positions = BenchmarkData.positions(positionCount);
+        portfolio = BenchmarkData.portfolio(BenchmarkData.enriched(positions, BenchmarkData.prices(positions)));
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        writer = mapper.writerFor(PortfolioDto.class);
+        sink = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(portfolio);
+    }
+
+    @Benchmark
+    public long writeToStream() throws IOException {
+        writer.writeValue(sink, portfolio);
+        return sink.count;
+    }
+
+    /**
+     * Discards output but keeps a byte count so the writes cannot be optimized away.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // writeValue closes the target; keep the sink reusable
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.service.valuation.PortfolioTotals;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the portfolio path with providers taken out of the picture: enriching positions
+ * with prices, reducing them to totals, and the whole serial service call over in-memory adapters,
+ * for each valuation engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioServiceBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int positionCount;
+
+    @Param({"big-decimal", "fixed-point"})
+    String valuationEngine;
+
+    private List<Position> positions;
+    private Map<String, BigDecimal> prices;
+    private List<PositionDto> enriched;
+    private ValuationEngine engine;
+    private PortfolioService service;
+
+    @Setup
+    public void setUp() {
+        positions = BenchmarkData.positions(positionCount);
+        prices = BenchmarkData.prices(positions);
+        enriched = BenchmarkData.enriched(positions, prices);
+        engine = BenchmarkData.engine(valuationEngine);
+
+        IntegrationHubProperties properties = new IntegrationHubProperties();
+        properties.getPortfolio().setParallelFanOut(false);
+        // Measure the full fetch, price and value path rather than materialized snapshot reads
+        properties.getPortfolio().getMaterializedView().setEnabled(false);
+        service = new PortfolioService(new InMemoryOms(positions), new InMemoryVendor(prices), Runnable::run, Runnable::run,
+            properties, engine, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<PositionDto> enrichPositions() {
+        List<PositionDto> result = new ArrayList<>(positions.size());
+        for (Position position : positions) {
+            result.add(engine.valuePosition(position, prices.get(position.getSymbol())));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public PortfolioTotals reduceTotals() {
+        ValuationEngine.TotalsAccumulator accumulator = engine.newAccumulator();
+        for (PositionDto position : enriched) {
+            accumulator.add(position);
+        }
+        return accumulator.totals();
+    }
+
+    @Benchmark
+    public PortfolioDto getPortfolioByAccount() {
+        return service.getPortfolioByAccount("ACC-BENCH");
+    }
+
+    private static final class InMemoryOms implements OmsAdapter {
+
+        private final AccountSnapshot snapshot;
+
+        InMemoryOms(List<Position> positions) {
+            Account account = BenchmarkData.accounts(1).get(0);
+            snapshot = new AccountSnapshot(account, positions, "1");
+        }
+
+        @Override
+        public Account getAccountById(String accountId) {
+            return snapshot.getAccount();
+        }
+
+        @Override
+        public List<Account> getAccountsByClient(String clientId) {
+            return List.of(snapshot.getAccount());
+        }
+
+        @Override
+        public List<Position> getPositionsByAccount(String accountId) {
+            return snapshot.getPositions();
+        }
+
+        @Override
+        public AccountSnapshot getAccountSnapshot(String accountId) {
+            return snapshot;
+        }
+    }
+
+    private static final class InMemoryVendor implements MarketDataVendorAdapter {
+
+        private final Map<String, BigDecimal> prices;
+
+        InMemoryVendor(Map<String, BigDecimal> prices) {
+            this.prices = prices;
+        }
+
+        @Override
+        public BigDecimal getCurrentPrice(String symbol) {
+            return prices.get(symbol);
+        }
+
+        @Override
+        public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+            Map<String, BigDecimal> result = new HashMap<>();
+            for (String symbol : symbols) {
+                result.put(symbol, prices.get(symbol));
+            }
+            return result;
+        }
+
+        @Override
+        public Instrument getInstrumentBySymbol(String symbol) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.fidelity.integration.hub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main Spring Boot application entry point for the API-First Integration Hub.
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * integrating with internal OMS systems and external market data vendors.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class IntegrationHubApplication {
 
     public static void main(String[] args) {
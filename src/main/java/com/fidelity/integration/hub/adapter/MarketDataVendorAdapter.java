@@ -3,6 +3,9 @@ package com.fidelity.integration.hub.adapter;
 import com.fidelity.integration.hub.adapter.domain.Instrument;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Adapter interface for integrating with external market data vendors.
@@ -19,14 +22,34 @@ import java.math.BigDecimal;
  */
 public interface MarketDataVendorAdapter {
 
+    /** Price epoch of an adapter that cannot tell when its prices change */
+    long UNKNOWN_PRICE_EPOCH = -1;
+
     /**
      * Retrieves the current market price for an instrument.
      * 
      * @param symbol Instrument symbol/ticker
-     * @return Current market price
+     * @return Current market price, or null if the vendor does not price the instrument
      */
     BigDecimal getCurrentPrice(String symbol);
 
+    /**
+     * Retrieves current market prices for a set of instruments in a single vendor round trip.
+     *
+     * Implementations backed by a remote vendor should override this with a true bulk request.
+     * The default falls back to one {@link #getCurrentPrice(String)} call per symbol.
+     *
+     * @param symbols Instrument symbols/tickers (duplicates are ignored)
+     * @return Current market prices keyed by the symbol as requested
+     */
+    default Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        Map<String, BigDecimal> prices = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            prices.computeIfAbsent(symbol, this::getCurrentPrice);
+        }
+        return prices;
+    }
+
     /**
      * Retrieves complete instrument reference data by symbol.
      * 
@@ -34,4 +57,25 @@ public interface MarketDataVendorAdapter {
      * @return Instrument metadata, or null if not found
      */
     Instrument getInstrumentBySymbol(String symbol);
+
+    /**
+     * Returns a counter that changes whenever a price this adapter returns may have changed.
+     * Callers read it before fetching prices and compare it later to tell whether results derived
+     * from those prices (such as a portfolio ETag) are still current.
+     *
+     * The default reports {@link #UNKNOWN_PRICE_EPOCH}: a live vendor's prices can change at any time.
+     *
+     * @return Current price epoch (never negative), or {@link #UNKNOWN_PRICE_EPOCH}
+     */
+    default long getPriceEpoch() {
+        return UNKNOWN_PRICE_EPOCH;
+    }
+
+    /**
+     * Registers a listener for price changes. Decorators forward ticks from the adapter they wrap.
+     *
+     * The default ignores the listener: a source that only answers requests has no changes to push.
+     */
+    default void addPriceTickListener(PriceTickListener listener) {
+    }
 }
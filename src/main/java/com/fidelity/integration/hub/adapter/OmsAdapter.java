@@ -1,6 +1,7 @@
 package com.fidelity.integration.hub.adapter;
 
 import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
 import com.fidelity.integration.hub.adapter.domain.Position;
 
 import java.util.List;
@@ -42,4 +43,47 @@ public interface OmsAdapter {
      * @return List of positions
      */
     List<Position> getPositionsByAccount(String accountId);
+
+    /**
+     * Retrieves the account header and all of its positions in one call.
+     *
+     * Implementations backed by a remote OMS should override this with a true composite request.
+     * The default falls back to {@link #getAccountById(String)} followed by
+     * {@link #getPositionsByAccount(String)}.
+     *
+     * @param accountId Account identifier
+     * @return Account snapshot if found, otherwise null
+     */
+    default AccountSnapshot getAccountSnapshot(String accountId) {
+        Account account = getAccountById(accountId);
+        if (account == null) {
+            return null;
+        }
+        List<Position> positions = getPositionsByAccount(accountId);
+        return new AccountSnapshot(account, positions, AccountSnapshot.versionOf(account, positions));
+    }
+
+    /**
+     * Retrieves the current version token of an account snapshot without transferring positions.
+     * Callers holding a snapshot with the same version can assume nothing has changed.
+     *
+     * The default returns null: an OMS that cannot report a version without sending the positions
+     * has no cheap version, and callers should fetch the snapshot, which carries its own.
+     *
+     * @param accountId Account identifier
+     * @return Version token if the account exists and the OMS versions accounts, otherwise null
+     */
+    default String getAccountVersion(String accountId) {
+        return null;
+    }
+
+    /**
+     * Whether {@link #getAccountVersion(String)} reports versions, so callers can check for changes
+     * before fetching a snapshot. When it does not, checking first only adds a round trip.
+     *
+     * The default reports false, matching the default {@link #getAccountVersion(String)}.
+     */
+    default boolean hasAccountVersions() {
+        return false;
+    }
 }
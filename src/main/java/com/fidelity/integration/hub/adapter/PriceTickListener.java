@@ -0,0 +1,22 @@
+package com.fidelity.integration.hub.adapter;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives price changes pushed by a {@link MarketDataVendorAdapter}.
+ *
+ * @see MarketDataVendorAdapter#addPriceTickListener(PriceTickListener)
+ */
+@FunctionalInterface
+public interface PriceTickListener {
+
+    /**
+     * Called once a new price for the symbol is current, so a lookup made after the tick returns
+     * it. Ticks for one symbol are delivered in order, one at a time; ticks for different symbols
+     * may arrive concurrently. Implementations should return quickly.
+     *
+     * @param symbol Instrument symbol/ticker
+     * @param price The symbol's new current price
+     */
+    void onPriceTick(String symbol, BigDecimal price);
+}
@@ -0,0 +1,208 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limit on the calls in flight to one provider that adapts to how the provider copes (AIMD).
+ *
+ * Every call that completes in time raises the limit by {@code 1 / limit}, so about one per limit's
+ * worth of calls, as long as the limit is actually in use. A failed call, or one slower than
+ * {@code latencyTolerance} times the usual latency of its {@link Operation} (a moving average of
+ * its recent calls), is taken as a sign the provider is queueing: the limit is multiplied by
+ * {@code backoffRatio}, at most once per usual latency so a burst of slow calls counts once. The
+ * limit stays between its bounds. Each operation keeps its own usual latency, so a batch call is
+ * only judged against other batch calls and does not make single-symbol calls look fast or slow.
+ *
+ * A call finding the limit reached waits for a slot, in arrival order, up to the maximum queue
+ * wait; calls beyond the maximum queue size, or still waiting then, are shed with a
+ * {@link ProviderException}. Limit, calls in flight, queue depth and shed calls are published under
+ * {@code hub.adapter.concurrency.*}.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /** Weight of each call's latency in the usual latency */
+    private static final double LATENCY_SMOOTHING = 0.05;
+
+    private final String adapter;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final int maxQueueSize;
+    private final long maxQueueWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    // Written under the lock, read without it by the gauges
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+    // Guarded by lock
+    private long lastBackoffNanos;
+
+    private final Counter shed;
+
+    AdaptiveConcurrencyLimit(String adapter, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             double latencyTolerance, int maxQueueSize, long maxQueueWaitNanos,
+                             MeterRegistry registry) {
+        this.adapter = adapter;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitNanos = maxQueueWaitNanos;
+        this.lastBackoffNanos = System.nanoTime();
+
+        Gauge.builder("hub.adapter.concurrency.limit", this, limiter -> Math.floor(limiter.limit))
+            .description("Current limit on concurrent calls to the provider")
+            .tag("adapter", adapter)
+            .register(registry);
+        Gauge.builder("hub.adapter.concurrency.inflight", this, limiter -> limiter.inFlight)
+            .description("Calls to the provider in flight")
+            .tag("adapter", adapter)
+            .register(registry);
+        Gauge.builder("hub.adapter.concurrency.queued", this, limiter -> limiter.queued)
+            .description("Calls waiting for the concurrency limit")
+            .tag("adapter", adapter)
+            .register(registry);
+        this.shed = Counter.builder("hub.adapter.concurrency.shed")
+            .description("Calls rejected because the concurrency limit was reached and the queue was full or too slow")
+            .tag("adapter", adapter)
+            .register(registry);
+    }
+
+    /**
+     * Returns a new operation with no usual latency yet; callers create one per kind of call.
+     */
+    Operation operation(String name) {
+        return new Operation(name);
+    }
+
+    /**
+     * Makes the call once a slot is free, and adjusts the limit from how it went.
+     *
+     * @throws ProviderException if no slot became free in time
+     */
+    <T> T call(Operation operation, Supplier<T> call) {
+        acquire(operation);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            release(operation, System.nanoTime() - start, failed);
+        }
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight;
+    }
+
+    int getQueued() {
+        return queued;
+    }
+
+    private void acquire(Operation operation) {
+        lock.lock();
+        try {
+            // Newcomers queue behind waiting calls rather than overtake them
+            if (queued == 0 && inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueueSize) {
+                throw shed(operation, "queue full");
+            }
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        throw shed(operation, "waited " + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos) + "ms");
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ProviderException("Interrupted while waiting to call " + adapter + " " + operation, ex);
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Operation operation, long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            int slots = (int) limit;
+            boolean used = inFlight * 2 >= slots;
+            inFlight--;
+            long now = System.nanoTime();
+            double usualLatencyNanos = operation.usualLatencyNanos;
+            boolean slow = usualLatencyNanos > 0 && latencyNanos > latencyTolerance * usualLatencyNanos;
+            if (failed || slow) {
+                if (now - lastBackoffNanos >= Math.max(0, usualLatencyNanos)) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (used) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            if (!failed) {
+                operation.usualLatencyNanos = usualLatencyNanos < 0
+                    ? latencyNanos
+                    : usualLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - usualLatencyNanos);
+            }
+            released.signal();
+            if ((int) limit > slots) {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ProviderException shed(Operation operation, String reason) {
+        shed.increment();
+        return new ProviderException("Concurrency limit of " + (int) limit + " reached for " + adapter + " "
+            + operation + " (" + reason + ")");
+    }
+
+    /**
+     * One kind of call to the provider, with its own usual latency.
+     */
+    static final class Operation {
+
+        private final String name;
+        // Guarded by the limit's lock
+        private double usualLatencyNanos = -1;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
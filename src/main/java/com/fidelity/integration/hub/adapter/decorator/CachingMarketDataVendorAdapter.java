@@ -0,0 +1,263 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caching decorator for any {@link MarketDataVendorAdapter}.
+ *
+ * Prices are held in a size-bounded Caffeine cache with:
+ * - a per-entry TTL ({@code expireAfterWrite}), after which a price is never served
+ * - refresh-ahead ({@code refreshAfterWrite}): an entry read after the refresh age is reloaded
+ *   asynchronously while the current price keeps being served
+ * - single-flight loading: the cache stores in-flight futures, so concurrent callers asking for
+ *   the same uncached symbol (individually or as part of a batch) share one vendor call
+ *
+ * The price epoch advances whenever a cached price is expired, evicted or replaced by a different
+ * value, so it changes whenever a price this cache serves may have changed. Replacements with a
+ * different value, from a refresh or from a tick pushed by the wrapped vendor, are published to
+ * {@link PriceTickListener}s. Removal notifications run on the thread that caused the removal
+ * (the ticking, loading or reading thread), so a stream of ticks costs no executor tasks.
+ *
+ * Instrument reference data is passed through to the delegate unchanged.
+ */
+public class CachingMarketDataVendorAdapter implements MarketDataVendorAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingMarketDataVendorAdapter.class);
+
+    private final MarketDataVendorAdapter delegate;
+    private final AsyncLoadingCache<String, BigDecimal> prices;
+    private final AtomicLong priceEpoch = new AtomicLong();
+    private final List<PriceTickListener> tickListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, PublishedPrice> publishedPrices = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor Runs loads and refreshes; must not be an executor whose tasks call this
+     *                 adapter, as they would wait on loads queued behind them
+     */
+    public CachingMarketDataVendorAdapter(MarketDataVendorAdapter delegate,
+                                          long maximumSize,
+                                          Duration timeToLive,
+                                          Duration refreshAfter,
+                                          Executor executor) {
+        this(delegate, maximumSize, timeToLive, refreshAfter, executor, Ticker.systemTicker());
+    }
+
+    CachingMarketDataVendorAdapter(MarketDataVendorAdapter delegate,
+                                   long maximumSize,
+                                   Duration timeToLive,
+                                   Duration refreshAfter,
+                                   Executor executor,
+                                   Ticker ticker) {
+        if (refreshAfter.compareTo(timeToLive) >= 0) {
+            throw new IllegalArgumentException("Price cache refresh-after must be shorter than its TTL");
+        }
+        this.delegate = delegate;
+        this.prices = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .refreshAfterWrite(refreshAfter)
+            // Notifications and maintenance run in place; the loader hands loads to the executor
+            .executor(Runnable::run)
+            .ticker(ticker)
+            .removalListener(this::onPriceRemoved)
+            .recordStats()
+            .buildAsync(new PriceLoader(delegate, executor));
+        // Prices pushed by the vendor replace cached ones straight away
+        delegate.addPriceTickListener(this::onVendorTick);
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        return join(prices.get(symbol));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        Map<String, BigDecimal> loaded = join(prices.getAll(Set.copyOf(symbols)));
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            BigDecimal price = loaded.get(symbol);
+            if (price != null) {
+                result.put(symbol, price);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Instrument getInstrumentBySymbol(String symbol) {
+        return delegate.getInstrumentBySymbol(symbol);
+    }
+
+    @Override
+    public long getPriceEpoch() {
+        return priceEpoch.get();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    /**
+     * Synchronous view of the price cache, used to bind hit/miss/load/eviction statistics.
+     */
+    public LoadingCache<String, BigDecimal> getPriceCache() {
+        return prices.synchronous();
+    }
+
+    /**
+     * Advances the price epoch once a cached price is gone or has changed, and publishes changed
+     * prices as ticks. Listeners run after the removal, so a reader that sees the old epoch may
+     * already see the new price, never the reverse.
+     */
+    private void onPriceRemoved(String symbol, BigDecimal removed, RemovalCause cause) {
+        if (cause == RemovalCause.REPLACED && removed != null) {
+            // equals, not compareTo: a change of scale changes the serialized price too
+            if (removed.equals(cachedPrice(symbol))) {
+                return;
+            }
+        }
+        priceEpoch.incrementAndGet();
+        if (cause == RemovalCause.REPLACED) {
+            publish(symbol);
+        } else {
+            publishedPrices.remove(symbol);
+        }
+    }
+
+    /**
+     * Replaces the cached price in place; the replacement advances the epoch and publishes the tick
+     * on this thread. An unchanged price is not written at all.
+     */
+    private void onVendorTick(String symbol, BigDecimal price) {
+        if (price.equals(cachedPrice(symbol))) {
+            return;
+        }
+        CompletableFuture<BigDecimal> previous = prices.asMap().put(symbol, CompletableFuture.completedFuture(price));
+        if (previous == null) {
+            // Nothing was replaced, so no removal notification publishes it
+            publish(symbol);
+        }
+    }
+
+    /**
+     * Sends the symbol's current cached price to the tick listeners unless it was the last price sent.
+     * Publishing is serialized per symbol and always reads the price current at that moment, so
+     * listeners end up with the latest price whatever order removal notifications run in.
+     */
+    private void publish(String symbol) {
+        if (tickListeners.isEmpty()) {
+            return;
+        }
+        PublishedPrice published = publishedPrices.computeIfAbsent(symbol, key -> new PublishedPrice());
+        synchronized (published) {
+            BigDecimal current = cachedPrice(symbol);
+            if (current == null || current.equals(published.price)) {
+                return;
+            }
+            published.price = current;
+            for (PriceTickListener listener : tickListeners) {
+                try {
+                    listener.onPriceTick(symbol, current);
+                } catch (RuntimeException ex) {
+                    logger.warn("Price tick listener failed for {}", symbol, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * The cached price of a symbol if it is loaded, without triggering a load or refresh.
+     */
+    private BigDecimal cachedPrice(String symbol) {
+        CompletableFuture<BigDecimal> current = prices.asMap().get(symbol);
+        return current == null ? null : current.getNow(null);
+    }
+
+    /**
+     * Waits for a (possibly shared) load, rethrowing the vendor's own exception on failure.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Loads prices from the wrapped vendor, using its bulk call for batch misses. Loads and refreshes
+     * run on the adapter's executor rather than the cache's, which runs its work in place.
+     */
+    private static final class PriceLoader implements CacheLoader<String, BigDecimal> {
+
+        private final MarketDataVendorAdapter vendor;
+        private final Executor executor;
+
+        PriceLoader(MarketDataVendorAdapter vendor, Executor executor) {
+            this.vendor = vendor;
+            this.executor = executor;
+        }
+
+        @Override
+        public CompletableFuture<BigDecimal> asyncLoad(String symbol, Executor cacheExecutor) {
+            return CompletableFuture.supplyAsync(() -> load(symbol), executor);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, BigDecimal>> asyncLoadAll(Set<? extends String> symbols,
+                                                                      Executor cacheExecutor) {
+            return CompletableFuture.supplyAsync(() -> loadAll(symbols), executor);
+        }
+
+        @Override
+        public CompletableFuture<BigDecimal> asyncReload(String symbol, BigDecimal oldPrice, Executor cacheExecutor) {
+            return CompletableFuture.supplyAsync(() -> load(symbol), executor);
+        }
+
+        @Override
+        public BigDecimal load(String symbol) {
+            return vendor.getCurrentPrice(symbol);
+        }
+
+        @Override
+        public Map<String, BigDecimal> loadAll(Set<? extends String> symbols) {
+            return vendor.getCurrentPrices(List.copyOf(symbols));
+        }
+    }
+
+    /**
+     * Last price published for a symbol; also the lock serializing its ticks.
+     */
+    private static final class PublishedPrice {
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorator for any {@link OmsAdapter} that coalesces concurrent reads of the same key.
+ *
+ * When many requests for a hot account arrive at once, only one OMS call per operation and key is
+ * in flight; every concurrent caller receives that call's result. Returned lists are unmodifiable
+ * because they are shared between callers.
+ */
+public class CoalescingOmsAdapter implements OmsAdapter {
+
+    private final OmsAdapter delegate;
+    private final SingleFlight<String, Optional<Account>> accountCalls = new SingleFlight<>();
+    private final SingleFlight<String, List<Account>> clientAccountCalls = new SingleFlight<>();
+    private final SingleFlight<String, List<Position>> positionCalls = new SingleFlight<>();
+    private final SingleFlight<String, Optional<AccountSnapshot>> snapshotCalls = new SingleFlight<>();
+    private final SingleFlight<String, Optional<String>> versionCalls = new SingleFlight<>();
+
+    public CoalescingOmsAdapter(OmsAdapter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Account getAccountById(String accountId) {
+        return accountCalls.execute(accountId, () -> Optional.ofNullable(delegate.getAccountById(accountId)))
+            .orElse(null);
+    }
+
+    @Override
+    public List<Account> getAccountsByClient(String clientId) {
+        return clientAccountCalls.execute(clientId, () -> Collections.unmodifiableList(delegate.getAccountsByClient(clientId)));
+    }
+
+    @Override
+    public List<Position> getPositionsByAccount(String accountId) {
+        return positionCalls.execute(accountId, () -> Collections.unmodifiableList(delegate.getPositionsByAccount(accountId)));
+    }
+
+    @Override
+    public AccountSnapshot getAccountSnapshot(String accountId) {
+        return snapshotCalls.execute(accountId, () -> Optional.ofNullable(delegate.getAccountSnapshot(accountId))
+                .map(snapshot -> new AccountSnapshot(
+                    snapshot.getAccount(), Collections.unmodifiableList(snapshot.getPositions()), snapshot.getVersion())))
+            .orElse(null);
+    }
+
+    @Override
+    public String getAccountVersion(String accountId) {
+        return versionCalls.execute(accountId, () -> Optional.ofNullable(delegate.getAccountVersion(accountId)))
+            .orElse(null);
+    }
+
+    @Override
+    public boolean hasAccountVersions() {
+        return delegate.hasAccountVersions();
+    }
+}
@@ -0,0 +1,78 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Decorator for any {@link MarketDataVendorAdapter} that keeps the calls in flight to the vendor
+ * under an {@link AdaptiveConcurrencyLimit}, raised while the vendor keeps up and lowered when its
+ * calls fail or slow down. Calls over the limit wait briefly for a slot, never past the vendor
+ * timeout, and are otherwise shed as provider errors.
+ *
+ * Registered above the vendor's resilience layer, so a call's latency and outcome include its
+ * retries, and below hedging, so hedged requests take a slot of their own. Price epochs and ticks
+ * pass through.
+ */
+public class ConcurrencyLimitedMarketDataVendorAdapter implements MarketDataVendorAdapter {
+
+    private final MarketDataVendorAdapter delegate;
+    private final AdaptiveConcurrencyLimit limit;
+    private final AdaptiveConcurrencyLimit.Operation getCurrentPrice;
+    private final AdaptiveConcurrencyLimit.Operation getCurrentPrices;
+    private final AdaptiveConcurrencyLimit.Operation getInstrumentBySymbol;
+
+    /**
+     * @param timeout Vendor timeout; bounds the wait for a slot
+     */
+    public ConcurrencyLimitedMarketDataVendorAdapter(MarketDataVendorAdapter delegate,
+                                                     IntegrationHubProperties.ConcurrencyLimit config,
+                                                     Duration timeout, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.limit = new AdaptiveConcurrencyLimit("vendor", config.getInitialLimit(), config.getMinLimit(),
+            config.getMaxLimit(), config.getBackoffRatio(), config.getLatencyTolerance(), config.getMaxQueueSize(),
+            Math.min(config.getMaxQueueWait().toNanos(), timeout.toNanos()), registry);
+        this.getCurrentPrice = limit.operation("getCurrentPrice");
+        this.getCurrentPrices = limit.operation("getCurrentPrices");
+        this.getInstrumentBySymbol = limit.operation("getInstrumentBySymbol");
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        return limit.call(getCurrentPrice, () -> delegate.getCurrentPrice(symbol));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        return limit.call(getCurrentPrices, () -> delegate.getCurrentPrices(symbols));
+    }
+
+    @Override
+    public Instrument getInstrumentBySymbol(String symbol) {
+        return limit.call(getInstrumentBySymbol, () -> delegate.getInstrumentBySymbol(symbol));
+    }
+
+    @Override
+    public long getPriceEpoch() {
+        return delegate.getPriceEpoch();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        delegate.addPriceTickListener(listener);
+    }
+
+    /**
+     * Current limit on concurrent vendor calls.
+     */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+}
@@ -0,0 +1,351 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Hedged calls of one adapter operation: a call still unanswered after a percentile of the
+ * operation's recent latency is sent a second time, and whichever answers first successfully wins.
+ *
+ * The hedge delay is read from a {@link LatencyHistogram} of the latest one to two
+ * {@value #WINDOW} call latencies, recomputed every {@value #RECOMPUTE_EVERY} calls, and never drops
+ * below the configured minimum; until {@value #MINIMUM_SAMPLES} calls have completed nothing is
+ * hedged. Hedges are paid for from a {@link Budget} shared by the adapter's operations.
+ *
+ * Both calls share one deadline, the vendor timeout from the moment the call was made, so a hedge
+ * never extends how long the caller waits. A hedge that lost is cancelled: if it is still queued
+ * for a thread it never reaches the vendor. A call the hedge beat is already running and cannot be
+ * interrupted; its answer is ignored, and only its latency is recorded.
+ */
+final class Hedger {
+
+    static final int WINDOW = 1024;
+    static final int MINIMUM_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long timeoutNanos;
+    private final Budget budget;
+    private final Executor executor;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    /** Current hedge delay, or -1 until enough calls have completed */
+    private volatile long delayNanos = -1;
+
+    private final Counter calls;
+    private final Counter won;
+    private final Counter lost;
+    private final Counter skipped;
+    private final Timer saved;
+
+    /**
+     * @param timeoutNanos Longest wait for an answer from either call, counted from the first
+     */
+    Hedger(String adapter, String operation, double percentile, long minDelayNanos, long timeoutNanos,
+           Budget budget, Executor executor, MeterRegistry registry) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayNanos;
+        this.timeoutNanos = timeoutNanos;
+        this.budget = budget;
+        this.executor = executor;
+        this.calls = Counter.builder("hub.adapter.hedge.calls")
+            .description("Calls eligible for hedging")
+            .tag("adapter", adapter)
+            .tag("operation", operation)
+            .register(registry);
+        this.won = hedges(registry, adapter, operation, "won");
+        this.lost = hedges(registry, adapter, operation, "lost");
+        this.skipped = Counter.builder("hub.adapter.hedge.skipped")
+            .description("Calls slow enough to hedge that were not hedged because the budget was spent")
+            .tag("adapter", adapter)
+            .tag("operation", operation)
+            .register(registry);
+        this.saved = Timer.builder("hub.adapter.hedge.saved")
+            .description("Time by which a winning hedge beat the call it duplicated")
+            .tag("adapter", adapter)
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+        Gauge.builder("hub.adapter.hedge.delay", this, hedger -> Math.max(0L, hedger.delayNanos) / 1e9)
+            .description("Time a call may take before it is hedged")
+            .tag("adapter", adapter)
+            .tag("operation", operation)
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    /**
+     * Makes the call, hedging it if it is slower than usual and the budget allows.
+     *
+     * @throws ProviderException if neither call answered before the deadline
+     */
+    <T> T call(Supplier<T> call) {
+        calls.increment();
+        budget.deposit();
+        long delay = delayNanos;
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+        CompletableFuture<T> primary = supplyAsync(call);
+        primary.whenComplete((result, ex) -> {
+            if (ex == null) {
+                record(System.nanoTime() - start);
+            }
+        });
+        if (delay < 0 || delay >= timeoutNanos) {
+            return await(primary, deadline);
+        }
+
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            // Slower than usual: hedge below
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while waiting for vendor", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+
+        if (!budget.tryWithdraw()) {
+            skipped.increment();
+            return await(primary, deadline);
+        }
+        CompletableFuture<T> hedge = supplyAsync(call);
+        return race(primary, hedge, deadline);
+    }
+
+    /**
+     * Current hedge delay in nanoseconds, or -1 while too few calls have completed.
+     */
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
+    private <T> T race(CompletableFuture<T> primary, CompletableFuture<T> hedge, long deadline) {
+        // Completes with true when the hedge answered first, exceptionally when both failed
+        CompletableFuture<Boolean> hedgeFirst = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete(settle(hedgeFirst, failures, false));
+        hedge.whenComplete(settle(hedgeFirst, failures, true));
+
+        boolean hedgeWon;
+        try {
+            hedgeWon = await(hedgeFirst, deadline);
+        } catch (RuntimeException ex) {
+            hedge.cancel(false);
+            lost.increment();
+            if (!hedgeFirst.isDone()) {
+                // Timed out or interrupted rather than both calls failing
+                throw ex;
+            }
+            return await(primary, deadline);
+        }
+        if (!hedgeWon) {
+            hedge.cancel(false);
+            lost.increment();
+            return await(primary, deadline);
+        }
+        won.increment();
+        long wonAt = System.nanoTime();
+        // The call the hedge beat cannot be interrupted; its answer is ignored
+        primary.whenComplete((result, ex) -> saved.record(System.nanoTime() - wonAt, TimeUnit.NANOSECONDS));
+        return await(hedge, deadline);
+    }
+
+    private static BiConsumer<Object, Throwable> settle(CompletableFuture<Boolean> hedgeFirst,
+                                                        AtomicInteger failures, boolean isHedge) {
+        return (result, ex) -> {
+            if (ex == null) {
+                hedgeFirst.complete(isHedge);
+            } else if (failures.incrementAndGet() == 2) {
+                hedgeFirst.completeExceptionally(ex);
+            }
+        };
+    }
+
+    private void record(long nanos) {
+        long count = latencies.record(nanos);
+        if (count == MINIMUM_SAMPLES || (count > MINIMUM_SAMPLES && count % RECOMPUTE_EVERY == 0)) {
+            delayNanos = Math.max(minDelayNanos, latencies.percentile(percentile));
+        }
+    }
+
+    /**
+     * Submits a call to the hedging executor, carrying the caller's logging context along.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return call.get();
+            } finally {
+                MDC.clear();
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits for a call until the deadline shared by both calls.
+     */
+    private static <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ProviderException("Timed out waiting for vendor", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while waiting for vendor", ex);
+        } catch (CancellationException ex) {
+            throw new ProviderException("Cancelled while waiting for vendor", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException ex) {
+        if (ex.getCause() instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new ProviderException("Vendor call failed", ex.getCause());
+    }
+
+    private static Counter hedges(MeterRegistry registry, String adapter, String operation, String outcome) {
+        return Counter.builder("hub.adapter.hedge.requests")
+            .description("Hedged calls, by whether the hedge answered before the call it duplicated")
+            .tag("adapter", adapter)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    /**
+     * Log-linear histogram of the latest latencies: each power of two of nanoseconds is split into
+     * {@code 2^SUB_BUCKET_BITS} buckets, so a percentile is read to within 12.5% by scanning a few
+     * hundred counters, without sorting. Samples go to the current window; once it holds
+     * {@value #WINDOW} it becomes the previous one, and percentiles cover both. Samples recorded
+     * while the windows rotate may be lost, which only thins the estimate.
+     */
+    static final class LatencyHistogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        /** Latencies from 2^42 ns (about 73 minutes) up share the last bucket */
+        private static final int MAX_EXPONENT = 42;
+        static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+        private final AtomicLong sampleCount = new AtomicLong();
+        private volatile AtomicLongArray current = new AtomicLongArray(BUCKETS);
+        private volatile AtomicLongArray previous = new AtomicLongArray(BUCKETS);
+
+        /**
+         * @return Number of samples recorded so far, this one included
+         */
+        long record(long nanos) {
+            long count = sampleCount.incrementAndGet();
+            if (count % WINDOW == 0) {
+                previous = current;
+                current = new AtomicLongArray(BUCKETS);
+            }
+            current.incrementAndGet(bucketOf(nanos));
+            return count;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile of the recorded latencies, or 0 if
+         * there are none.
+         */
+        long percentile(double percentile) {
+            AtomicLongArray recent = current;
+            AtomicLongArray older = previous;
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = recent.get(i) + older.get(i);
+                total += counts[i];
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return 0;
+        }
+
+        static int bucketOf(long nanos) {
+            if (nanos < SUB_BUCKETS) {
+                return (int) Math.max(0, nanos);
+            }
+            long capped = Math.min(nanos, (1L << MAX_EXPONENT) - 1);
+            int exponent = 63 - Long.numberOfLeadingZeros(capped);
+            int sub = (int) (capped >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            int shift = exponent - SUB_BUCKET_BITS;
+            return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+        }
+    }
+
+    /**
+     * Token bucket that caps hedges at a share of calls: every call deposits the share, every hedge
+     * withdraws one whole token. The balance is capped, so idle periods cannot save up a hedge storm.
+     */
+    static final class Budget {
+
+        private static final long TOKEN = 10_000;
+        private static final long MAX_TOKENS = 10;
+
+        private final long deposit;
+        private final AtomicLong balance = new AtomicLong();
+
+        Budget(double percent) {
+            this.deposit = Math.round(percent / 100 * TOKEN);
+        }
+
+        void deposit() {
+            if (balance.get() < MAX_TOKENS * TOKEN) {
+                balance.getAndUpdate(current -> Math.min(MAX_TOKENS * TOKEN, current + deposit));
+            }
+        }
+
+        boolean tryWithdraw() {
+            long current;
+            do {
+                current = balance.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+            } while (!balance.compareAndSet(current, current - TOKEN));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorator for any {@link MarketDataVendorAdapter} that hedges vendor requests: a request still
+ * unanswered after the configured percentile of that operation's recent latency is sent again,
+ * and the first successful answer is returned. Hedges are capped at a share of requests.
+ *
+ * Registered above the vendor's resilience layer, so both requests are bounded by its bulkhead, and
+ * the caller waits for them at most the vendor timeout in all; below the price cache, so only cache
+ * misses are hedged. Hedge rate and time saved are published under {@code hub.adapter.hedge.*}.
+ * Price epochs and ticks pass through.
+ */
+public class HedgingMarketDataVendorAdapter implements MarketDataVendorAdapter {
+
+    private final MarketDataVendorAdapter delegate;
+    private final Hedger priceHedger;
+    private final Hedger pricesHedger;
+    private final Hedger instrumentHedger;
+
+    /**
+     * @param timeout Longest wait for a request and its hedge together: the vendor timeout
+     */
+    public HedgingMarketDataVendorAdapter(MarketDataVendorAdapter delegate, IntegrationHubProperties.Hedging config,
+                                          Duration timeout, Executor executor, MeterRegistry registry) {
+        this.delegate = delegate;
+        Hedger.Budget budget = new Hedger.Budget(config.getBudgetPercent());
+        long minDelayNanos = config.getMinDelay().toNanos();
+        long timeoutNanos = timeout.toNanos();
+        this.priceHedger = new Hedger(
+            "vendor", "getCurrentPrice", config.getPercentile(), minDelayNanos, timeoutNanos, budget, executor,
+            registry);
+        this.pricesHedger = new Hedger(
+            "vendor", "getCurrentPrices", config.getPercentile(), minDelayNanos, timeoutNanos, budget, executor,
+            registry);
+        this.instrumentHedger = new Hedger(
+            "vendor", "getInstrumentBySymbol", config.getPercentile(), minDelayNanos, timeoutNanos, budget, executor,
+            registry);
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        return priceHedger.call(() -> delegate.getCurrentPrice(symbol));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        return pricesHedger.call(() -> delegate.getCurrentPrices(symbols));
+    }
+
+    @Override
+    public Instrument getInstrumentBySymbol(String symbol) {
+        return instrumentHedger.call(() -> delegate.getInstrumentBySymbol(symbol));
+    }
+
+    @Override
+    public long getPriceEpoch() {
+        return delegate.getPriceEpoch();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        delegate.addPriceTickListener(listener);
+    }
+}
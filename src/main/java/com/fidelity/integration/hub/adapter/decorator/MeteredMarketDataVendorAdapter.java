@@ -0,0 +1,65 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Decorator for any {@link MarketDataVendorAdapter} that times every vendor request with a
+ * percentile histogram ({@code hub.adapter.requests{adapter="vendor"}}), tagged by operation and
+ * outcome, and records the number of symbols per bulk price request.
+ *
+ * Registered directly around the provider, below the price cache, so cache hits are not timed
+ * here (see {@code cache.*{cache="marketDataPrices"}}). Price epochs and ticks pass through untimed.
+ */
+public class MeteredMarketDataVendorAdapter implements MarketDataVendorAdapter {
+
+    private final MarketDataVendorAdapter delegate;
+    private final AdapterTimer priceTimer;
+    private final AdapterTimer pricesTimer;
+    private final AdapterTimer instrumentTimer;
+    private final DistributionSummary batchSizes;
+
+    public MeteredMarketDataVendorAdapter(MarketDataVendorAdapter delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.priceTimer = new AdapterTimer(registry, "vendor", "getCurrentPrice");
+        this.pricesTimer = new AdapterTimer(registry, "vendor", "getCurrentPrices");
+        this.instrumentTimer = new AdapterTimer(registry, "vendor", "getInstrumentBySymbol");
+        this.batchSizes = DistributionSummary.builder("hub.adapter.vendor.batch.symbols")
+            .description("Symbols requested per bulk vendor price request")
+            .baseUnit("symbols")
+            .register(registry);
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        return priceTimer.record(() -> delegate.getCurrentPrice(symbol));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        batchSizes.record(symbols.size());
+        return pricesTimer.record(() -> delegate.getCurrentPrices(symbols));
+    }
+
+    @Override
+    public Instrument getInstrumentBySymbol(String symbol) {
+        return instrumentTimer.record(() -> delegate.getInstrumentBySymbol(symbol));
+    }
+
+    @Override
+    public long getPriceEpoch() {
+        return delegate.getPriceEpoch();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        delegate.addPriceTickListener(listener);
+    }
+}
@@ -0,0 +1,65 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+
+/**
+ * Decorator for any {@link OmsAdapter} that times every call with a percentile histogram
+ * ({@code hub.adapter.requests{adapter="oms"}}), tagged by operation and outcome.
+ *
+ * Registered directly around the provider, so the timings are the OMS's own latency: calls joined
+ * by request coalescing are not counted again.
+ */
+public class MeteredOmsAdapter implements OmsAdapter {
+
+    private final OmsAdapter delegate;
+    private final AdapterTimer accountTimer;
+    private final AdapterTimer clientAccountsTimer;
+    private final AdapterTimer positionsTimer;
+    private final AdapterTimer snapshotTimer;
+    private final AdapterTimer versionTimer;
+
+    public MeteredOmsAdapter(OmsAdapter delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.accountTimer = new AdapterTimer(registry, "oms", "getAccountById");
+        this.clientAccountsTimer = new AdapterTimer(registry, "oms", "getAccountsByClient");
+        this.positionsTimer = new AdapterTimer(registry, "oms", "getPositionsByAccount");
+        this.snapshotTimer = new AdapterTimer(registry, "oms", "getAccountSnapshot");
+        this.versionTimer = new AdapterTimer(registry, "oms", "getAccountVersion");
+    }
+
+    @Override
+    public Account getAccountById(String accountId) {
+        return accountTimer.record(() -> delegate.getAccountById(accountId));
+    }
+
+    @Override
+    public List<Account> getAccountsByClient(String clientId) {
+        return clientAccountsTimer.record(() -> delegate.getAccountsByClient(clientId));
+    }
+
+    @Override
+    public List<Position> getPositionsByAccount(String accountId) {
+        return positionsTimer.record(() -> delegate.getPositionsByAccount(accountId));
+    }
+
+    @Override
+    public AccountSnapshot getAccountSnapshot(String accountId) {
+        return snapshotTimer.record(() -> delegate.getAccountSnapshot(accountId));
+    }
+
+    @Override
+    public String getAccountVersion(String accountId) {
+        return versionTimer.record(() -> delegate.getAccountVersion(accountId));
+    }
+
+    @Override
+    public boolean hasAccountVersions() {
+        return delegate.hasAccountVersions();
+    }
+}
@@ -0,0 +1,203 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.ContextPropagator;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedThreadPoolBulkheadMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Timeout, retries, circuit breaker and bulkhead for the calls made to one provider, configured
+ * from its {@code integration.hub.<provider>.*} settings.
+ *
+ * Every call runs on the provider's own bounded thread pool (the bulkhead), so a slow provider
+ * ties up at most {@code bulkhead.max-concurrent-calls} of those threads while callers give up at
+ * their deadline. The provider's {@code timeout} bounds the whole call, retries included: a failed
+ * attempt is retried after a jittered exponential backoff only while the wait still fits before the
+ * deadline. Each attempt is recorded by the circuit breaker; while it is open, calls fail at once.
+ * Rejections by the breaker or a full bulkhead, and timeouts, surface as {@link ProviderException}.
+ *
+ * The bulkhead is a thread pool rather than a semaphore on the caller's thread because the caller
+ * must be able to give up at its deadline while a blocking provider call cannot be interrupted:
+ * each call therefore holds the caller's thread, waiting, and a bulkhead thread, working. Its size
+ * is a cap per provider across all requests on purpose: it is the most calls the hub keeps open
+ * against that provider, not a per-request allowance. The defaults of 50 threads and 100 queued
+ * calls hold because vendor calls already pass the adaptive concurrency limit (at most
+ * {@code concurrency-limit.max-limit}, also 50) before reaching it, and OMS calls are coalesced
+ * per account; a queue twice the pool size waits about two provider latencies at full load, well
+ * inside the timeout. Raise {@code max-concurrent-calls} with the fan-out executor when a provider
+ * can take more.
+ *
+ * Breaker and bulkhead state is published under {@code resilience4j.circuitbreaker.*} and
+ * {@code resilience4j.bulkhead.*}, retried attempts under {@code hub.adapter.retries}.
+ */
+public class ProviderResilience implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderResilience.class);
+
+    private static final double BACKOFF_MULTIPLIER = 2.0;
+    private static final double BACKOFF_RANDOMIZATION = 0.5;
+
+    private final String name;
+    private final long timeoutNanos;
+    private final int maxAttempts;
+    private final IntervalFunction backoff;
+    private final CircuitBreaker circuitBreaker;
+    private final ThreadPoolBulkhead bulkhead;
+    private final Counter retries;
+
+    public ProviderResilience(String name, IntegrationHubProperties.Provider config, MeterRegistry registry) {
+        this.name = name;
+        this.timeoutNanos = config.getTimeout().toNanos();
+        this.maxAttempts = Math.max(1, config.getRetry().getMaxAttempts());
+        Duration backoffDelay = config.getRetry().getBackoffDelay();
+        this.backoff = backoffDelay.isZero()
+            ? attempt -> 0L
+            : IntervalFunction.ofExponentialRandomBackoff(backoffDelay, BACKOFF_MULTIPLIER, BACKOFF_RANDOMIZATION);
+
+        IntegrationHubProperties.CircuitBreaker breaker = config.getCircuitBreaker();
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .failureRateThreshold(breaker.getFailureRateThreshold())
+            .slidingWindowSize(breaker.getSlidingWindowSize())
+            .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+            // A full bulkhead is the hub's own saturation, not a provider failure
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+        this.circuitBreaker = breakers.circuitBreaker(name);
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+            logger.warn("Circuit breaker for {} changed state: {}", name, event.getStateTransition()));
+
+        IntegrationHubProperties.Bulkhead isolation = config.getBulkhead();
+        ThreadPoolBulkheadRegistry bulkheads = ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom()
+            .coreThreadPoolSize(isolation.getMaxConcurrentCalls())
+            .maxThreadPoolSize(isolation.getMaxConcurrentCalls())
+            .queueCapacity(isolation.getQueueCapacity())
+            .contextPropagator(new MdcPropagator())
+            .build());
+        this.bulkhead = bulkheads.bulkhead(name);
+
+        this.retries = Counter.builder("hub.adapter.retries")
+            .description("Provider call attempts made after a failed attempt")
+            .tag("adapter", name)
+            .register(registry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(registry);
+        TaggedThreadPoolBulkheadMetrics.ofThreadPoolBulkheadRegistry(bulkheads).bindTo(registry);
+    }
+
+    /**
+     * Makes a provider call under this provider's timeout, retries, circuit breaker and bulkhead.
+     *
+     * @throws ProviderException if the call timed out, was rejected, or failed on every attempt
+     *         with a checked exception; unchecked provider exceptions are rethrown as they are
+     */
+    <T> T call(String operation, Supplier<T> call) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return circuitBreaker.executeCallable(() -> attempt(operation, call, deadline));
+            } catch (CallNotPermittedException ex) {
+                throw new ProviderException("Circuit breaker open for " + name + " " + operation, ex);
+            } catch (BulkheadFullException ex) {
+                throw new ProviderException("Too many concurrent " + name + " calls for " + operation, ex);
+            } catch (RuntimeException ex) {
+                long waitNanos = TimeUnit.MILLISECONDS.toNanos(backoff.apply(attempt));
+                if (attempt >= maxAttempts || System.nanoTime() + waitNanos >= deadline) {
+                    throw ex;
+                }
+                logger.warn("{} {} failed (attempt {} of {}), retrying: {}",
+                    name, operation, attempt, maxAttempts, ex.getMessage());
+                retries.increment();
+                pause(waitNanos, operation);
+            } catch (Exception ex) {
+                throw new ProviderException("Failed to call " + name + " " + operation, ex);
+            }
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public ThreadPoolBulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    @Override
+    public void close() throws Exception {
+        bulkhead.close();
+    }
+
+    /**
+     * One attempt: hands the call to the bulkhead and waits for it until the deadline. A call that
+     * outlives the deadline keeps its bulkhead thread until the provider returns.
+     */
+    private <T> T attempt(String operation, Supplier<T> call, long deadline) throws Exception {
+        CompletableFuture<T> future = bulkhead.executeSupplier(call).toCompletableFuture();
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ProviderException("Timed out calling " + name + " " + operation, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while calling " + name + " " + operation, ex);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+    }
+
+    private void pause(long nanos, String operation) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while retrying " + name + " " + operation, ex);
+        }
+    }
+
+    /**
+     * Carries the caller's logging context (correlation ID) onto bulkhead threads.
+     */
+    private static final class MdcPropagator implements ContextPropagator<Map<String, String>> {
+
+        @Override
+        public Supplier<Optional<Map<String, String>>> retrieve() {
+            return () -> Optional.ofNullable(MDC.getCopyOfContextMap());
+        }
+
+        @Override
+        public Consumer<Optional<Map<String, String>>> copy() {
+            return context -> context.ifPresent(MDC::setContextMap);
+        }
+
+        @Override
+        public Consumer<Optional<Map<String, String>>> clear() {
+            return context -> MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Decorator for any {@link MarketDataVendorAdapter} that makes every vendor request through the
+ * vendor's {@link ProviderResilience}: bounded by its timeout, retried, guarded by its circuit
+ * breaker and run on its bulkhead threads.
+ *
+ * Registered below the price cache, so cached prices are still served while the breaker is open.
+ * Price epochs and ticks pass through unguarded.
+ */
+public class ResilientMarketDataVendorAdapter implements MarketDataVendorAdapter {
+
+    private final MarketDataVendorAdapter delegate;
+    private final ProviderResilience resilience;
+
+    public ResilientMarketDataVendorAdapter(MarketDataVendorAdapter delegate, ProviderResilience resilience) {
+        this.delegate = delegate;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public BigDecimal getCurrentPrice(String symbol) {
+        return resilience.call("getCurrentPrice", () -> delegate.getCurrentPrice(symbol));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        return resilience.call("getCurrentPrices", () -> delegate.getCurrentPrices(symbols));
+    }
+
+    @Override
+    public Instrument getInstrumentBySymbol(String symbol) {
+        return resilience.call("getInstrumentBySymbol", () -> delegate.getInstrumentBySymbol(symbol));
+    }
+
+    @Override
+    public long getPriceEpoch() {
+        return delegate.getPriceEpoch();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        delegate.addPriceTickListener(listener);
+    }
+}
@@ -0,0 +1,56 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+
+import java.util.List;
+
+/**
+ * Decorator for any {@link OmsAdapter} that makes every call through the OMS's
+ * {@link ProviderResilience}: bounded by its timeout, retried, guarded by its circuit breaker and
+ * run on its bulkhead threads.
+ *
+ * Registered below request coalescing, so callers joined to one in-flight call share its retries.
+ */
+public class ResilientOmsAdapter implements OmsAdapter {
+
+    private final OmsAdapter delegate;
+    private final ProviderResilience resilience;
+
+    public ResilientOmsAdapter(OmsAdapter delegate, ProviderResilience resilience) {
+        this.delegate = delegate;
+        this.resilience = resilience;
+    }
+
+    @Override
+    public Account getAccountById(String accountId) {
+        return resilience.call("getAccountById", () -> delegate.getAccountById(accountId));
+    }
+
+    @Override
+    public List<Account> getAccountsByClient(String clientId) {
+        return resilience.call("getAccountsByClient", () -> delegate.getAccountsByClient(clientId));
+    }
+
+    @Override
+    public List<Position> getPositionsByAccount(String accountId) {
+        return resilience.call("getPositionsByAccount", () -> delegate.getPositionsByAccount(accountId));
+    }
+
+    @Override
+    public AccountSnapshot getAccountSnapshot(String accountId) {
+        return resilience.call("getAccountSnapshot", () -> delegate.getAccountSnapshot(accountId));
+    }
+
+    @Override
+    public String getAccountVersion(String accountId) {
+        return resilience.call("getAccountVersion", () -> delegate.getAccountVersion(accountId));
+    }
+
+    @Override
+    public boolean hasAccountVersions() {
+        return delegate.hasAccountVersions();
+    }
+}
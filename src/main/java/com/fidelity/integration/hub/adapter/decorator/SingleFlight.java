@@ -0,0 +1,71 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-flight request table that collapses concurrent calls for the same key into one.
+ *
+ * The first caller for a key becomes the leader and runs the call on its own thread; callers
+ * arriving while it is in flight wait for and share the leader's result (or exception). The entry
+ * is removed as soon as the call completes, so this deduplicates concurrent work without caching.
+ *
+ * The table is a {@link ConcurrentHashMap}: registering a call is a CAS into an empty bin and only
+ * contends with callers whose keys hash to the same bin, so it does not serialize unrelated keys.
+ *
+ * @param <K> Key type
+ * @param <V> Result type; results are shared between callers and should be treated as read-only
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for the key, or joins the call already in flight for it.
+     *
+     * @param key  Deduplication key
+     * @param call Work to run if no call for the key is in flight
+     * @return Result of the leader's call
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            return join(leader);
+        }
+
+        try {
+            V result = call.get();
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    /**
+     * Number of keys with a call currently in flight.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
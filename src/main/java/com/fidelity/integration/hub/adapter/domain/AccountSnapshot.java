@@ -0,0 +1,72 @@
+package com.fidelity.integration.hub.adapter.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Domain model representing an account header together with its positions, as returned by a
+ * single composite OMS call.
+ *
+ * The version token changes whenever the account header or any of its positions change, so it can
+ * be compared (or used as an ETag) to detect changes without transferring positions again.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSnapshot {
+    private Account account;
+    private List<Position> positions;
+    private String version;
+
+    /** Digest bytes kept in a derived version token (128 bits) */
+    private static final int VERSION_BYTES = 16;
+
+    /**
+     * Derives a version token from the snapshot content, for OMS implementations that do not
+     * maintain their own change counter. The token is a 128-bit SHA-256 prefix over every field
+     * of the account and its positions in order (as listed by their {@code toString}), so any
+     * change yields a different token except with negligible probability.
+     */
+    public static String versionOf(Account account, List<Position> positions) {
+        MessageDigest digest = sha256();
+        update(digest, account);
+        for (Position position : positions) {
+            update(digest, position);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, VERSION_BYTES);
+    }
+
+    /**
+     * Adds one length-prefixed value, so adjacent values cannot run into each other.
+     */
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(new byte[] {
+            (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length
+        });
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+}
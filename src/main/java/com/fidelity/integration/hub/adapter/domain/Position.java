@@ -4,7 +4,9 @@ import com.fidelity.integration.hub.model.enums.AssetClass;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
@@ -23,4 +25,28 @@ public class Position {
     private BigDecimal quantity;
     private BigDecimal costBasisPerShare;
     private String currency;
+
+    /**
+     * Id of the symbol in {@link SymbolDictionary#shared()}. OMS adapters set it when they load
+     * the position; otherwise it is resolved from the symbol on first use.
+     */
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private int symbolId = SymbolDictionary.UNASSIGNED;
+
+    public int getSymbolId() {
+        int id = symbolId;
+        if (id == SymbolDictionary.UNASSIGNED && symbol != null) {
+            // Benign race: every thread resolves the same id
+            id = SymbolDictionary.shared().idOf(symbol);
+            symbolId = id;
+        }
+        return id;
+    }
+
+    public void setSymbol(String symbol) {
+        this.symbol = symbol;
+        this.symbolId = SymbolDictionary.UNASSIGNED;
+    }
 }
@@ -0,0 +1,94 @@
+package com.fidelity.integration.hub.adapter.domain;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps ticker symbols to dense int ids, assigned once per symbol and never reused.
+ *
+ * Adapters resolve a symbol to its id when they load a position or a price, so the hot paths
+ * index primitive arrays by id instead of hashing (and upper-casing) the symbol on every lookup.
+ * Ids are process-wide: a position from any OMS adapter and a price from any vendor adapter agree
+ * on them. Lookups are lock-free; registering a new symbol takes a short lock.
+ */
+public final class SymbolDictionary {
+
+    /** Id of a symbol that has not been resolved, or is not known */
+    public static final int UNASSIGNED = -1;
+
+    private static final SymbolDictionary SHARED = new SymbolDictionary();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // Guarded by this for writes; readers see a prefix that is never modified once published
+    private volatile String[] symbols = new String[64];
+    private volatile int size;
+
+    /**
+     * The dictionary shared by every adapter in the process.
+     */
+    public static SymbolDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the symbol's id, registering it first if it is new. Symbols are case-sensitive here;
+     * OMS and vendor symbols are upper case.
+     */
+    public int idOf(String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : register(symbol);
+    }
+
+    /**
+     * Returns the id of a known symbol, trying its upper-case form only if the symbol as given is
+     * unknown, so a well-formed lookup allocates nothing.
+     *
+     * @return The id, or {@link #UNASSIGNED} if the symbol was never registered
+     */
+    public int find(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id == null) {
+            id = ids.get(symbol.toUpperCase(Locale.ROOT));
+        }
+        return id != null ? id : UNASSIGNED;
+    }
+
+    /**
+     * @return The symbol registered under the id
+     * @throws IndexOutOfBoundsException if no symbol has that id
+     */
+    public String symbolOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Unknown symbol id " + id);
+        }
+        return symbols[id];
+    }
+
+    /**
+     * Number of symbols registered, and one more than the largest id.
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String symbol) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        String[] current = symbols;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = symbol;
+        symbols = current;
+        size = id + 1;
+        // Published last: a reader that finds the id also finds the symbol
+        ids.put(symbol, id);
+        return id;
+    }
+}
@@ -0,0 +1,306 @@
+package com.fidelity.integration.hub.adapter.impl;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.adapter.domain.SymbolDictionary;
+import com.fidelity.integration.hub.config.AdapterConfig;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.enums.AccountStatus;
+import com.fidelity.integration.hub.model.enums.AccountType;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * OMS adapter that serves a large book replayed from a memory-mapped columnar position file
+ * (see {@link PositionFileWriter} for the layout).
+ *
+ * Only account headers and the symbol dictionary are decoded onto the heap at startup. Position
+ * columns stay in the page cache and {@link Position} objects are decoded on access, so a single
+ * node can serve tens of millions of positions. The file is immutable while mapped; its creation
+ * timestamp and the account row form the version token.
+ *
+ * Enabled with {@code integration.hub.oms.source=mapped-file}.
+ */
+@Component
+@Qualifier(AdapterConfig.PROVIDER)
+@ConditionalOnProperty(prefix = "integration.hub.oms", name = "source", havingValue = "mapped-file")
+public class MappedPositionFileOmsAdapter implements OmsAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedPositionFileOmsAdapter.class);
+
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final AccountStatus[] ACCOUNT_STATUSES = AccountStatus.values();
+    private static final AssetClass[] ASSET_CLASSES = AssetClass.values();
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    private final String fileVersion;
+
+    // Symbol dictionary, indexed by the file's symbolId
+    private final String[] symbols;
+    // Process-wide SymbolDictionary id of each file symbolId
+    private final int[] symbolIds;
+    private final String[] instrumentNames;
+    private final AssetClass[] assetClasses;
+    private final String[] currencies;
+
+    private final Account[] accounts;
+    private final Map<String, Integer> rowsByAccountId;
+    private final Map<String, List<Integer>> rowsByClientId;
+
+    // Memory-mapped columns
+    private final IntBuffer offsets;
+    private final IntBuffer positionSymbols;
+    private final LongBuffer positionQuantities;
+    private final LongBuffer positionCosts;
+    // Scale each value was written with; null for version 1 files, whose values have the fixed scale
+    private final ByteBuffer quantityScales;
+    private final ByteBuffer costScales;
+
+    public MappedPositionFileOmsAdapter(IntegrationHubProperties properties) {
+        this(properties.getOms().getPositionFile().getPath());
+    }
+
+    MappedPositionFileOmsAdapter(Path path) {
+        if (path == null) {
+            throw new IllegalStateException("integration.hub.oms.position-file.path is required when source=mapped-file");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, PositionFileWriter.HEADER_BYTES);
+            if (header.getInt() != PositionFileWriter.MAGIC) {
+                throw new IOException(path + " is not a position file");
+            }
+            int version = header.getInt();
+            if (version != 1 && version != PositionFileWriter.VERSION) {
+                throw new IOException("Unsupported position file version " + version + " in " + path);
+            }
+            long createdAt = header.getLong();
+            int symbolCount = header.getInt();
+            int accountCount = header.getInt();
+            int positionCount = header.getInt();
+            int metadataLength = header.getInt();
+
+            fileVersion = Long.toHexString(createdAt);
+            symbols = new String[symbolCount];
+            symbolIds = new int[symbolCount];
+            instrumentNames = new String[symbolCount];
+            assetClasses = new AssetClass[symbolCount];
+            currencies = new String[symbolCount];
+            accounts = new Account[accountCount];
+            rowsByAccountId = new HashMap<>(capacityFor(accountCount));
+            rowsByClientId = new HashMap<>();
+
+            byte[] metadata = new byte[metadataLength];
+            channel.map(FileChannel.MapMode.READ_ONLY, PositionFileWriter.HEADER_BYTES, metadataLength).get(metadata);
+            readMetadata(new DataInputStream(new ByteArrayInputStream(metadata)));
+
+            // Mapped regions stay valid after the channel is closed
+            long position = (long) PositionFileWriter.HEADER_BYTES + metadataLength;
+            offsets = map(channel, position, (accountCount + 1L) * Integer.BYTES).asIntBuffer();
+            position += (accountCount + 1L) * Integer.BYTES;
+            positionSymbols = map(channel, position, (long) positionCount * Integer.BYTES).asIntBuffer();
+            position += (long) positionCount * Integer.BYTES;
+            positionQuantities = map(channel, position, (long) positionCount * Long.BYTES).asLongBuffer();
+            position += (long) positionCount * Long.BYTES;
+            positionCosts = map(channel, position, (long) positionCount * Long.BYTES).asLongBuffer();
+            position += (long) positionCount * Long.BYTES;
+            if (version == 1) {
+                quantityScales = null;
+                costScales = null;
+            } else {
+                quantityScales = map(channel, position, positionCount);
+                position += positionCount;
+                costScales = map(channel, position, positionCount);
+            }
+
+            logger.info("Mapped position file {}: {} accounts, {} positions, {} symbols",
+                path, accountCount, positionCount, symbolCount);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map position file " + path, ex);
+        }
+    }
+
+    @Override
+    public Account getAccountById(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? null : accounts[row];
+    }
+
+    @Override
+    public List<Account> getAccountsByClient(String clientId) {
+        List<Integer> rows = rowsByClientId.getOrDefault(clientId, Collections.emptyList());
+        List<Account> result = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            result.add(accounts[row]);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Position> getPositionsByAccount(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? Collections.emptyList() : new MappedPositions(offsets.get(row), offsets.get(row + 1));
+    }
+
+    @Override
+    public AccountSnapshot getAccountSnapshot(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        if (row == null) {
+            return null;
+        }
+        return new AccountSnapshot(accounts[row], new MappedPositions(offsets.get(row), offsets.get(row + 1)), version(row));
+    }
+
+    @Override
+    public String getAccountVersion(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? null : version(row);
+    }
+
+    @Override
+    public boolean hasAccountVersions() {
+        return true;
+    }
+
+    private String version(int row) {
+        return fileVersion + "-" + Integer.toHexString(row);
+    }
+
+    private void readMetadata(DataInputStream in) throws IOException {
+        for (int id = 0; id < symbols.length; id++) {
+            symbols[id] = readNullable(in);
+            symbolIds[id] = symbols[id] == null ? SymbolDictionary.UNASSIGNED : SymbolDictionary.shared().idOf(symbols[id]);
+            instrumentNames[id] = readNullable(in);
+            byte assetClass = in.readByte();
+            assetClasses[id] = assetClass < 0 ? null : ASSET_CLASSES[assetClass];
+            currencies[id] = readNullable(in);
+        }
+        for (int row = 0; row < accounts.length; row++) {
+            String accountId = readNullable(in);
+            String clientId = readNullable(in);
+            byte accountType = in.readByte();
+            byte status = in.readByte();
+            String displayName = readNullable(in);
+            String accountNumber = readNullable(in);
+            String currentValue = readNullable(in);
+            String currency = readNullable(in);
+            long openedDate = in.readLong();
+            long lastUpdated = in.readLong();
+
+            accounts[row] = Account.builder()
+                .accountId(accountId)
+                .clientId(clientId)
+                .accountType(accountType < 0 ? null : ACCOUNT_TYPES[accountType])
+                .status(status < 0 ? null : ACCOUNT_STATUSES[status])
+                .displayName(displayName)
+                .accountNumber(accountNumber)
+                .currentValue(currentValue == null ? null : new BigDecimal(currentValue))
+                .currency(currency)
+                .openedDate(openedDate == Long.MIN_VALUE ? null : Instant.ofEpochMilli(openedDate))
+                .lastUpdated(lastUpdated == Long.MIN_VALUE ? null : Instant.ofEpochMilli(lastUpdated))
+                .build();
+            rowsByAccountId.put(accountId, row);
+            rowsByClientId.computeIfAbsent(clientId, id -> new ArrayList<>(4)).add(row);
+        }
+    }
+
+    private Position decode(int index) {
+        int symbolId = positionSymbols.get(index);
+        return Position.builder()
+            .symbol(symbols[symbolId])
+            .symbolId(symbolIds[symbolId])
+            .instrumentName(instrumentNames[symbolId])
+            .assetClass(assetClasses[symbolId])
+            .quantity(decimal(positionQuantities.get(index), quantityScales, index))
+            .costBasisPerShare(decimal(positionCosts.get(index), costScales, index))
+            .currency(currencies[symbolId])
+            .build();
+    }
+
+    /**
+     * Decodes a value stored at the fixed scale back at the scale it was written with.
+     */
+    private static BigDecimal decimal(long unscaled, ByteBuffer scales, int index) {
+        if (unscaled == PositionFileWriter.NULL_DECIMAL) {
+            return null;
+        }
+        int scale = scales == null ? PositionFileWriter.DECIMAL_SCALE : scales.get(index);
+        if (scale == PositionFileWriter.DECIMAL_SCALE) {
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        if (scale >= 0 && scale < PositionFileWriter.DECIMAL_SCALE) {
+            // Exact: the writer only scaled the value up
+            return BigDecimal.valueOf(unscaled / POWERS_OF_TEN[PositionFileWriter.DECIMAL_SCALE - scale], scale);
+        }
+        return BigDecimal.valueOf(unscaled, PositionFileWriter.DECIMAL_SCALE).setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Column of " + size + " bytes exceeds the 2 GB mapping limit; split the book across files");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int capacityFor(int entries) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (entries / 0.75f) + 1);
+    }
+
+    /**
+     * Read-only view of one account's positions, decoded from the mapped columns on access.
+     * Absolute buffer reads keep it safe to share between threads.
+     */
+    private final class MappedPositions extends AbstractList<Position> implements RandomAccess {
+
+        private final int from;
+        private final int to;
+
+        MappedPositions(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Position get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + (to - from));
+            }
+            return decode(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fidelity.integration.hub.adapter.impl;
+
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the binary columnar position file served by {@link MappedPositionFileOmsAdapter}.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header    magic "HUBP", version, createdAt (epoch millis), symbolCount, accountCount,
+ *           positionCount, metadataLength
+ * metadata  symbol dictionary (symbol, instrument name, asset class, currency), then account
+ *           headers in row order
+ * columns   account offsets int[accountCount + 1]; positions of row r occupy
+ *           [offsets[r], offsets[r + 1])
+ *           symbolId int[positionCount]
+ *           quantity long[positionCount], unscaled at scale 4
+ *           costBasisPerShare long[positionCount], unscaled at scale 4
+ *           quantityScale byte[positionCount], the scale the quantity was written with
+ *           costBasisScale byte[positionCount], the scale the cost basis was written with
+ * </pre>
+ *
+ * Values are read back at the scale they were written with, so positions replayed from the file
+ * serialize exactly as the positions they were written from. Version 1 files have no scale
+ * columns; their values are read back at scale 4.
+ *
+ * Accounts are appended in order and the file is written on {@link #close()}, via a temporary
+ * file so readers never see a partial file. Running {@link #main} exports a seeded synthetic book.
+ */
+public final class PositionFileWriter implements Closeable {
+
+    static final int MAGIC = 0x48554250; // "HUBP"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4 + 4 + 4;
+    static final int DECIMAL_SCALE = 4;
+    static final long NULL_DECIMAL = Long.MIN_VALUE;
+
+    private final Path path;
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final ByteArrayOutputStream symbolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream symbolSection = new DataOutputStream(symbolBytes);
+    private final ByteArrayOutputStream accountBytes = new ByteArrayOutputStream();
+    private final DataOutputStream accountSection = new DataOutputStream(accountBytes);
+
+    private int accountCount;
+    private int[] offsets = new int[1024];
+    private int positionCount;
+    private int[] positionSymbols = new int[1024];
+    private long[] positionQuantities = new long[1024];
+    private long[] positionCosts = new long[1024];
+    private byte[] quantityScales = new byte[1024];
+    private byte[] costScales = new byte[1024];
+
+    public PositionFileWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Appends an account and its positions as the next row.
+     *
+     * @throws IllegalArgumentException if a quantity or cost basis has more than 4 decimal places
+     */
+    public void addAccount(Account account, List<Position> positions) throws IOException {
+        writeNullable(accountSection, account.getAccountId());
+        writeNullable(accountSection, account.getClientId());
+        accountSection.writeByte(account.getAccountType() == null ? -1 : account.getAccountType().ordinal());
+        accountSection.writeByte(account.getStatus() == null ? -1 : account.getStatus().ordinal());
+        writeNullable(accountSection, account.getDisplayName());
+        writeNullable(accountSection, account.getAccountNumber());
+        writeNullable(accountSection, account.getCurrentValue() == null ? null : account.getCurrentValue().toPlainString());
+        writeNullable(accountSection, account.getCurrency());
+        accountSection.writeLong(account.getOpenedDate() == null ? Long.MIN_VALUE : account.getOpenedDate().toEpochMilli());
+        accountSection.writeLong(account.getLastUpdated() == null ? Long.MIN_VALUE : account.getLastUpdated().toEpochMilli());
+
+        offsets = ensureCapacity(offsets, accountCount + 2);
+        offsets[accountCount] = positionCount;
+        for (Position position : positions) {
+            int index = positionCount++;
+            if (index == positionSymbols.length) {
+                int grown = Math.addExact(index, index >> 1);
+                positionSymbols = Arrays.copyOf(positionSymbols, grown);
+                positionQuantities = Arrays.copyOf(positionQuantities, grown);
+                positionCosts = Arrays.copyOf(positionCosts, grown);
+                quantityScales = Arrays.copyOf(quantityScales, grown);
+                costScales = Arrays.copyOf(costScales, grown);
+            }
+            positionSymbols[index] = symbolId(position);
+            positionQuantities[index] = unscaled(position.getQuantity());
+            positionCosts[index] = unscaled(position.getCostBasisPerShare());
+            quantityScales[index] = scale(position.getQuantity());
+            costScales[index] = scale(position.getCostBasisPerShare());
+        }
+        accountCount++;
+        offsets[accountCount] = positionCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        symbolSection.flush();
+        accountSection.flush();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(Instant.now().toEpochMilli());
+            out.writeInt(symbolIds.size());
+            out.writeInt(accountCount);
+            out.writeInt(positionCount);
+            out.writeInt(symbolBytes.size() + accountBytes.size());
+            symbolBytes.writeTo(out);
+            accountBytes.writeTo(out);
+            for (int i = 0; i <= accountCount; i++) {
+                out.writeInt(offsets[i]);
+            }
+            for (int i = 0; i < positionCount; i++) {
+                out.writeInt(positionSymbols[i]);
+            }
+            for (int i = 0; i < positionCount; i++) {
+                out.writeLong(positionQuantities[i]);
+            }
+            for (int i = 0; i < positionCount; i++) {
+                out.writeLong(positionCosts[i]);
+            }
+            out.write(quantityScales, 0, positionCount);
+            out.write(costScales, 0, positionCount);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int symbolId(Position position) throws IOException {
+        Integer id = symbolIds.get(position.getSymbol());
+        if (id != null) {
+            return id;
+        }
+        // The first position seen for a symbol defines its dictionary entry
+        id = symbolIds.size();
+        symbolIds.put(position.getSymbol(), id);
+        writeNullable(symbolSection, position.getSymbol());
+        writeNullable(symbolSection, position.getInstrumentName());
+        symbolSection.writeByte(position.getAssetClass() == null ? -1 : position.getAssetClass().ordinal());
+        writeNullable(symbolSection, position.getCurrency());
+        return id;
+    }
+
+    private static long unscaled(BigDecimal value) {
+        if (value == null) {
+            return NULL_DECIMAL;
+        }
+        try {
+            return value.setScale(DECIMAL_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Value " + value + " does not fit the position file's fixed scale of "
+                + DECIMAL_SCALE, ex);
+        }
+    }
+
+    private static byte scale(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.scale() < Byte.MIN_VALUE || value.scale() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Value " + value + " has a scale the position file cannot record");
+        }
+        return (byte) value.scale();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static int[] ensureCapacity(int[] array, int required) {
+        return required <= array.length ? array : Arrays.copyOf(array, Math.max(required, array.length + (array.length >> 1)));
+    }
+
+    /**
+     * Exports a seeded synthetic book, e.g. for large-book replay tests:
+     * <pre>
+     * java -cp ... PositionFileWriter positions.hub 10000000 20 [seed]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: PositionFileWriter <file> <accounts> <positionsPerAccount> [seed]");
+            System.exit(2);
+        }
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        SyntheticBook book = new SyntheticBook(Integer.parseInt(args[1]), 4, Integer.parseInt(args[2]), 5_000, seed);
+        try (PositionFileWriter writer = new PositionFileWriter(Path.of(args[0]))) {
+            for (int row = 0; row < book.accountCount(); row++) {
+                writer.addAccount(book.accountAt(row), book.positionsAt(row));
+            }
+        }
+        System.out.printf("Wrote %d accounts and %d positions to %s%n", book.accountCount(), book.positionCount(), args[0]);
+    }
+}
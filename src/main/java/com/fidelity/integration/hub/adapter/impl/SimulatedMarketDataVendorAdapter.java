@@ -1,14 +1,27 @@
 package com.fidelity.integration.hub.adapter.impl;
 
 import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
 import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.fidelity.integration.hub.adapter.ticks.FileReplayPriceSource;
+import com.fidelity.integration.hub.adapter.ticks.PriceTable;
+import com.fidelity.integration.hub.adapter.ticks.TickIngestionPipeline;
+import com.fidelity.integration.hub.config.AdapterConfig;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
 import com.fidelity.integration.hub.model.enums.AssetClass;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Simulated implementation of the market data vendor adapter for demonstration purposes.
@@ -17,25 +30,40 @@ import java.util.Map;
  * - Makes HTTP calls to vendor APIs (e.g., Bloomberg, Reuters, Yahoo Finance, etc.)
  * - Handles API authentication (API keys, OAuth tokens)
  * - Implements rate limiting and quota management
- * - Caches market data to reduce vendor costs
  * - Handles errors and implements fallback mechanisms
+ *
+ * Prices live in a {@link PriceTable}, indexed by symbol id and seeded with the demo prices. With
+ * {@code integration.hub.vendor.ticks.source=file-replay} a {@link TickIngestionPipeline} replays
+ * price updates from a file into the table while it is being read, and changed prices are pushed
+ * to tick listeners.
+ *
+ * Symbols the vendor does not know are not priced, as a real vendor would not price them. The
+ * synthetic load-test instruments ({@value #SYNTHETIC_PREFIX}####) are the exception: they are
+ * quoted at a flat {@link #SYNTHETIC_PRICE} until a replayed tick prices them.
  */
 @Component
+@Qualifier(AdapterConfig.PROVIDER)
 public class SimulatedMarketDataVendorAdapter implements MarketDataVendorAdapter {
 
-    // Simulated market data cache
-    private static final Map<String, BigDecimal> PRICE_CACHE = new HashMap<>();
-    private static final Map<String, Instrument> INSTRUMENT_CACHE = new HashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedMarketDataVendorAdapter.class);
+
+    static final String SYNTHETIC_PREFIX = "SYN";
+    static final BigDecimal SYNTHETIC_PRICE = new BigDecimal("100.00");
+
+    // Simulated vendor-side market data (caching is layered on top, see CachingMarketDataVendorAdapter);
+    // read-only once initialized
+    private static final Map<String, BigDecimal> MOCK_PRICES = new HashMap<>();
+    private static final Map<String, Instrument> MOCK_INSTRUMENTS = new HashMap<>();
 
     static {
         // Initialize mock market data
-        PRICE_CACHE.put("AAPL", new BigDecimal("175.25"));
-        PRICE_CACHE.put("MSFT", new BigDecimal("380.50"));
-        PRICE_CACHE.put("GOOGL", new BigDecimal("140.75"));
-        PRICE_CACHE.put("TSLA", new BigDecimal("250.00"));
-        PRICE_CACHE.put("AMZN", new BigDecimal("145.30"));
+        MOCK_PRICES.put("AAPL", new BigDecimal("175.25"));
+        MOCK_PRICES.put("MSFT", new BigDecimal("380.50"));
+        MOCK_PRICES.put("GOOGL", new BigDecimal("140.75"));
+        MOCK_PRICES.put("TSLA", new BigDecimal("250.00"));
+        MOCK_PRICES.put("AMZN", new BigDecimal("145.30"));
 
-        INSTRUMENT_CACHE.put("AAPL", Instrument.builder()
+        MOCK_INSTRUMENTS.put("AAPL", Instrument.builder()
             .symbol("AAPL")
             .name("Apple Inc.")
             .assetClass(AssetClass.EQUITY)
@@ -48,7 +76,7 @@ public class SimulatedMarketDataVendorAdapter implements MarketDataVendorAdapter
             .lastUpdated(LocalDate.now())
             .build());
 
-        INSTRUMENT_CACHE.put("MSFT", Instrument.builder()
+        MOCK_INSTRUMENTS.put("MSFT", Instrument.builder()
             .symbol("MSFT")
             .name("Microsoft Corporation")
             .assetClass(AssetClass.EQUITY)
@@ -61,7 +89,7 @@ public class SimulatedMarketDataVendorAdapter implements MarketDataVendorAdapter
             .lastUpdated(LocalDate.now())
             .build());
 
-        INSTRUMENT_CACHE.put("GOOGL", Instrument.builder()
+        MOCK_INSTRUMENTS.put("GOOGL", Instrument.builder()
             .symbol("GOOGL")
             .name("Alphabet Inc.")
             .assetClass(AssetClass.EQUITY)
@@ -75,25 +103,84 @@ public class SimulatedMarketDataVendorAdapter implements MarketDataVendorAdapter
             .build());
     }
 
+    private final PriceTable prices = new PriceTable();
+    private final List<PriceTickListener> tickListeners = new CopyOnWriteArrayList<>();
+    private final TickIngestionPipeline pipeline;
+
+    public SimulatedMarketDataVendorAdapter(IntegrationHubProperties properties) {
+        MOCK_PRICES.forEach(prices::put);
+
+        IntegrationHubProperties.Ticks ticks = properties.getVendor().getTicks();
+        if ("file-replay".equals(ticks.getSource())) {
+            IntegrationHubProperties.Replay replay = ticks.getReplay();
+            if (replay.getPath() == null) {
+                throw new IllegalStateException("integration.hub.vendor.ticks.replay.path is required when source=file-replay");
+            }
+            pipeline = new TickIngestionPipeline(prices, new FileReplayPriceSource(replay.getPath(), replay.isLoop()),
+                ticks.getRingSize(), ticks.getBatchSize(), this::publish);
+            pipeline.start();
+            logger.info("Replaying price updates from {}", replay.getPath());
+        } else {
+            pipeline = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
     @Override
     public BigDecimal getCurrentPrice(String symbol) {
-        // Simulate vendor API call - in production, this would be an HTTP call
-        BigDecimal price = PRICE_CACHE.get(symbol.toUpperCase());
-        if (price == null) {
-            // Default to a mock price if not found
-            return new BigDecimal("100.00");
+        // Simulate vendor API call - in production, this would be an HTTP call.
+        // The table resolves the symbol through the dictionary, upper-casing only unknown spellings
+        BigDecimal price = prices.get(symbol);
+        if (price == null && symbol.startsWith(SYNTHETIC_PREFIX)) {
+            return SYNTHETIC_PRICE;
         }
         return price;
     }
 
+    @Override
+    public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+        // Simulate a single bulk vendor API call - in production, this would be one HTTP call
+        Map<String, BigDecimal> prices = new HashMap<>(Math.max(16, symbols.size() * 2));
+        for (String symbol : symbols) {
+            BigDecimal price = getCurrentPrice(symbol);
+            if (price != null) {
+                prices.put(symbol, price);
+            }
+        }
+        return prices;
+    }
+
     @Override
     public Instrument getInstrumentBySymbol(String symbol) {
         // Simulate vendor API call - in production, this would be an HTTP call
-        Instrument instrument = INSTRUMENT_CACHE.get(symbol.toUpperCase());
+        Instrument instrument = MOCK_INSTRUMENTS.get(symbol.toUpperCase());
         if (instrument == null) {
             // Return null for unknown instruments - service layer will handle not found
             return null;
         }
         return instrument;
     }
+
+    @Override
+    public long getPriceEpoch() {
+        // Advanced by the ingestion pipeline; stays 0 when prices are static
+        return prices.getEpoch();
+    }
+
+    @Override
+    public void addPriceTickListener(PriceTickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    private void publish(String symbol, BigDecimal price) {
+        for (PriceTickListener listener : tickListeners) {
+            listener.onPriceTick(symbol, price);
+        }
+    }
 }
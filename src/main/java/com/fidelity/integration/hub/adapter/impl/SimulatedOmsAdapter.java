@@ -2,17 +2,25 @@ package com.fidelity.integration.hub.adapter.impl;
 
 import com.fidelity.integration.hub.adapter.OmsAdapter;
 import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
 import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.config.AdapterConfig;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
 import com.fidelity.integration.hub.model.enums.AccountStatus;
 import com.fidelity.integration.hub.model.enums.AccountType;
 import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Simulated implementation of the OMS adapter for demonstration purposes.
@@ -22,17 +30,28 @@ import java.util.stream.Collectors;
  * - Queries OMS databases directly
  * - Handles connection pooling, timeouts, and retries
  * - Implements proper error handling and logging
+ *
+ * For load testing, a seeded synthetic book of millions of accounts can be served alongside the
+ * demo accounts (see integration.hub.oms.simulated). All lookups go through hash indexes.
  */
 @Component
+@Qualifier(AdapterConfig.PROVIDER)
+@ConditionalOnProperty(prefix = "integration.hub.oms", name = "source", havingValue = "simulated", matchIfMissing = true)
 public class SimulatedOmsAdapter implements OmsAdapter {
 
-    // Simulated in-memory data store
-    private static final List<Account> MOCK_ACCOUNTS = new ArrayList<>();
-    private static final List<Position> MOCK_POSITIONS = new ArrayList<>();
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedOmsAdapter.class);
 
-    static {
+    // Simulated in-memory data store, indexed for O(1) lookups
+    private final Map<String, Account> accountsById = new HashMap<>();
+    private final Map<String, List<Account>> accountsByClient = new HashMap<>();
+    private final Map<String, List<Position>> positionsByAccount = new HashMap<>();
+    // Version of each demo account, updated on every write so version checks are a lookup
+    private final Map<String, String> versionsByAccount = new HashMap<>();
+    private final SyntheticBook syntheticBook;
+
+    public SimulatedOmsAdapter(IntegrationHubProperties properties) {
         // Initialize mock data
-        MOCK_ACCOUNTS.add(Account.builder()
+        addAccount(Account.builder()
             .accountId("ACC-12345")
             .clientId("CLIENT-98765")
             .accountType(AccountType.BROKERAGE)
@@ -45,7 +64,7 @@ public class SimulatedOmsAdapter implements OmsAdapter {
             .lastUpdated(Instant.now())
             .build());
 
-        MOCK_ACCOUNTS.add(Account.builder()
+        addAccount(Account.builder()
             .accountId("ACC-12346")
             .clientId("CLIENT-98765")
             .accountType(AccountType.IRA)
@@ -59,7 +78,7 @@ public class SimulatedOmsAdapter implements OmsAdapter {
             .build());
 
         // Mock positions for ACC-12345
-        MOCK_POSITIONS.add(Position.builder()
+        addPosition("ACC-12345", Position.builder()
             .symbol("AAPL")
             .instrumentName("Apple Inc.")
             .assetClass(AssetClass.EQUITY)
@@ -68,7 +87,7 @@ public class SimulatedOmsAdapter implements OmsAdapter {
             .currency("USD")
             .build());
 
-        MOCK_POSITIONS.add(Position.builder()
+        addPosition("ACC-12345", Position.builder()
             .symbol("MSFT")
             .instrumentName("Microsoft Corporation")
             .assetClass(AssetClass.EQUITY)
@@ -77,7 +96,7 @@ public class SimulatedOmsAdapter implements OmsAdapter {
             .currency("USD")
             .build());
 
-        MOCK_POSITIONS.add(Position.builder()
+        addPosition("ACC-12345", Position.builder()
             .symbol("GOOGL")
             .instrumentName("Alphabet Inc.")
             .assetClass(AssetClass.EQUITY)
@@ -85,32 +104,98 @@ public class SimulatedOmsAdapter implements OmsAdapter {
             .costBasisPerShare(new BigDecimal("100.00"))
             .currency("USD")
             .build());
+
+        IntegrationHubProperties.Simulated simulated = properties.getOms().getSimulated();
+        syntheticBook = simulated.getSyntheticAccounts() > 0
+            ? new SyntheticBook(simulated.getSyntheticAccounts(), simulated.getAccountsPerClient(),
+                simulated.getPositionsPerAccount(), simulated.getSymbolUniverse(), simulated.getSeed())
+            : null;
+        if (syntheticBook != null) {
+            logger.info("Generated synthetic OMS book: {} accounts, {} positions (seed {})",
+                syntheticBook.accountCount(), syntheticBook.positionCount(), simulated.getSeed());
+        }
     }
 
     @Override
     public Account getAccountById(String accountId) {
         // Simulate OMS lookup - in production, this would be an HTTP/DB call
-        return MOCK_ACCOUNTS.stream()
-            .filter(account -> account.getAccountId().equals(accountId))
-            .findFirst()
-            .orElse(null);
+        Account account = accountsById.get(accountId);
+        if (account == null && syntheticBook != null) {
+            return syntheticBook.getAccountById(accountId);
+        }
+        return account;
     }
 
     @Override
     public List<Account> getAccountsByClient(String clientId) {
         // Simulate OMS lookup - in production, this would be an HTTP/DB call
-        return MOCK_ACCOUNTS.stream()
-            .filter(account -> account.getClientId().equals(clientId))
-            .collect(Collectors.toList());
+        List<Account> accounts = accountsByClient.get(clientId);
+        if (accounts == null && syntheticBook != null) {
+            return syntheticBook.getAccountsByClient(clientId);
+        }
+        return accounts == null ? new ArrayList<>() : new ArrayList<>(accounts);
     }
 
     @Override
     public List<Position> getPositionsByAccount(String accountId) {
         // Simulate OMS lookup - in production, this would be an HTTP/DB call
-        // For demo purposes, return positions for ACC-12345
-        if ("ACC-12345".equals(accountId)) {
-            return new ArrayList<>(MOCK_POSITIONS);
+        List<Position> positions = positionsByAccount.get(accountId);
+        if (positions != null) {
+            return new ArrayList<>(positions);
+        }
+        if (syntheticBook != null) {
+            List<Position> synthetic = syntheticBook.getPositionsByAccount(accountId);
+            if (synthetic != null) {
+                return synthetic;
+            }
         }
         return new ArrayList<>();
     }
+
+    @Override
+    public AccountSnapshot getAccountSnapshot(String accountId) {
+        // Simulate a composite OMS call - in production, one HTTP/DB round trip for header and positions
+        Account account = getAccountById(accountId);
+        if (account == null) {
+            return null;
+        }
+        List<Position> positions = getPositionsByAccount(accountId);
+        return new AccountSnapshot(account, positions, getAccountVersion(accountId));
+    }
+
+    @Override
+    public String getAccountVersion(String accountId) {
+        // Simulate a lightweight version check - in production, the OMS would return its change counter
+        String version = versionsByAccount.get(accountId);
+        if (version != null) {
+            return version;
+        }
+        return syntheticBook == null ? null : syntheticBook.getAccountVersion(accountId);
+    }
+
+    @Override
+    public boolean hasAccountVersions() {
+        return true;
+    }
+
+    private void addAccount(Account account) {
+        accountsById.put(account.getAccountId(), account);
+        accountsByClient.computeIfAbsent(account.getClientId(), clientId -> new ArrayList<>()).add(account);
+        updateVersion(account.getAccountId());
+    }
+
+    private void addPosition(String accountId, Position position) {
+        // Resolve the symbol id once rather than on the first request
+        position.getSymbolId();
+        positionsByAccount.computeIfAbsent(accountId, id -> new ArrayList<>()).add(position);
+        updateVersion(accountId);
+    }
+
+    private void updateVersion(String accountId) {
+        Account account = accountsById.get(accountId);
+        if (account != null) {
+            versionsByAccount.put(accountId,
+                AccountSnapshot.versionOf(account, positionsByAccount.getOrDefault(accountId, List.of())));
+        }
+    }
 }
@@ -0,0 +1,218 @@
+package com.fidelity.integration.hub.adapter.impl;
+
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.adapter.domain.SymbolDictionary;
+import com.fidelity.integration.hub.model.enums.AccountStatus;
+import com.fidelity.integration.hub.model.enums.AccountType;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic book of accounts and positions used to load test the hub.
+ *
+ * The same seed always produces the same book. Data is held column-wise in primitive arrays so
+ * millions of accounts and tens of millions of positions fit on the heap; {@link Account} and
+ * {@link Position} objects are only materialized for the rows a request touches. Hash indexes by
+ * accountId and clientId keep every lookup O(1).
+ */
+final class SyntheticBook {
+
+    private static final String ACCOUNT_PREFIX = "ACC-S";
+    private static final String CLIENT_PREFIX = "CLIENT-S";
+    private static final String[] LISTED_SYMBOLS = {"AAPL", "MSFT", "GOOGL", "TSLA", "AMZN"};
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final long EPOCH_2010 = Instant.parse("2010-01-01T00:00:00Z").getEpochSecond();
+    private static final int DAYS_OPEN_RANGE = 5_000;
+
+    private final long seed;
+    private final Instant generatedAt = Instant.now();
+    private final String[] symbols;
+    private final int[] symbolIds;
+
+    // Account columns, indexed by row
+    private final String[] accountIds;
+    private final int[] clientNumbers;
+    private final byte[] accountTypes;
+    private final int[] openedDays;
+
+    // Position columns; positions of row r occupy [positionOffsets[r], positionOffsets[r + 1])
+    private final int[] positionOffsets;
+    private final int[] positionSymbols;
+    private final long[] positionQuantities;
+    private final long[] positionCostCents;
+
+    // Hash indexes
+    private final Map<String, Integer> rowsByAccountId;
+    private final Map<String, int[]> rowsByClientId;
+
+    SyntheticBook(int accounts, int accountsPerClient, int averagePositionsPerAccount, int symbolUniverse, long seed) {
+        this.seed = seed;
+        this.symbols = buildSymbolUniverse(symbolUniverse);
+        this.symbolIds = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIds[i] = SymbolDictionary.shared().idOf(symbols[i]);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+
+        accountIds = new String[accounts];
+        clientNumbers = new int[accounts];
+        accountTypes = new byte[accounts];
+        openedDays = new int[accounts];
+        positionOffsets = new int[accounts + 1];
+
+        int maxPositions = Math.max(1, averagePositionsPerAccount * 2);
+        int totalPositions = 0;
+        for (int row = 0; row < accounts; row++) {
+            accountIds[row] = ACCOUNT_PREFIX + String.format("%07d", row);
+            clientNumbers[row] = row / Math.max(1, accountsPerClient);
+            accountTypes[row] = (byte) random.nextInt(ACCOUNT_TYPES.length);
+            openedDays[row] = random.nextInt(DAYS_OPEN_RANGE);
+            positionOffsets[row] = totalPositions;
+            totalPositions = Math.addExact(totalPositions, averagePositionsPerAccount == 0 ? 0 : 1 + random.nextInt(maxPositions));
+        }
+        positionOffsets[accounts] = totalPositions;
+
+        positionSymbols = new int[totalPositions];
+        positionQuantities = new long[totalPositions];
+        positionCostCents = new long[totalPositions];
+        for (int i = 0; i < totalPositions; i++) {
+            positionSymbols[i] = random.nextInt(symbols.length);
+            positionQuantities[i] = 1 + random.nextInt(1_000);
+            positionCostCents[i] = 500 + random.nextInt(50_000);
+        }
+
+        rowsByAccountId = new HashMap<>(capacityFor(accounts));
+        for (int row = 0; row < accounts; row++) {
+            rowsByAccountId.put(accountIds[row], row);
+        }
+        rowsByClientId = new HashMap<>(capacityFor(accounts / Math.max(1, accountsPerClient) + 1));
+        for (int row = 0; row < accounts; ) {
+            int client = clientNumbers[row];
+            int end = row;
+            while (end < accounts && clientNumbers[end] == client) {
+                end++;
+            }
+            int[] rows = new int[end - row];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = row + i;
+            }
+            rowsByClientId.put(clientId(client), rows);
+            row = end;
+        }
+    }
+
+    int accountCount() {
+        return accountIds.length;
+    }
+
+    int positionCount() {
+        return positionSymbols.length;
+    }
+
+    Account getAccountById(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? null : account(row);
+    }
+
+    /**
+     * Account at a row in generation order, for exporting the whole book.
+     */
+    Account accountAt(int row) {
+        return account(row);
+    }
+
+    List<Position> positionsAt(int row) {
+        List<Position> positions = new ArrayList<>(positionOffsets[row + 1] - positionOffsets[row]);
+        for (int i = positionOffsets[row]; i < positionOffsets[row + 1]; i++) {
+            positions.add(position(i));
+        }
+        return positions;
+    }
+
+    List<Account> getAccountsByClient(String clientId) {
+        int[] rows = rowsByClientId.get(clientId);
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        List<Account> accounts = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            accounts.add(account(row));
+        }
+        return accounts;
+    }
+
+    /**
+     * Positions for an account, or null if the account is not part of the synthetic book.
+     */
+    List<Position> getPositionsByAccount(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? null : positionsAt(row);
+    }
+
+    /**
+     * Version token for an account; synthetic data never changes after generation.
+     */
+    String getAccountVersion(String accountId) {
+        Integer row = rowsByAccountId.get(accountId);
+        return row == null ? null : Long.toHexString(seed) + "-" + Integer.toHexString(row);
+    }
+
+    private Account account(int row) {
+        long valueCents = 0;
+        for (int i = positionOffsets[row]; i < positionOffsets[row + 1]; i++) {
+            valueCents += positionQuantities[i] * positionCostCents[i];
+        }
+        String accountId = accountIds[row];
+        return Account.builder()
+            .accountId(accountId)
+            .clientId(clientId(clientNumbers[row]))
+            .accountType(ACCOUNT_TYPES[accountTypes[row]])
+            .status(AccountStatus.ACTIVE)
+            .displayName("Synthetic Account " + row)
+            .accountNumber("****" + accountId.substring(accountId.length() - 4))
+            .currentValue(BigDecimal.valueOf(valueCents, 2))
+            .currency("USD")
+            .openedDate(Instant.ofEpochSecond(EPOCH_2010 + openedDays[row] * 86_400L))
+            .lastUpdated(generatedAt)
+            .build();
+    }
+
+    private Position position(int index) {
+        int symbol = positionSymbols[index];
+        return Position.builder()
+            .symbol(symbols[symbol])
+            .symbolId(symbolIds[symbol])
+            .instrumentName(symbols[symbol] + " Synthetic Instrument")
+            .assetClass(AssetClass.EQUITY)
+            .quantity(BigDecimal.valueOf(positionQuantities[index]))
+            .costBasisPerShare(BigDecimal.valueOf(positionCostCents[index], 2))
+            .currency("USD")
+            .build();
+    }
+
+    private static String clientId(int clientNumber) {
+        return CLIENT_PREFIX + String.format("%06d", clientNumber);
+    }
+
+    private static String[] buildSymbolUniverse(int size) {
+        String[] universe = new String[Math.max(size, LISTED_SYMBOLS.length)];
+        System.arraycopy(LISTED_SYMBOLS, 0, universe, 0, LISTED_SYMBOLS.length);
+        for (int i = LISTED_SYMBOLS.length; i < universe.length; i++) {
+            universe[i] = "SYN" + String.format("%04d", i);
+        }
+        return universe;
+    }
+
+    private static int capacityFor(int entries) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (entries / 0.75f) + 1);
+    }
+}
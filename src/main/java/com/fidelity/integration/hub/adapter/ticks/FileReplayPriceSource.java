@@ -0,0 +1,100 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import com.fidelity.integration.hub.adapter.domain.SymbolDictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Replays price updates from a text file, one {@code SYMBOL,PRICE} per line, as fast as the
+ * pipeline accepts them. Blank lines and lines starting with {@code #} are skipped.
+ *
+ * Prices are parsed straight into an unscaled long and a scale, and each symbol is resolved to
+ * its dictionary id once, so a long replay allocates little beyond the line strings themselves.
+ */
+public final class FileReplayPriceSource implements PriceUpdateSource {
+
+    private static final int MAX_DIGITS = 18;
+
+    private final Path path;
+    private final boolean loop;
+    private final SymbolDictionary dictionary;
+
+    /**
+     * @param loop Start over at the end of the file until stopped
+     */
+    public FileReplayPriceSource(Path path, boolean loop) {
+        this(path, loop, SymbolDictionary.shared());
+    }
+
+    public FileReplayPriceSource(Path path, boolean loop, SymbolDictionary dictionary) {
+        this.path = path;
+        this.loop = loop;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public void run(Sink sink) throws IOException, InterruptedException {
+        do {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    if (line.isBlank() || line.charAt(0) == '#') {
+                        continue;
+                    }
+                    int comma = line.indexOf(',');
+                    if (comma <= 0) {
+                        throw new IOException("Expected SYMBOL,PRICE at " + path + ":" + lineNumber);
+                    }
+                    int symbolId = dictionary.idOf(line.substring(0, comma).trim());
+                    parse(line, comma + 1, lineNumber, symbolId, sink);
+                }
+            }
+        } while (loop);
+    }
+
+    private void parse(String line, int from, int lineNumber, int symbolId, Sink sink)
+            throws IOException, InterruptedException {
+        int end = line.length();
+        while (end > from && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        while (from < end && Character.isWhitespace(line.charAt(from))) {
+            from++;
+        }
+        boolean negative = from < end && line.charAt(from) == '-';
+        int i = negative ? from + 1 : from;
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '.' && !fraction) {
+                fraction = true;
+            } else if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    throw new IOException("Price has more than " + MAX_DIGITS + " digits at " + path + ":" + lineNumber);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else {
+                throw new IOException("Invalid price at " + path + ":" + lineNumber);
+            }
+        }
+        if (digits == 0) {
+            throw new IOException("Invalid price at " + path + ":" + lineNumber);
+        }
+        sink.accept(symbolId, negative ? -unscaled : unscaled, scale);
+    }
+}
@@ -0,0 +1,187 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import com.fidelity.integration.hub.adapter.domain.SymbolDictionary;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Current price per symbol id, written by a single thread and read by any number of threads.
+ *
+ * Prices live in primitive arrays indexed by {@link SymbolDictionary} id: each one is packed into
+ * a single long (the unscaled value in the upper 56 bits, the scale in the lower 8), so a read is
+ * one array load that can never observe half a write, and allocates nothing beyond the returned
+ * {@link BigDecimal}. The rare price that does not fit is kept in an overflow map instead. Arrays
+ * grow in fixed-size chunks as new ids are written, so existing chunks are never copied.
+ *
+ * Only one thread may call {@link #put} and {@link #advanceEpoch()} at a time (the ingestion
+ * pipeline's writer, or the owner before the pipeline starts).
+ */
+public final class PriceTable {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int SCALE_BITS = 8;
+    private static final int MAX_SCALE = (1 << SCALE_BITS) - 1;
+    private static final long MAX_UNSCALED = (1L << (Long.SIZE - SCALE_BITS - 1)) - 1;
+    // Both sentinels unpack to an unscaled value below -MAX_UNSCALED, which is never packed
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long OVERFLOW = Long.MIN_VALUE + 1;
+
+    private final SymbolDictionary symbols;
+    private final Map<Integer, BigDecimal> overflow = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+    private volatile int size;
+    private volatile long epoch;
+
+    public PriceTable() {
+        this(SymbolDictionary.shared());
+    }
+
+    public PriceTable(SymbolDictionary symbols) {
+        this.symbols = symbols;
+    }
+
+    public SymbolDictionary getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * @return The price of the symbol id, or null if it has never been priced
+     */
+    public BigDecimal get(int symbolId) {
+        AtomicLongArray[] current = chunks;
+        int chunk = symbolId >>> CHUNK_BITS;
+        if (symbolId < 0 || chunk >= current.length) {
+            return null;
+        }
+        AtomicLongArray slots = current[chunk];
+        int index = symbolId & CHUNK_MASK;
+        while (true) {
+            long packed = slots.get(index);
+            if (packed == EMPTY) {
+                return null;
+            }
+            if (packed != OVERFLOW) {
+                return BigDecimal.valueOf(packed >> SCALE_BITS, (int) (packed & MAX_SCALE));
+            }
+            BigDecimal price = overflow.get(symbolId);
+            if (price != null) {
+                return price;
+            }
+            // The writer packed a new price and dropped the overflow one meanwhile; read it
+        }
+    }
+
+    /**
+     * @return The symbol's current price, or null if it has never been priced
+     */
+    public BigDecimal get(String symbol) {
+        int id = symbols.find(symbol);
+        return id == SymbolDictionary.UNASSIGNED ? null : get(id);
+    }
+
+    /**
+     * Counter advanced by the writer after each batch of changed prices.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Number of symbols priced.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets a symbol id's price. Single writer only.
+     *
+     * @return true if the price changed (in value or scale)
+     */
+    public boolean put(int symbolId, long unscaled, int scale) {
+        AtomicLongArray chunk = chunkFor(symbolId);
+        int index = symbolId & CHUNK_MASK;
+        long previous = chunk.get(index);
+        if (unscaled < -MAX_UNSCALED || unscaled > MAX_UNSCALED || scale < 0 || scale > MAX_SCALE) {
+            return putOverflow(chunk, index, previous, symbolId, BigDecimal.valueOf(unscaled, scale));
+        }
+        long packed = (unscaled << SCALE_BITS) | scale;
+        if (packed == previous) {
+            return false;
+        }
+        chunk.set(index, packed);
+        if (previous == OVERFLOW) {
+            overflow.remove(symbolId);
+        } else if (previous == EMPTY) {
+            size = size + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Sets a symbol's price, registering the symbol if it is new. Single writer only.
+     *
+     * @return true if the price changed (in value or scale)
+     */
+    public boolean put(String symbol, BigDecimal price) {
+        int id = symbols.idOf(symbol);
+        if (price.unscaledValue().bitLength() < Long.SIZE) {
+            return put(id, price.unscaledValue().longValue(), price.scale());
+        }
+        AtomicLongArray chunk = chunkFor(id);
+        int index = id & CHUNK_MASK;
+        return putOverflow(chunk, index, chunk.get(index), id, price);
+    }
+
+    private boolean putOverflow(AtomicLongArray chunk, int index, long previous, int symbolId, BigDecimal price) {
+        if (previous == OVERFLOW && price.equals(overflow.get(symbolId))) {
+            return false;
+        }
+        // Published before the marker, so a reader that sees the marker finds the price
+        overflow.put(symbolId, price);
+        chunk.set(index, OVERFLOW);
+        if (previous == EMPTY) {
+            size = size + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Marks the end of a batch of changes. Single writer only.
+     */
+    public void advanceEpoch() {
+        epoch = epoch + 1;
+    }
+
+    private AtomicLongArray chunkFor(int symbolId) {
+        if (symbolId < 0) {
+            throw new IllegalArgumentException("Invalid symbol id " + symbolId);
+        }
+        int chunk = symbolId >>> CHUNK_BITS;
+        AtomicLongArray[] current = chunks;
+        if (chunk >= current.length) {
+            AtomicLongArray[] grown = Arrays.copyOf(current, chunk + 1);
+            for (int i = current.length; i < grown.length; i++) {
+                grown[i] = newChunk();
+            }
+            chunks = grown;
+            current = grown;
+        }
+        return current[chunk];
+    }
+
+    private static AtomicLongArray newChunk() {
+        AtomicLongArray chunk = new AtomicLongArray(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            chunk.set(i, EMPTY);
+        }
+        return chunk;
+    }
+}
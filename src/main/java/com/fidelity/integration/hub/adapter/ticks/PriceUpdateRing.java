@@ -0,0 +1,113 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded ring of price updates with any number of producers and a single consumer.
+ *
+ * Updates are stored in preallocated parallel arrays, so offering and draining allocate nothing.
+ * Producers claim a slot with one CAS and publish it through the slot's sequence number; the
+ * consumer drains published slots in claim order and hands them back to producers a whole lap
+ * later. A full ring rejects offers rather than overwriting or growing.
+ */
+public final class PriceUpdateRing {
+
+    private final int capacity;
+    private final int mask;
+    // sequence == position: free for the producer claiming it; position + 1: published
+    private final AtomicLongArray sequences;
+    private final int[] symbolIds;
+    private final long[] unscaledPrices;
+    private final int[] scales;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Consumer only
+    private long head;
+
+    /**
+     * @param capacity Number of slots, a power of two
+     */
+    public PriceUpdateRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        this.symbolIds = new int[capacity];
+        this.unscaledPrices = new long[capacity];
+        this.scales = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends an update unless the ring is full. Safe to call from any number of threads.
+     *
+     * @return false if the ring is full
+     */
+    public boolean offer(int symbolId, long unscaled, int scale) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                // The consumer has not freed this slot since the previous lap
+                return false;
+            }
+            // Otherwise another producer claimed it first; retry with the new tail
+        }
+        symbolIds[index] = symbolId;
+        unscaledPrices[index] = unscaled;
+        scales[index] = scale;
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published updates to the handler, in order. Single consumer only.
+     *
+     * @return Number of updates drained
+     */
+    public int drain(Handler handler, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            handler.onUpdate(symbolIds[index], unscaledPrices[index], scales[index]);
+            sequences.lazySet(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Whether no published update is waiting to be drained. Single consumer only.
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * Receives drained updates.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onUpdate(int symbolId, long unscaled, int scale);
+    }
+}
@@ -0,0 +1,29 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import java.io.IOException;
+
+/**
+ * Pluggable producer of price updates for a {@link TickIngestionPipeline}, such as a vendor
+ * streaming connection or a file replay. Runs on its own thread.
+ */
+@FunctionalInterface
+public interface PriceUpdateSource {
+
+    /**
+     * Pushes updates into the sink until the source is exhausted or the thread is interrupted.
+     *
+     * @throws IOException if the source fails; the pipeline keeps the prices received so far
+     * @throws InterruptedException if the pipeline is stopped while the sink waits for space
+     */
+    void run(Sink sink) throws IOException, InterruptedException;
+
+    /**
+     * Accepts updates into the pipeline, waiting while its ring is full. Symbols are identified by
+     * their {@link com.fidelity.integration.hub.adapter.domain.SymbolDictionary} id, resolved by the
+     * source once per symbol rather than once per update.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(int symbolId, long unscaled, int scale) throws InterruptedException;
+    }
+}
@@ -0,0 +1,209 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a {@link PriceTable} from a {@link PriceUpdateSource} through a bounded ring.
+ *
+ * The source runs on its own thread and offers updates into the ring, waiting while it is full.
+ * A single writer thread drains the ring in batches and applies each update to the table, so
+ * the table never needs a lock and portfolio reads continue at full speed during ingestion.
+ * After each batch the table's epoch advances and the ids of the symbols whose price changed are
+ * handed to a publisher thread, which sends each to the tick listener once with its latest price.
+ * The writer never waits for listeners: symbols that change again while the listener is busy are
+ * conflated into its next round, so a burst of updates for one symbol costs one tick.
+ *
+ * An idle writer parks until the source offers again. Once a finite source is exhausted or fails,
+ * the writer drains what is left and exits, followed by the publisher.
+ */
+public final class TickIngestionPipeline implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickIngestionPipeline.class);
+
+    private static final int IDLE_SPINS = 100;
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final PriceTable table;
+    private final PriceUpdateSource source;
+    private final PriceUpdateRing ring;
+    private final int batchSize;
+    private final PriceTickListener listener;
+    // Ids of the symbols changed in the current batch; writer only
+    private final BitSet changed = new BitSet();
+    // Ids changed since the publisher last took them; guarded by itself
+    private final BitSet pending = new BitSet();
+    // Ids being published; publisher only
+    private final BitSet publishing = new BitSet();
+    private final AtomicLong applied = new AtomicLong();
+    private final Thread writer;
+    private final Thread producer;
+    private final Thread publisher;
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private volatile boolean sourceDone;
+    private volatile boolean writerDone;
+
+    /**
+     * @param ringSize Number of updates buffered between source and writer, a power of two
+     * @param batchSize Maximum updates applied between two publications of changed prices
+     * @param listener Receives changed symbols on the publisher thread, at most once per batch each
+     */
+    public TickIngestionPipeline(PriceTable table, PriceUpdateSource source, int ringSize, int batchSize,
+                                 PriceTickListener listener) {
+        this.table = table;
+        this.source = source;
+        this.ring = new PriceUpdateRing(ringSize);
+        this.batchSize = Math.max(1, batchSize);
+        this.listener = listener;
+        this.writer = new Thread(this::write, "hub-price-writer");
+        this.writer.setDaemon(true);
+        this.producer = new Thread(this::produce, "hub-price-source");
+        this.producer.setDaemon(true);
+        this.publisher = new Thread(this::publish, "hub-price-publisher");
+        this.publisher.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        publisher.start();
+        writer.start();
+        producer.start();
+    }
+
+    /**
+     * Number of updates applied to the table so far.
+     */
+    public long getAppliedCount() {
+        return applied.get();
+    }
+
+    /**
+     * Stops the source, the writer and the publisher. Updates still in the ring and ticks not yet
+     * published are discarded.
+     */
+    @Override
+    public void close() {
+        running = false;
+        producer.interrupt();
+        LockSupport.unpark(writer);
+        LockSupport.unpark(publisher);
+        try {
+            producer.join(TimeUnit.SECONDS.toMillis(5));
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+            publisher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void produce() {
+        try {
+            source.run(this::offer);
+            logger.info("Price source exhausted");
+        } catch (InterruptedException ex) {
+            // Stopped
+        } catch (Exception ex) {
+            logger.error("Price source failed; keeping the prices received so far", ex);
+        } finally {
+            sourceDone = true;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void offer(int symbolId, long unscaled, int scale) throws InterruptedException {
+        while (!ring.offer(symbolId, unscaled, scale)) {
+            if (!running || Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            // Backpressure: the writer frees a whole batch at a time
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void write() {
+        int idle = 0;
+        while (running) {
+            // Read before draining: once it is set, every update was offered before the drain
+            boolean done = sourceDone;
+            int drained = ring.drain(this::apply, batchSize);
+            if (drained == 0) {
+                if (done) {
+                    break;
+                }
+                if (++idle < IDLE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    awaitUpdates();
+                }
+                continue;
+            }
+            idle = 0;
+            applied.addAndGet(drained);
+            if (!changed.isEmpty()) {
+                table.advanceEpoch();
+                synchronized (pending) {
+                    pending.or(changed);
+                }
+                changed.clear();
+                LockSupport.unpark(publisher);
+            }
+        }
+        writerDone = true;
+        LockSupport.unpark(publisher);
+    }
+
+    /**
+     * Parks the writer until the source offers an update, finishes or the pipeline closes. The flag
+     * is raised before the ring is checked again, so an offer racing with it always unparks.
+     */
+    private void awaitUpdates() {
+        writerParked = true;
+        while (running && !sourceDone && ring.isEmpty()) {
+            LockSupport.park(this);
+        }
+        writerParked = false;
+    }
+
+    private void apply(int symbolId, long unscaled, int scale) {
+        if (table.put(symbolId, unscaled, scale)) {
+            changed.set(symbolId);
+        }
+    }
+
+    private void publish() {
+        while (running) {
+            // Read before taking the pending ids: once it is set, the writer has handed off its last batch
+            boolean done = writerDone;
+            synchronized (pending) {
+                publishing.or(pending);
+                pending.clear();
+            }
+            if (publishing.isEmpty()) {
+                if (done) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            for (int id = publishing.nextSetBit(0); id >= 0; id = publishing.nextSetBit(id + 1)) {
+                String symbol = table.getSymbols().symbolOf(id);
+                try {
+                    listener.onPriceTick(symbol, table.get(id));
+                } catch (RuntimeException ex) {
+                    logger.warn("Price tick listener failed for {}", symbol, ex);
+                }
+            }
+            publishing.clear();
+        }
+    }
+}
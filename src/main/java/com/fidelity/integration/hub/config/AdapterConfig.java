@@ -0,0 +1,104 @@
+package com.fidelity.integration.hub.config;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.decorator.CachingMarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.decorator.CoalescingOmsAdapter;
+import com.fidelity.integration.hub.adapter.decorator.ConcurrencyLimitedMarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.decorator.HedgingMarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.decorator.MeteredMarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.decorator.MeteredOmsAdapter;
+import com.fidelity.integration.hub.adapter.decorator.ProviderResilience;
+import com.fidelity.integration.hub.adapter.decorator.ResilientMarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.decorator.ResilientOmsAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Assembles the adapters that services consume.
+ *
+ * Concrete provider integrations are registered with the {@link #PROVIDER} qualifier. This
+ * configuration wraps them in cross-cutting decorators (caching, request coalescing, ...) and
+ * exposes the result as the primary bean, so services never depend on a raw provider directly.
+ * The innermost decorator times every provider call, so the timings are the providers' own latency;
+ * around it, each provider's {@link ProviderResilience} applies timeouts, retries, a circuit breaker
+ * and a bulkhead to every call that reaches the provider. Vendor calls are further held to an
+ * adaptive concurrency limit, tuned from their latency and failures.
+ */
+@Configuration
+public class AdapterConfig {
+
+    /** Qualifier for concrete provider implementations that decorators wrap */
+    public static final String PROVIDER = "provider";
+
+    @Bean
+    public ProviderResilience omsResilience(IntegrationHubProperties properties, MeterRegistry meterRegistry) {
+        return new ProviderResilience("oms", properties.getOms(), meterRegistry);
+    }
+
+    @Bean
+    public ProviderResilience vendorResilience(IntegrationHubProperties properties, MeterRegistry meterRegistry) {
+        return new ProviderResilience("vendor", properties.getVendor(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public OmsAdapter omsAdapter(@Qualifier(PROVIDER) OmsAdapter provider, IntegrationHubProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier("omsResilience") ProviderResilience resilience) {
+        // Latency percentiles under /actuator/metrics/hub.adapter.requests
+        OmsAdapter adapter = new MeteredOmsAdapter(provider, meterRegistry);
+        adapter = new ResilientOmsAdapter(adapter, resilience);
+
+        if (properties.getOms().isCoalesceRequests()) {
+            adapter = new CoalescingOmsAdapter(adapter);
+        }
+
+        return adapter;
+    }
+
+    @Bean
+    @Primary
+    public MarketDataVendorAdapter marketDataVendorAdapter(
+            @Qualifier(PROVIDER) MarketDataVendorAdapter provider,
+            IntegrationHubProperties properties,
+            @Qualifier("priceLoadExecutor") ExecutorService priceLoadExecutor,
+            MeterRegistry meterRegistry,
+            @Qualifier("vendorResilience") ProviderResilience resilience,
+            @Qualifier("hedgingExecutor") ExecutorService hedgingExecutor) {
+
+        MarketDataVendorAdapter adapter = new MeteredMarketDataVendorAdapter(provider, meterRegistry);
+        adapter = new ResilientMarketDataVendorAdapter(adapter, resilience);
+
+        IntegrationHubProperties.ConcurrencyLimit concurrencyLimit = properties.getVendor().getConcurrencyLimit();
+        if (concurrencyLimit.isEnabled()) {
+            // Current limit and queue depth under /actuator/metrics/hub.adapter.concurrency.*
+            adapter = new ConcurrencyLimitedMarketDataVendorAdapter(
+                adapter, concurrencyLimit, properties.getVendor().getTimeout(), meterRegistry);
+        }
+
+        IntegrationHubProperties.Hedging hedging = properties.getVendor().getHedging();
+        if (hedging.isEnabled()) {
+            // Hedge rate and time saved under /actuator/metrics/hub.adapter.hedge.*
+            adapter = new HedgingMarketDataVendorAdapter(adapter, hedging, properties.getVendor().getTimeout(),
+                hedgingExecutor, meterRegistry);
+        }
+
+        IntegrationHubProperties.PriceCache cache = properties.getVendor().getCache();
+        if (cache.isEnabled()) {
+            CachingMarketDataVendorAdapter caching = new CachingMarketDataVendorAdapter(
+                adapter, cache.getMaximumSize(), cache.getTtl(), cache.getRefreshAfter(), priceLoadExecutor);
+            // Hit/miss/load-time/eviction statistics under /actuator/metrics/cache.*
+            CaffeineCacheMetrics.monitor(meterRegistry, caching.getPriceCache(), "marketDataPrices");
+            adapter = caching;
+        }
+
+        return adapter;
+    }
+}
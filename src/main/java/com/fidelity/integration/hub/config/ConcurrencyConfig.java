@@ -0,0 +1,122 @@
+package com.fidelity.integration.hub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor configuration for concurrent provider fan-out.
+ *
+ * Provider calls are I/O bound, so the preferred executor is one virtual thread per task.
+ * The hub is built for Java 17, where virtual threads do not exist yet; the factory is looked up
+ * reflectively so the same build picks them up automatically when deployed on Java 21+.
+ * Otherwise a bounded pool of daemon platform threads is used.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyConfig.class);
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService integrationExecutor(IntegrationHubProperties properties) {
+        IntegrationHubProperties.Concurrency concurrency = properties.getConcurrency();
+        if (concurrency.isVirtualThreads()) {
+            ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                logger.info("Provider fan-out running on virtual threads");
+                return virtualThreadExecutor;
+            }
+        }
+
+        int threads = concurrency.getMaxThreads();
+        logger.info("Provider fan-out running on {} platform threads", threads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory("hub-fanout-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs hedged vendor requests and the requests they duplicate. Kept apart from the fan-out
+     * executor, whose tasks wait on these, and unbounded: the vendor's bulkhead bounds the calls.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService hedgingExecutor(IntegrationHubProperties properties) {
+        return unboundedExecutor(properties, "hub-hedge-");
+    }
+
+    /**
+     * Loads and refreshes cached prices. Fan-out tasks wait on these loads, so running them on the
+     * fan-out executor could leave every worker waiting on a load queued behind it; unbounded for
+     * the same reason as the hedging executor.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService priceLoadExecutor(IntegrationHubProperties properties) {
+        return unboundedExecutor(properties, "hub-price-load-");
+    }
+
+    /**
+     * Computes the accounts of batch requests. Each account waits on its own provider fan-out, so
+     * running accounts on the fan-out executor could leave every worker waiting on fan-out tasks
+     * queued behind it. The pool is fixed, which also caps the batch accounts in flight across all
+     * requests; further accounts queue.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService batchExecutor(IntegrationHubProperties properties) {
+        int threads = Math.max(1, properties.getPortfolio().getBatchThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory("hub-batch-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Delivers live portfolio updates. Each subscription has at most one delivery queued, so the
+     * queue never holds more tasks than there are open streams; the fixed pool caps the portfolio
+     * reads deliveries make at once and keeps them off the fan-out executor requests need.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService feedExecutor(IntegrationHubProperties properties) {
+        int threads = Math.max(1, properties.getPortfolio().getLive().getDeliveryThreads());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory("hub-feed-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService unboundedExecutor(IntegrationHubProperties properties, String threadPrefix) {
+        if (properties.getConcurrency().isVirtualThreads()) {
+            ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+            if (virtualThreadExecutor != null) {
+                return virtualThreadExecutor;
+            }
+        }
+        return Executors.newCachedThreadPool(daemonThreadFactory(threadPrefix));
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,424 @@
+package com.fidelity.integration.hub.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed view of the {@code integration.hub.*} configuration tree.
+ *
+ * Durations without a unit suffix are interpreted as milliseconds to stay compatible
+ * with the plain numeric values used in application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "integration.hub")
+public class IntegrationHubProperties {
+
+    private Oms oms = new Oms();
+    private Vendor vendor = new Vendor();
+    private Concurrency concurrency = new Concurrency();
+    private Portfolio portfolio = new Portfolio();
+    private Reference reference = new Reference();
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Settings shared by every external provider (OMS, market data vendor).
+     */
+    @Data
+    public static class Provider {
+        /** Upper bound on a single provider call, including time spent waiting for a result and retrying */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration timeout;
+
+        private Retry retry = new Retry();
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private Bulkhead bulkhead = new Bulkhead();
+
+        public Provider() {
+        }
+
+        Provider(Duration timeout, int maxAttempts, Duration backoffDelay) {
+            this.timeout = timeout;
+            this.retry.setMaxAttempts(maxAttempts);
+            this.retry.setBackoffDelay(backoffDelay);
+        }
+    }
+
+    /**
+     * OMS settings.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Oms extends Provider {
+        /** Share one in-flight OMS call between concurrent requests for the same key */
+        private boolean coalesceRequests = true;
+
+        /** Provider implementation: {@code simulated} (default) or {@code mapped-file} */
+        private String source = "simulated";
+
+        private Simulated simulated = new Simulated();
+
+        private PositionFile positionFile = new PositionFile();
+
+        public Oms() {
+            super(Duration.ofMillis(5000), 3, Duration.ofMillis(1000));
+        }
+    }
+
+    /**
+     * Memory-mapped columnar position file served when {@code source=mapped-file}.
+     */
+    @Data
+    public static class PositionFile {
+        private Path path;
+    }
+
+    /**
+     * Seeded synthetic book served by the simulated OMS alongside the demo accounts.
+     */
+    @Data
+    public static class Simulated {
+        /** Number of synthetic accounts to generate at startup; 0 serves the demo accounts only */
+        private int syntheticAccounts = 0;
+
+        private int accountsPerClient = 4;
+
+        /** Average positions per synthetic account; actual counts vary between 1 and twice this */
+        private int positionsPerAccount = 20;
+
+        /** Number of distinct symbols synthetic positions are drawn from */
+        private int symbolUniverse = 500;
+
+        /** Same seed, same book */
+        private long seed = 42;
+    }
+
+    /**
+     * Market data vendor settings.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Vendor extends Provider {
+        private PriceCache cache = new PriceCache();
+
+        private Ticks ticks = new Ticks();
+
+        private Hedging hedging = new Hedging();
+
+        private PriceFallback fallback = new PriceFallback();
+
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+        public Vendor() {
+            super(Duration.ofMillis(3000), 2, Duration.ofMillis(500));
+        }
+    }
+
+    /**
+     * Price cache placed in front of the market data vendor.
+     */
+    @Data
+    public static class PriceCache {
+        private boolean enabled = true;
+
+        /** Maximum number of symbols held; least valuable entries are evicted beyond this */
+        private long maximumSize = 10_000;
+
+        /** Age after which a cached price is never served */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /** Age after which a read triggers an asynchronous refresh ahead of expiry */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration refreshAfter = Duration.ofSeconds(20);
+    }
+
+    /**
+     * Last known prices, used to value portfolios at once when the vendor misses its deadline or fails.
+     */
+    @Data
+    public static class PriceFallback {
+        private boolean enabled = true;
+
+        /** Time to wait for the vendor before falling back; the vendor call keeps running and refreshes the prices */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration deadline = Duration.ofMillis(1000);
+
+        /** Age after which a last known price is no longer used */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration maxAge = Duration.ofMinutes(15);
+
+        /** Maximum number of symbols whose last known price is kept */
+        private long maximumSize = 100_000;
+    }
+
+    /**
+     * Adaptive limit on concurrent vendor calls, tuned from their latency and failures (AIMD).
+     */
+    @Data
+    public static class ConcurrencyLimit {
+        private boolean enabled = true;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        /** Upper bound on the limit; calls beyond the vendor bulkhead's capacity would only queue there */
+        private int maxLimit = 50;
+
+        /** Factor applied to the limit when a call fails or is much slower than usual */
+        private double backoffRatio = 0.9;
+
+        /** A call slower than this multiple of the usual latency is taken as a sign of vendor-side queueing */
+        private double latencyTolerance = 2.0;
+
+        /** Calls waiting for a free slot beyond this are shed at once */
+        private int maxQueueSize = 100;
+
+        /** Longest wait for a free slot before the call is shed; never longer than the vendor timeout */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration maxQueueWait = Duration.ofMillis(100);
+    }
+
+    /**
+     * Duplicate vendor requests that take longer than usual; the first answer wins.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+
+        /** Percentile of recent vendor latency after which an unanswered request is sent again */
+        private double percentile = 0.95;
+
+        /** Lower bound on the wait before hedging, so a fast vendor is not hedged on noise */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /** Hedged requests allowed, as a percentage of vendor requests */
+        private double budgetPercent = 5;
+    }
+
+    /**
+     * Live price updates ingested by the simulated vendor.
+     */
+    @Data
+    public static class Ticks {
+        /** Update source: {@code none} (default, static prices) or {@code file-replay} */
+        private String source = "none";
+
+        /** Updates buffered between the source and the price table; a power of two */
+        private int ringSize = 65_536;
+
+        /** Maximum updates applied between two publications of changed prices */
+        private int batchSize = 4_096;
+
+        private Replay replay = new Replay();
+    }
+
+    /**
+     * Price file replayed when {@code ticks.source=file-replay}, one {@code SYMBOL,PRICE} per line.
+     */
+    @Data
+    public static class Replay {
+        private Path path;
+
+        /** Start over at the end of the file until shutdown */
+        private boolean loop = false;
+    }
+
+    /**
+     * Attempts made per provider call. Waits between attempts grow exponentially from the backoff
+     * delay and are randomized by up to half either way.
+     */
+    @Data
+    public static class Retry {
+        private int maxAttempts = 1;
+
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration backoffDelay = Duration.ZERO;
+    }
+
+    /**
+     * Stops calling a provider whose recent calls mostly failed; calls fail fast until it is probed again.
+     */
+    @Data
+    public static class CircuitBreaker {
+        /** Percentage of failed calls in the sliding window at which the breaker opens */
+        private float failureRateThreshold = 50;
+
+        /** Number of most recent calls the failure rate is computed over */
+        private int slidingWindowSize = 20;
+
+        /** Calls needed in the window before the failure rate is evaluated */
+        private int minimumNumberOfCalls = 10;
+
+        /** Time an open breaker rejects calls before letting probe calls through */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /** Probe calls let through while half open; the breaker closes again if their failure rate is below the threshold */
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    /**
+     * Dedicated threads that run a provider's calls, so a slow provider holds at most these
+     * threads rather than the callers'. The limits apply to the provider as a whole, across all
+     * requests; see {@link com.fidelity.integration.hub.adapter.decorator.ProviderResilience}
+     * for why the defaults suffice.
+     */
+    @Data
+    public static class Bulkhead {
+        /** Provider calls in flight at the same time, across all requests; keep at least the vendor's max-limit */
+        private int maxConcurrentCalls = 50;
+
+        /** Calls waiting for a thread; calls beyond this are rejected */
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Executor used to fan provider calls out concurrently.
+     */
+    @Data
+    public static class Concurrency {
+        /** Use virtual threads when the runtime supports them (Java 21+) */
+        private boolean virtualThreads = true;
+
+        /** Size of the platform thread pool used when virtual threads are unavailable or disabled */
+        private int maxThreads = 200;
+    }
+
+    @Data
+    public static class Portfolio {
+        /** Run OMS and vendor calls concurrently; when false every call runs serially on the request thread */
+        private boolean parallelFanOut = true;
+
+        /** Maximum number of symbols priced by a single vendor call during fan-out */
+        private int priceBatchSize = 250;
+
+        /** Valuation math: {@code fixed-point} (scaled longs, default) or {@code big-decimal} */
+        private String valuationEngine = "fixed-point";
+
+        /** Maximum accounts of one batch request computed at the same time */
+        private int batchConcurrency = 16;
+
+        /** Maximum accounts computed at the same time across all batch requests (batch pool threads) */
+        private int batchThreads = 32;
+
+        private TotalsCache totalsCache = new TotalsCache();
+
+        private MaterializedView materializedView = new MaterializedView();
+
+        private Live live = new Live();
+    }
+
+    /**
+     * Server-sent event streams of live portfolio valuations.
+     */
+    @Data
+    public static class Live {
+        /**
+         * Interval at which streams sent nothing for as long are re-checked against the OMS and sent a
+         * keep-alive; each stream has its own phase, so re-checks are spread across the interval
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /** Threads delivering updates to live streams, apart from the request fan-out pool */
+        private int deliveryThreads = 8;
+
+        /** Lifetime of one stream; clients reconnect afterwards */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Whole portfolios kept valued per OMS version and updated by price ticks.
+     */
+    @Data
+    public static class MaterializedView {
+        private boolean enabled = true;
+
+        /** Maximum number of accounts kept materialized */
+        private long maximumSize = 10_000;
+
+        /** Age after which a portfolio is rebuilt, bounding staleness from price changes that arrive without a tick */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration maxAge = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Whole-account totals reported alongside paged positions, cached per account snapshot version
+     * and price epoch.
+     */
+    @Data
+    public static class TotalsCache {
+        private long maximumSize = 10_000;
+
+        /** Age after which totals are recomputed with fresh prices; keep at or below the price cache's refresh-after */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration ttl = Duration.ofSeconds(20);
+    }
+
+    /**
+     * Instrument reference data responses.
+     */
+    @Data
+    public static class Reference {
+        /** Maximum number of symbols whose encoded responses are kept */
+        private long responseCacheSize = 10_000;
+    }
+
+    /**
+     * Request rate allowed per client and endpoint.
+     */
+    @Data
+    public static class Limit {
+        /** Sustained rate, in requests per second */
+        private double requestsPerSecond;
+
+        /** Requests a client may make in a burst after being idle */
+        private int burst;
+
+        public Limit() {
+        }
+
+        Limit(double requestsPerSecond, int burst) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+    /**
+     * Per-client rate limiting of API requests. Clients are told apart by their JWT subject, else the
+     * {@code clientId} path variable, else their address; each client has a separate allowance per endpoint.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class RateLimit extends Limit {
+        private boolean enabled = true;
+
+        /**
+         * Number of client and endpoint allowances tracked, rounded up to a power of two, at most 2^30.
+         * Not an LRU: a new allowance that finds no free slot among the few next to its hash replaces
+         * the nearby one that was refilled longest ago, which is usually, but not always, the least
+         * recently used.
+         */
+        private long maximumKeys = 1_000_000;
+
+        /** Limits for particular endpoints, keyed by path pattern; other endpoints use the limit above */
+        private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+        public RateLimit() {
+            super(20, 40);
+        }
+    }
+}
@@ -43,7 +43,7 @@ public class SecurityConfig {
 
         // Security headers (apply in both modes)
         http.headers(headers -> headers
-            .referrerPolicy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)
+            .referrerPolicy(referrer -> referrer.policy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN))
             .contentSecurityPolicy(csp -> csp.policyDirectives("default-src 'self'"))
         );
 
@@ -60,8 +60,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
                 .requestMatchers("/api/v1/health", "/swagger-ui/**", "/api-docs/**", "/actuator/health").permitAll()
-                // All other API endpoints require authentication
-                .requestMatchers("/api/**").authenticated()
+                // All other API endpoints and operational metrics require authentication
+                .requestMatchers("/api/**", "/actuator/**").authenticated()
                 .anyRequest().permitAll()
             );
 
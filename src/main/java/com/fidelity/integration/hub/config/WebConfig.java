@@ -1,16 +1,34 @@
 package com.fidelity.integration.hub.config;
 
+import com.fidelity.integration.hub.ratelimit.RateLimitInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web configuration for the integration hub.
- * Configures CORS and other web-related settings.
+ * Configures CORS, per-client rate limiting and other web-related settings.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public WebConfig(RateLimitInterceptor rateLimitInterceptor) {
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitInterceptor.isEnabled()) {
+            registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/v1/health");
+        }
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // In production, configure CORS appropriately based on your security requirements
@@ -18,6 +36,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*") // Restrict in production
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.LINK, "X-Next-Cursor", HttpHeaders.RETRY_AFTER)
                 .maxAge(3600);
     }
 }
@@ -4,6 +4,7 @@ import com.fidelity.integration.hub.model.dto.AccountDto;
 import com.fidelity.integration.hub.model.enums.AccountStatus;
 import com.fidelity.integration.hub.model.enums.AccountType;
 import com.fidelity.integration.hub.service.AccountService;
+import com.fidelity.integration.hub.service.Page;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +12,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -37,7 +40,9 @@ public class AccountController {
 
     @Operation(
         summary = "Get accounts for a client",
-        description = "Retrieves all accounts associated with a client, with optional filtering by status and type"
+        description = "Retrieves all accounts associated with a client, with optional filtering by status and type. "
+            + "Passing limit or cursor returns one page ordered by account ID; the next page is linked in the "
+            + "Link header (rel=next) and its cursor sent as X-Next-Cursor."
     )
     @ApiResponses({
         @ApiResponse(
@@ -50,7 +55,7 @@ public class AccountController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Bad request - invalid parameters",
+            description = "Bad request - invalid parameters or cursor",
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
         ),
         @ApiResponse(
@@ -77,9 +82,26 @@ public class AccountController {
         
         @Parameter(description = "Filter by account type", example = "BROKERAGE")
         @RequestParam(required = false)
-        AccountType accountType
+        AccountType accountType,
+
+        @Parameter(description = "Page size; enables pagination", example = "20")
+        @RequestParam(required = false)
+        @Min(value = 1, message = "limit must be at least 1")
+        @Max(value = PageHeaders.MAX_PAGE_SIZE, message = "limit must be at most " + PageHeaders.MAX_PAGE_SIZE)
+        Integer limit,
+
+        @Parameter(description = "Opaque cursor from the previous page's X-Next-Cursor header")
+        @RequestParam(required = false)
+        String cursor
     ) {
-        List<AccountDto> accounts = accountService.getAccountsByClient(clientId, accountStatus, accountType);
-        return ResponseEntity.ok(accounts);
+        if (limit == null && cursor == null) {
+            List<AccountDto> accounts = accountService.getAccountsByClient(clientId, accountStatus, accountType);
+            return ResponseEntity.ok(accounts);
+        }
+        int pageSize = limit != null ? limit : PageHeaders.DEFAULT_PAGE_SIZE;
+        Page<List<AccountDto>> page = accountService.getAccountsPage(clientId, accountStatus, accountType, cursor, pageSize);
+        return ResponseEntity.ok()
+            .headers(PageHeaders.of(page, pageSize))
+            .body(page.content());
     }
 }
@@ -0,0 +1,37 @@
+package com.fidelity.integration.hub.controller.v1;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Builds entity tags from opaque version tokens.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Strong ETag for a version token. The token is Base64url-encoded, so any characters it
+     * contains are valid inside the quoted tag.
+     *
+     * @return Quoted ETag, or null if there is no version
+     */
+    static String strong(String version) {
+        if (version == null) {
+            return null;
+        }
+        return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(version.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * Weak ETag for a version token, for representations that are equivalent at the same version
+     * but not byte-identical.
+     *
+     * @return Quoted weak ETag, or null if there is no version
+     */
+    static String weak(String version) {
+        String eTag = strong(version);
+        return eTag == null ? null : "W/" + eTag;
+    }
+}
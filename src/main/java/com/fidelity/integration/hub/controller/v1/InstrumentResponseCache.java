@@ -0,0 +1,89 @@
+package com.fidelity.integration.hub.controller.v1;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fidelity.integration.hub.model.dto.InstrumentDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded instrument responses, kept per symbol so the controller can write bytes without running
+ * Jackson on every request.
+ *
+ * Each entry holds the JSON body in identity and gzip encodings together with the instrument it was
+ * built from. An entry is rebuilt as soon as the instrument returned by the service no longer equals
+ * that instrument, so cached bytes never outlive a change to reference data or price.
+ */
+final class InstrumentResponseCache {
+
+    private static final int VERSION_BYTES = 16;
+
+    private final ObjectWriter writer;
+    private final Cache<String, EncodedInstrument> responses;
+
+    InstrumentResponseCache(ObjectWriter writer, long maximumSize) {
+        this.writer = writer;
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    /**
+     * Returns the encoded response for the instrument, encoding it only if it changed since it was
+     * last seen.
+     */
+    EncodedInstrument get(InstrumentDto instrument) {
+        EncodedInstrument cached = responses.getIfPresent(instrument.symbol());
+        if (cached != null && cached.instrument().equals(instrument)) {
+            return cached;
+        }
+        EncodedInstrument encoded = encode(instrument);
+        responses.put(instrument.symbol(), encoded);
+        return encoded;
+    }
+
+    private EncodedInstrument encode(InstrumentDto instrument) {
+        try {
+            byte[] identity = writer.writeValueAsBytes(instrument);
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(identity.length);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write(identity);
+            }
+            String version = versionOf(identity);
+            return new EncodedInstrument(instrument, identity, gzipped.toByteArray(),
+                ETags.strong(version), ETags.strong(version + "+gzip"));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize instrument " + instrument.symbol(), ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Version token of a response body: the first 128 bits of its SHA-256 digest. It changes with
+     * any change to the bytes, price included, and is the same on every node serving them.
+     */
+    private static String versionOf(byte[] identity) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity);
+            return HexFormat.of().formatHex(digest, 0, VERSION_BYTES);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Both encodings of one instrument response. Strong ETags differ per encoding because the bytes do.
+     */
+    record EncodedInstrument(InstrumentDto instrument, byte[] identity, byte[] gzip, String eTag, String gzipETag) {
+    }
+}
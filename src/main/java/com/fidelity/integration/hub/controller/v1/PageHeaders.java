@@ -0,0 +1,42 @@
+package com.fidelity.integration.hub.controller.v1;
+
+import com.fidelity.integration.hub.service.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Response headers advertising the next page of a paginated endpoint.
+ *
+ * The next page is linked with an RFC 8288 {@code Link: <...>; rel="next"} header that repeats
+ * the current request with the new cursor, and the bare cursor is also sent as
+ * {@code X-Next-Cursor}. The last page carries neither.
+ */
+final class PageHeaders {
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    /** Page size used when a client sends a cursor without a limit */
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private PageHeaders() {
+    }
+
+    /**
+     * Must be called on the request thread.
+     */
+    static HttpHeaders of(Page<?> page, int limit) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.nextCursor())
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(NEXT_CURSOR, page.nextCursor());
+        }
+        return headers;
+    }
+}
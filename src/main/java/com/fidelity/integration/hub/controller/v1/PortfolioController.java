@@ -1,7 +1,22 @@
 package com.fidelity.integration.hub.controller.v1;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.GlobalExceptionHandler;
+import com.fidelity.integration.hub.model.dto.PortfolioBatchItemDto;
+import com.fidelity.integration.hub.model.dto.PortfolioBatchRequestDto;
 import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PortfolioUpdateDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.service.Page;
+import com.fidelity.integration.hub.service.PortfolioFeed;
 import com.fidelity.integration.hub.service.PortfolioService;
+import com.fidelity.integration.hub.service.PortfolioStream;
+import com.fidelity.integration.hub.service.PortfolioVersion;
+import com.fidelity.integration.hub.service.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,11 +24,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
 
 /**
  * REST controller for portfolio-related operations.
@@ -25,15 +53,37 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Portfolios", description = "Portfolio and position aggregation APIs")
 public class PortfolioController {
 
+    private static final byte[] NEWLINE = {'\n'};
+
     private final PortfolioService portfolioService;
+    private final PortfolioFeed portfolioFeed;
+    private final IntegrationHubProperties properties;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter batchItemWriter;
+    private final ObjectWriter positionWriter;
 
-    public PortfolioController(PortfolioService portfolioService) {
+    public PortfolioController(PortfolioService portfolioService,
+                               PortfolioFeed portfolioFeed,
+                               IntegrationHubProperties properties,
+                               GlobalExceptionHandler exceptionHandler,
+                               ObjectMapper objectMapper) {
         this.portfolioService = portfolioService;
+        this.portfolioFeed = portfolioFeed;
+        this.properties = properties;
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+        this.batchItemWriter = objectMapper.writerFor(PortfolioBatchItemDto.class);
+        // Let the generator's buffer decide when bytes reach the client rather than flushing per position
+        this.positionWriter = objectMapper.writerFor(PositionDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Operation(
         summary = "Get portfolio for an account",
-        description = "Retrieves portfolio information including positions, valuations, and market data enrichment for a specific account"
+        description = "Retrieves portfolio information including positions, valuations, and market data enrichment for a specific account. "
+            + "Passing limit or cursor returns one page of positions with whole-account totals; the next page is "
+            + "linked in the Link header (rel=next) and its cursor sent as X-Next-Cursor."
     )
     @ApiResponses({
         @ApiResponse(
@@ -44,9 +94,13 @@ public class PortfolioController {
                 schema = @Schema(implementation = PortfolioDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified - the If-None-Match ETag is still current"
+        ),
         @ApiResponse(
             responseCode = "400",
-            description = "Bad request - invalid parameters",
+            description = "Bad request - invalid parameters or cursor",
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
         ),
         @ApiResponse(
@@ -65,9 +119,284 @@ public class PortfolioController {
         @Parameter(description = "Account identifier", required = true, example = "ACC-12345")
         @PathVariable
         @Pattern(regexp = "^ACC-[A-Z0-9]+$", message = "Account ID must match pattern ACC-{ID}")
-        String accountId
+        String accountId,
+
+        @Parameter(description = "Positions per page; enables pagination", example = "20")
+        @RequestParam(required = false)
+        @Min(value = 1, message = "limit must be at least 1")
+        @Max(value = PageHeaders.MAX_PAGE_SIZE, message = "limit must be at most " + PageHeaders.MAX_PAGE_SIZE)
+        Integer limit,
+
+        @Parameter(description = "Opaque cursor from the previous page's X-Next-Cursor header")
+        @RequestParam(required = false)
+        String cursor,
+
+        WebRequest webRequest
+    ) {
+        PortfolioVersion version = conditionalVersion(accountId, webRequest);
+        if (isNotModified(version, webRequest)) {
+            return null;
+        }
+        if (limit == null && cursor == null) {
+            Versioned<PortfolioDto> portfolio = portfolioService.getVersionedPortfolio(accountId, version);
+            return ResponseEntity.ok()
+                .headers(eTagHeaders(portfolio.version()))
+                .body(portfolio.content());
+        }
+        int pageSize = limit != null ? limit : PageHeaders.DEFAULT_PAGE_SIZE;
+        Versioned<Page<PortfolioDto>> page = portfolioService.getPortfolioPage(accountId, cursor, pageSize);
+        HttpHeaders headers = PageHeaders.of(page.content(), pageSize);
+        headers.addAll(eTagHeaders(page.version()));
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(page.content().content());
+    }
+
+    @Operation(
+        summary = "Stream the portfolio of a large account",
+        description = "Same document as the regular portfolio endpoint, but each position is written to the "
+            + "response as soon as it is valued and the portfolio totals follow the positions array, so "
+            + "neither the valued positions nor the response body are held in memory. Intended for accounts "
+            + "with tens of thousands of positions. Should valuation fail once the response has started, the "
+            + "positions array ends early and an error member (RFC7807 problem details) replaces the totals."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Portfolio, with totals after the positions",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = PortfolioDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Account not found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+        )
+    })
+    @GetMapping(value = "/{accountId}/portfolio", params = "stream=true", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPortfolio(
+        @Parameter(description = "Account identifier", required = true, example = "ACC-12345")
+        @PathVariable
+        @Pattern(regexp = "^ACC-[A-Z0-9]+$", message = "Account ID must match pattern ACC-{ID}")
+        String accountId,
+
+        WebRequest webRequest,
+        HttpServletRequest httpRequest
+    ) {
+        if (isNotModified(conditionalVersion(accountId, webRequest), webRequest)) {
+            return null;
+        }
+        // Provider calls and validation happen here so failures still produce a problem response
+        Versioned<PortfolioStream> versioned = portfolioService.openPortfolio(accountId);
+        PortfolioStream portfolio = versioned.content();
+        String instance = httpRequest.getRequestURI();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        StreamingResponseBody body = outputStream -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeStringField("accountId", portfolio.getAccountId());
+                generator.writeArrayFieldStart("positions");
+                PortfolioStream.Summary summary;
+                try {
+                    summary = portfolio.forEachPosition(position -> positionWriter.writeValue(generator, position));
+                } catch (RuntimeException ex) {
+                    // The 200 status has gone out: end the document with the failure rather than cut it off
+                    generator.writeEndArray();
+                    generator.writeObjectField("error", exceptionHandler.describe(ex, instance));
+                    generator.writeEndObject();
+                    return;
+                }
+                generator.writeEndArray();
+                // Totals are only known once every position has been valued
+                generator.writeObjectField("totalValue", summary.totals().totalValue());
+                generator.writeObjectField("totalCostBasis", summary.totals().totalCostBasis());
+                generator.writeObjectField("totalUnrealizedGainLoss", summary.totals().totalUnrealizedGainLoss());
+                generator.writeObjectField("totalUnrealizedGainLossPercent",
+                    summary.totals().totalUnrealizedGainLossPercent());
+                generator.writeStringField("currency", summary.currency());
+                generator.writeObjectField("asOfDate", Instant.now());
+                generator.writeObjectField("pricesAsOf", summary.pricesAsOf());
+                generator.writeBooleanField("stale", summary.stale());
+                generator.writeEndObject();
+            } finally {
+                MDC.clear();
+            }
+        };
+
+        return ResponseEntity.ok()
+            .headers(eTagHeaders(versioned.version()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
+    }
+
+    @Operation(
+        summary = "Follow the portfolio of an account live",
+        description = "Server-sent event stream of the account's portfolio. The first event (portfolio) carries "
+            + "the whole portfolio; each update event then carries the revalued totals and every position of the "
+            + "symbols whose prices moved. Price ticks are conflated per subscriber, so a slow client receives the "
+            + "latest state rather than a backlog. A portfolio event is sent again when the account's positions "
+            + "change, and an error event (RFC7807 problem details) when a refresh fails; the stream stays open. "
+            + "Replaces polling the portfolio endpoint."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Event stream of portfolio (PortfolioDto), update (PortfolioUpdateDto) and error events",
+            content = @Content(
+                mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                schema = @Schema(implementation = PortfolioUpdateDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Account not found",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+        )
+    })
+    @GetMapping(value = "/{accountId}/portfolio/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter livePortfolio(
+        @Parameter(description = "Account identifier", required = true, example = "ACC-12345")
+        @PathVariable
+        @Pattern(regexp = "^ACC-[A-Z0-9]+$", message = "Account ID must match pattern ACC-{ID}")
+        String accountId,
+
+        HttpServletRequest httpRequest
+    ) throws IOException {
+        String instance = httpRequest.getRequestURI();
+        SseEmitter emitter = new SseEmitter(properties.getPortfolio().getLive().getTimeout().toMillis());
+
+        // Subscribing sends the current portfolio; an unknown account fails here, before the stream starts
+        PortfolioFeed.Subscription subscription = portfolioFeed.subscribe(accountId, new PortfolioFeed.Subscriber() {
+            @Override
+            public void onPortfolio(PortfolioDto portfolio) throws IOException {
+                emitter.send(SseEmitter.event().name("portfolio").data(portfolio, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onUpdate(PortfolioUpdateDto update) throws IOException {
+                emitter.send(SseEmitter.event().name("update").data(update, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onError(RuntimeException failure) throws IOException {
+                emitter.send(SseEmitter.event().name("error")
+                    .data(exceptionHandler.describe(failure, instance), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onHeartbeat() throws IOException {
+                // A comment line keeps proxies from closing an idle connection
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+    @Operation(
+        summary = "Get portfolios for several accounts",
+        description = "Computes the portfolios of up to 200 accounts concurrently and streams them back as "
+            + "newline-delimited JSON, one line per account in completion order. Accounts that fail "
+            + "are reported inline with RFC7807 problem details instead of failing the batch."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream of per-account results",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = PortfolioBatchItemDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request - missing, too many or invalid account IDs",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized - missing or invalid authentication token",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)
+        )
+    })
+    @PostMapping(
+        value = "/portfolios/batch",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> getPortfolios(
+        @Valid @RequestBody PortfolioBatchRequestDto request,
+        HttpServletRequest httpRequest
     ) {
-        PortfolioDto portfolio = portfolioService.getPortfolioByAccount(accountId);
-        return ResponseEntity.ok(portfolio);
+        String instance = httpRequest.getRequestURI();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        StreamingResponseBody body = outputStream -> {
+            // Streaming runs on an async thread; keep the request's correlation ID in the logs
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                portfolioService.getPortfolios(request.accountIds(), (accountId, portfolio, failure) -> {
+                    PortfolioBatchItemDto item = failure == null
+                        ? new PortfolioBatchItemDto(accountId, portfolio, null)
+                        : new PortfolioBatchItemDto(accountId, null, exceptionHandler.describe(failure, instance));
+                    outputStream.write(batchItemWriter.writeValueAsBytes(item));
+                    outputStream.write(NEWLINE);
+                    // Let the client render each account as soon as it is ready
+                    outputStream.flush();
+                });
+            } finally {
+                MDC.clear();
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Reads the portfolio's version for a conditional GET, before any position is fetched, priced
+     * or serialized. Unconditional requests skip the version check: their ETag comes from the
+     * version the portfolio is read at.
+     *
+     * @return The portfolio's version, or null if the request is unconditional or has none
+     */
+    private PortfolioVersion conditionalVersion(String accountId, WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+            ? null
+            : portfolioService.getPortfolioVersion(accountId);
+    }
+
+    /**
+     * Answers a conditional GET from the portfolio's version token alone.
+     *
+     * @return true if a 304 has been prepared and the handler must return null
+     */
+    private static boolean isNotModified(PortfolioVersion version, WebRequest webRequest) {
+        String eTag = version == null ? null : ETags.weak(version.token());
+        return eTag != null && webRequest.checkNotModified(eTag);
+    }
+
+    /**
+     * Weak ETag header for a portfolio version: the body carries the time it was generated, so two
+     * responses at the same version are equivalent rather than byte-identical.
+     */
+    private static HttpHeaders eTagHeaders(String version) {
+        HttpHeaders headers = new HttpHeaders();
+        String eTag = ETags.weak(version);
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+        return headers;
     }
 }
@@ -1,5 +1,7 @@
 package com.fidelity.integration.hub.controller.v1;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
 import com.fidelity.integration.hub.model.dto.InstrumentDto;
 import com.fidelity.integration.hub.service.ReferenceDataService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +12,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Pattern;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -25,15 +29,28 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Reference Data", description = "Instrument and reference data APIs")
 public class ReferenceDataController {
 
+    private static final String GZIP = "gzip";
+
     private final ReferenceDataService referenceDataService;
+    private final InstrumentResponseCache responseCache;
+    private final CacheControl cacheControl;
 
-    public ReferenceDataController(ReferenceDataService referenceDataService) {
+    public ReferenceDataController(ReferenceDataService referenceDataService,
+                                   ObjectMapper objectMapper,
+                                   IntegrationHubProperties properties) {
         this.referenceDataService = referenceDataService;
+        IntegrationHubProperties.Reference reference = properties.getReference();
+        this.responseCache = new InstrumentResponseCache(objectMapper.writerFor(InstrumentDto.class),
+            reference.getResponseCacheSize());
+        // Instruments carry their current price, so clients revalidate on every use; the ETag makes that a 304.
+        // Responses to authenticated requests stay out of shared caches.
+        this.cacheControl = CacheControl.noCache().cachePrivate();
     }
 
     @Operation(
         summary = "Get instrument reference data",
-        description = "Retrieves metadata and reference information for a financial instrument by symbol"
+        description = "Retrieves metadata and reference information for a financial instrument by symbol. "
+            + "Responses are served from pre-encoded bytes (gzip when accepted) with Cache-Control and ETag headers."
     )
     @ApiResponses({
         @ApiResponse(
@@ -44,6 +61,10 @@ public class ReferenceDataController {
                 schema = @Schema(implementation = InstrumentDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified - the If-None-Match ETag is still current"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Bad request - invalid symbol format",
@@ -61,13 +82,63 @@ public class ReferenceDataController {
         )
     })
     @GetMapping(value = "/instruments/{symbol}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<InstrumentDto> getInstrument(
+    public ResponseEntity<byte[]> getInstrument(
         @Parameter(description = "Instrument symbol/ticker", required = true, example = "AAPL")
         @PathVariable
         @Pattern(regexp = "^[A-Z0-9.-]+$", message = "Symbol must contain only uppercase letters, numbers, dots, or hyphens")
-        String symbol
+        String symbol,
+
+        @Parameter(hidden = true)
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+        String acceptEncoding
     ) {
         InstrumentDto instrument = referenceDataService.getInstrumentBySymbol(symbol);
-        return ResponseEntity.ok(instrument);
+        // Pre-encoded bytes, rebuilt only when the instrument changes; a matching If-None-Match gets a 304
+        InstrumentResponseCache.EncodedInstrument encoded = responseCache.get(instrument);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response
+                .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .eTag(encoded.gzipETag())
+                .body(encoded.gzip());
+        }
+        return response
+            .eTag(encoded.eTag())
+            .body(encoded.identity());
+    }
+
+    /**
+     * Whether the Accept-Encoding header allows gzip, explicitly or through "*", with a non-zero quality.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            boolean acceptable = true;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        acceptable = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        acceptable = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+                return acceptable;
+            }
+            if (name.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
     }
 }
@@ -0,0 +1,16 @@
+package com.fidelity.integration.hub.exception;
+
+/**
+ * Exception thrown when a request is well-formed but cannot be served as asked,
+ * for example a pagination cursor that is malformed or no longer valid.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.MDC;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -66,6 +67,22 @@ public class GlobalExceptionHandler {
             .body(errorResponse);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleBadRequest(
+            BadRequestException ex, HttpServletRequest request) {
+        
+        ErrorResponseDto errorResponse = buildErrorResponse(
+            ErrorCode.BAD_REQUEST,
+            HttpStatus.BAD_REQUEST,
+            ex.getMessage(),
+            request
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .body(errorResponse);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDto> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -193,6 +210,25 @@ public class GlobalExceptionHandler {
             .body(errorResponse);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleRateLimitExceeded(
+            RateLimitExceededException ex, HttpServletRequest request) {
+
+        // Whole seconds, rounded up so a client retrying on time is admitted
+        long retryAfterSeconds = Math.max(1L, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        ErrorResponseDto errorResponse = buildErrorResponse(
+            ErrorCode.RATE_LIMIT_EXCEEDED,
+            HttpStatus.TOO_MANY_REQUESTS,
+            ex.getMessage() + "; retry after " + retryAfterSeconds + " second(s)",
+            request
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+            .body(errorResponse);
+    }
+
     @ExceptionHandler(ProviderException.class)
     public ResponseEntity<ErrorResponseDto> handleProviderException(
             ProviderException ex, HttpServletRequest request) {
@@ -229,6 +265,26 @@ public class GlobalExceptionHandler {
             .body(errorResponse);
     }
 
+    /**
+     * Describes a failure reported inside an otherwise successful response (one account of a
+     * batch, for example) with the same problem details the handlers above would return.
+     *
+     * @param instance URI of the request the failure belongs to
+     */
+    public ErrorResponseDto describe(RuntimeException ex, String instance) {
+        if (ex instanceof ResourceNotFoundException) {
+            return buildErrorResponse(ErrorCode.NOT_FOUND, HttpStatus.NOT_FOUND, ex.getMessage(), instance, null);
+        }
+        if (ex instanceof ProviderException) {
+            logger.error("Provider error occurred", ex);
+            return buildErrorResponse(ErrorCode.PROVIDER_ERROR, HttpStatus.SERVICE_UNAVAILABLE,
+                "External provider error: " + ex.getMessage(), instance, null);
+        }
+        logger.error("Unexpected error occurred", ex);
+        return buildErrorResponse(ErrorCode.INTERNAL_ERROR, HttpStatus.INTERNAL_SERVER_ERROR,
+            "An unexpected error occurred", instance, null);
+    }
+
     /**
      * Builds an error response DTO following RFC7807 format.
      */
@@ -246,9 +302,17 @@ public class GlobalExceptionHandler {
             String detail,
             HttpServletRequest request,
             List<ViolationDto> violations) {
+        return buildErrorResponse(errorCode, status, detail, request.getRequestURI(), violations);
+    }
+
+    private ErrorResponseDto buildErrorResponse(
+            ErrorCode errorCode,
+            HttpStatus status,
+            String detail,
+            String instance,
+            List<ViolationDto> violations) {
         
         String correlationId = MDC.get("correlationId");
-        String instance = request.getRequestURI();
         
         return new ErrorResponseDto(
             PROBLEM_TYPE_BASE_URI + errorCode.getCode().toLowerCase().replace("_", "-"),
@@ -0,0 +1,23 @@
+package com.fidelity.integration.hub.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client has made more requests to an endpoint than its rate limit allows.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    /**
+     * @param retryAfter How long the client has to wait before the request would be allowed
+     */
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fidelity.integration.hub.filter;
+
+import com.fidelity.integration.hub.timing.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filter reporting where a request's time went in a {@code Server-Timing} response header.
+ *
+ * A {@link RequestTiming} is bound to the request thread while the request is handled, and the
+ * services record their stages into it (OMS, pricing, valuation). The header is added the moment
+ * the response body is first opened, i.e. once handling is over and before the first byte is
+ * written, so it works for buffered, streamed and event-stream responses alike; it also carries
+ * the total time so far ({@code app}) and the request's correlation ID ({@code cid}).
+ *
+ * Serialization is only over once the body has been written, after the header has gone out. When
+ * the client announces {@code TE: trailers} it is reported as a {@code Server-Timing} trailer
+ * ({@code serialize}, from the header to the end of the response).
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${integration.hub.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${integration.hub.correlation.header-name:X-Correlation-ID}")
+    private String correlationHeaderName;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestTiming timing = new RequestTiming();
+        TimedResponse timedResponse = new TimedResponse(response, timing);
+        if (acceptsTrailers(request)) {
+            timedResponse.enableTrailer();
+        }
+
+        timing.bind();
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.unbind();
+            // Responses without a body (e.g. 304) never opened it; async responses add the header themselves
+            if (!request.isAsyncStarted() && !response.isCommitted()) {
+                timedResponse.addServerTiming();
+            }
+        }
+    }
+
+    private static boolean acceptsTrailers(HttpServletRequest request) {
+        String te = request.getHeader("TE");
+        return te != null && te.toLowerCase(Locale.ROOT).contains("trailers");
+    }
+
+    /**
+     * Adds the Server-Timing header when the body is first opened.
+     */
+    private final class TimedResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private volatile boolean added;
+        private volatile long bodyStartNanos;
+
+        TimedResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void enableTrailer() {
+            try {
+                setTrailerFields(() -> added
+                    ? Map.of(SERVER_TIMING, RequestTiming.entry(RequestTiming.Stage.SERIALIZE, System.nanoTime() - bodyStartNanos))
+                    : Map.of());
+                setHeader("Trailer", SERVER_TIMING);
+            } catch (IllegalStateException ex) {
+                // HTTP/1.0 or a connector without trailer support: header only
+            }
+        }
+
+        void addServerTiming() {
+            if (!added) {
+                added = true;
+                setHeader(SERVER_TIMING, timing.toHeaderValue(getHeader(correlationHeaderName)));
+                bodyStartNanos = System.nanoTime();
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+    }
+}
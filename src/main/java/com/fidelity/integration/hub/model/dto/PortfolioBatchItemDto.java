@@ -0,0 +1,21 @@
+package com.fidelity.integration.hub.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One line of a streamed batch portfolio response.
+ * Carries either the account's portfolio or the problem details explaining why it is missing.
+ */
+@Schema(description = "Portfolio or error for one account of a batch")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PortfolioBatchItemDto(
+    @Schema(description = "Account identifier", example = "ACC-12345")
+    String accountId,
+
+    @Schema(description = "Portfolio, when it could be computed")
+    PortfolioDto portfolio,
+
+    @Schema(description = "RFC7807 problem details, when the portfolio could not be computed")
+    ErrorResponseDto error
+) {}
@@ -0,0 +1,20 @@
+package com.fidelity.integration.hub.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Batch portfolio request data transfer object.
+ * Lists the accounts whose portfolios should be computed in one call.
+ */
+@Schema(description = "Accounts to retrieve portfolios for")
+public record PortfolioBatchRequestDto(
+    @Schema(description = "Account identifiers; duplicates are answered once", example = "[\"ACC-12345\", \"ACC-12346\"]")
+    @NotEmpty(message = "At least one account ID is required")
+    @Size(max = 200, message = "At most 200 account IDs per batch")
+    List<@Pattern(regexp = "^ACC-[A-Z0-9]+$", message = "Account ID must match pattern ACC-{ID}") String> accountIds
+) {}
@@ -34,5 +34,13 @@ public record PortfolioDto(
     List<PositionDto> positions,
     
     @Schema(description = "As-of date/time for the portfolio snapshot")
-    Instant asOfDate
+    Instant asOfDate,
+
+    @Schema(description = "Every price in the portfolio was received from the vendor at or after this time",
+        example = "2024-01-15T14:30:00Z")
+    Instant pricesAsOf,
+
+    @Schema(description = "True if any position was priced from a last known price because the vendor missed its deadline",
+        example = "false")
+    boolean stale
 ) {}
@@ -0,0 +1,38 @@
+package com.fidelity.integration.hub.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Change to a live portfolio.
+ * Carries the revalued totals and every position of each symbol whose valuation changed.
+ */
+@Schema(description = "Revalued totals and changed positions of a live portfolio")
+public record PortfolioUpdateDto(
+    @Schema(description = "Account identifier", example = "ACC-12345")
+    String accountId,
+
+    @Schema(description = "Total portfolio value", example = "125000.50")
+    BigDecimal totalValue,
+
+    @Schema(description = "Total cost basis", example = "100000.00")
+    BigDecimal totalCostBasis,
+
+    @Schema(description = "Total unrealized gain/loss", example = "25000.50")
+    BigDecimal totalUnrealizedGainLoss,
+
+    @Schema(description = "Total unrealized gain/loss percentage", example = "25.00")
+    BigDecimal totalUnrealizedGainLossPercent,
+
+    @Schema(description = "Currency code", example = "USD")
+    String currency,
+
+    @Schema(description = "All positions of the symbols that changed; they replace the client's positions with the same symbol")
+    List<PositionDto> positions,
+
+    @Schema(description = "As-of date/time for the portfolio snapshot")
+    Instant asOfDate
+) {}
@@ -4,6 +4,7 @@ import com.fidelity.integration.hub.model.enums.AssetClass;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Position data transfer object.
@@ -42,5 +43,11 @@ public record PositionDto(
     BigDecimal unrealizedGainLossPercent,
     
     @Schema(description = "Currency code", example = "USD")
-    String currency
+    String currency,
+
+    @Schema(description = "When the price was received from the market data vendor", example = "2024-01-15T14:30:00Z")
+    Instant priceAsOf,
+
+    @Schema(description = "True if the vendor missed its deadline and the last known price was used", example = "false")
+    boolean stale
 ) {}
@@ -0,0 +1,81 @@
+package com.fidelity.integration.hub.ratelimit;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.RateLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Applies the {@link RateLimiter} to API requests before they reach a controller.
+ *
+ * The client is the authenticated principal (the JWT subject), else the {@code clientId} path
+ * variable, else the caller's address; the endpoint is the matched path pattern. The address is the
+ * connection's peer: behind a reverse proxy or load balancer every anonymous client shares the
+ * proxy's bucket unless {@code server.forward-headers-strategy} is set, so that the address comes
+ * from the proxy's {@code X-Forwarded-For} header. Requests over the limit fail with
+ * {@link RateLimitExceededException}, answered as a 429 problem with a {@code Retry-After} header
+ * (and counted in {@code http.server.requests} with status 429).
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String CLIENT_ID_VARIABLE = "clientId";
+    private static final String UNMATCHED = "unmatched";
+
+    private final boolean enabled;
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(IntegrationHubProperties properties) {
+        this.enabled = properties.getRateLimit().isEnabled();
+        this.rateLimiter = enabled ? new RateLimiter(properties.getRateLimit()) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatches of streamed responses belong to a request that was already admitted
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String endpoint = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (endpoint == null) {
+            // Never the raw URI: the limiter keeps buckets per pattern, and patterns are few
+            endpoint = UNMATCHED;
+        }
+        long waitNanos = rateLimiter.tryAcquire(endpoint, clientOf(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        throw new RateLimitExceededException("Rate limit exceeded for " + endpoint, Duration.ofNanos(waitNanos));
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            // The JWT subject for bearer tokens
+            return "sub:" + authentication.getName();
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String clientId = variables == null ? null : variables.get(CLIENT_ID_VARIABLE);
+        if (clientId != null) {
+            return "client:" + clientId;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+}
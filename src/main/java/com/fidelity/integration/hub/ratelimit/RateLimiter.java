@@ -0,0 +1,177 @@
+package com.fidelity.integration.hub.ratelimit;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets per client and endpoint, without locks.
+ *
+ * Each bucket is a single long: the time at which it would be full again (the generic cell rate
+ * algorithm). A request takes a token by moving that time one emission interval
+ * ({@code 1 / requests-per-second}) forward with one compare-and-set, and is allowed while the
+ * time stays within {@code burst} intervals of now; otherwise the distance tells the client when
+ * to retry.
+ *
+ * Buckets live in a fixed open-addressed table of {@code maximum-keys} slots (rounded up to a power
+ * of two, at most 2^30), so memory stays bounded however many clients there are, and finding a
+ * bucket is a few array reads with no allocation once it exists. A new client takes an empty slot
+ * near its hash or, failing that, the nearby bucket that was refilled longest ago. A bucket that
+ * has refilled completely is the same as a new one, so replacing it loses nothing; only when every
+ * nearby bucket is in use does a client lose its history, which a table sized above the number of
+ * active clients keeps rare.
+ */
+public class RateLimiter {
+
+    private static final int PROBES = 4;
+    /** Largest table; a larger power of two would not fit in an int */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static final AtomicLongFieldUpdater<Bucket> FULL_AT =
+        AtomicLongFieldUpdater.newUpdater(Bucket.class, "fullAt");
+
+    private final Rate defaultRate;
+    private final Map<String, Rate> configuredRates = new ConcurrentHashMap<>();
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final AtomicInteger endpointIds = new AtomicInteger();
+    private final AtomicReferenceArray<Bucket> slots;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(IntegrationHubProperties.RateLimit config) {
+        this(config, System::nanoTime);
+    }
+
+    RateLimiter(IntegrationHubProperties.RateLimit config, LongSupplier nanoClock) {
+        this.defaultRate = Rate.of(config);
+        config.getEndpoints().forEach((pattern, limit) -> configuredRates.put(pattern, Rate.of(limit)));
+        long keys = Math.max(PROBES, config.getMaximumKeys());
+        if (keys > MAX_CAPACITY) {
+            throw new IllegalStateException("integration.hub.rate-limit.maximum-keys must be at most " + MAX_CAPACITY);
+        }
+        int capacity = Integer.highestOneBit((int) keys - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a token from the client's bucket for the endpoint.
+     *
+     * @param endpoint Path pattern of the endpoint; patterns are few, each gets its own buckets
+     * @param client Client identity
+     * @return 0 if the request is allowed, else the nanoseconds until it would be
+     */
+    public long tryAcquire(String endpoint, String client) {
+        Endpoint target = endpoints.get(endpoint);
+        if (target == null) {
+            target = endpoints.computeIfAbsent(endpoint, pattern ->
+                new Endpoint(endpointIds.getAndIncrement(), configuredRates.getOrDefault(pattern, defaultRate)));
+        }
+        long now = nanoClock.getAsLong();
+        Bucket bucket = bucketOf(target.id(), client, now);
+        Rate rate = target.rate();
+        while (true) {
+            long fullAt = bucket.fullAt;
+            long next = Math.max(fullAt, now) + rate.intervalNanos();
+            long allowedAt = next - rate.toleranceNanos();
+            if (allowedAt > now) {
+                return allowedAt - now;
+            }
+            if (FULL_AT.compareAndSet(bucket, fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of buckets currently held.
+     */
+    int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    private Bucket bucketOf(int endpoint, String client, long now) {
+        int hash = spread(client.hashCode() * 31 + endpoint);
+        while (true) {
+            int victim = -1;
+            Bucket victimBucket = null;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int index = (hash + probe) & mask;
+                Bucket bucket = slots.get(index);
+                if (bucket == null) {
+                    Bucket created = new Bucket(hash, endpoint, client, now);
+                    if (slots.compareAndSet(index, null, created)) {
+                        return created;
+                    }
+                    bucket = slots.get(index);
+                }
+                if (bucket.hash == hash && bucket.endpoint == endpoint && bucket.client.equals(client)) {
+                    return bucket;
+                }
+                if (victimBucket == null || bucket.fullAt - victimBucket.fullAt < 0) {
+                    victim = index;
+                    victimBucket = bucket;
+                }
+            }
+            // Every nearby slot belongs to another client: take over the one refilled longest ago
+            Bucket created = new Bucket(hash, endpoint, client, now);
+            if (slots.compareAndSet(victim, victimBucket, created)) {
+                return created;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Bucket {
+
+        final int hash;
+        final int endpoint;
+        final String client;
+        /** Time at which the bucket would be full again */
+        volatile long fullAt;
+
+        Bucket(int hash, int endpoint, String client, long fullAt) {
+            this.hash = hash;
+            this.endpoint = endpoint;
+            this.client = client;
+            this.fullAt = fullAt;
+        }
+    }
+
+    private record Endpoint(int id, Rate rate) {
+    }
+
+    /**
+     * @param intervalNanos Time to earn one token
+     * @param toleranceNanos Time to earn a full burst
+     */
+    private record Rate(long intervalNanos, long toleranceNanos) {
+
+        static Rate of(IntegrationHubProperties.Limit limit) {
+            if (limit.getRequestsPerSecond() <= 0 || limit.getBurst() < 1) {
+                throw new IllegalStateException("Rate limits need requests-per-second > 0 and burst >= 1");
+            }
+            long interval = Math.max(1L, Math.round(1e9 / limit.getRequestsPerSecond()));
+            return new Rate(interval, interval * limit.getBurst());
+        }
+    }
+}
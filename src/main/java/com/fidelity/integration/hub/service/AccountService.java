@@ -4,9 +4,13 @@ import com.fidelity.integration.hub.model.dto.AccountDto;
 import com.fidelity.integration.hub.model.enums.AccountStatus;
 import com.fidelity.integration.hub.model.enums.AccountType;
 import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.exception.BadRequestException;
 import com.fidelity.integration.hub.exception.ResourceNotFoundException;
+import com.fidelity.integration.hub.timing.RequestTiming;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,6 +21,8 @@ import java.util.stream.Collectors;
 @Service
 public class AccountService {
 
+    private static final String ACCOUNT_CURSOR = "a1";
+
     private final OmsAdapter omsAdapter;
 
     public AccountService(OmsAdapter omsAdapter) {
@@ -33,7 +39,8 @@ public class AccountService {
      */
     public List<AccountDto> getAccountsByClient(String clientId, AccountStatus accountStatus, AccountType accountType) {
         // Fetch accounts from OMS adapter
-        List<com.fidelity.integration.hub.adapter.domain.Account> accounts = omsAdapter.getAccountsByClient(clientId);
+        List<com.fidelity.integration.hub.adapter.domain.Account> accounts =
+            RequestTiming.time(RequestTiming.Stage.OMS, () -> omsAdapter.getAccountsByClient(clientId));
         
         if (accounts.isEmpty()) {
             throw new ResourceNotFoundException("Client not found: " + clientId);
@@ -50,10 +57,58 @@ public class AccountService {
         return filteredAccounts;
     }
 
+    /**
+     * Retrieves one page of a client's accounts, ordered by account ID.
+     *
+     * The cursor records the last account ID returned, so pages stay consistent when accounts are
+     * opened or closed between requests. Only the accounts on the page are mapped to DTOs.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of accounts on the page
+     * @return Page of account DTOs
+     * @throws BadRequestException if the cursor is invalid or belongs to another client
+     */
+    public Page<List<AccountDto>> getAccountsPage(String clientId, AccountStatus accountStatus, AccountType accountType,
+                                                  String cursor, int limit) {
+        String after = null;
+        if (cursor != null) {
+            String[] fields = PageCursor.decode(cursor, ACCOUNT_CURSOR, 2);
+            if (!fields[0].equals(clientId)) {
+                throw new BadRequestException("Cursor belongs to another client");
+            }
+            after = fields[1];
+        }
+
+        List<com.fidelity.integration.hub.adapter.domain.Account> accounts =
+            RequestTiming.time(RequestTiming.Stage.OMS, () -> omsAdapter.getAccountsByClient(clientId));
+        if (accounts.isEmpty()) {
+            throw new ResourceNotFoundException("Client not found: " + clientId);
+        }
+
+        List<com.fidelity.integration.hub.adapter.domain.Account> remaining = new ArrayList<>(accounts.size());
+        for (com.fidelity.integration.hub.adapter.domain.Account account : accounts) {
+            if ((accountStatus == null || account.getStatus() == accountStatus)
+                && (accountType == null || account.getAccountType() == accountType)
+                && (after == null || account.getAccountId().compareTo(after) > 0)) {
+                remaining.add(account);
+            }
+        }
+        remaining.sort(Comparator.comparing(com.fidelity.integration.hub.adapter.domain.Account::getAccountId));
+
+        List<AccountDto> page = new ArrayList<>(Math.min(limit, remaining.size()));
+        for (int i = 0; i < remaining.size() && i < limit; i++) {
+            page.add(toDto(remaining.get(i)));
+        }
+        String nextCursor = remaining.size() > limit
+            ? PageCursor.encode(ACCOUNT_CURSOR, clientId, page.get(page.size() - 1).accountId())
+            : null;
+        return new Page<>(page, nextCursor);
+    }
+
     /**
      * Converts domain Account model to DTO.
      */
-    private AccountDto toDto(com.fidelity.integration.hub.adapter.domain.Account account) {
+    AccountDto toDto(com.fidelity.integration.hub.adapter.domain.Account account) {
         return new AccountDto(
             account.getAccountId(),
             account.getClientId(),
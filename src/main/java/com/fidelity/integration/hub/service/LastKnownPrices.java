@@ -0,0 +1,78 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The last price received for each symbol, from vendor responses and price ticks, with the time it
+ * was received. Used in place of prices the vendor does not deliver in time; prices older than the
+ * maximum age are dropped.
+ *
+ * Each time a last known price is served the generation advances, so a response built from stale
+ * prices never shares a version token with the fresh response that follows it.
+ */
+class LastKnownPrices implements PriceTickListener {
+
+    private final Cache<String, Quote> quotes;
+    private final AtomicLong generation = new AtomicLong();
+
+    LastKnownPrices(long maximumSize, Duration maxAge) {
+        this.quotes = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(maxAge)
+            .executor(Runnable::run)
+            .build();
+    }
+
+    /**
+     * Remembers prices received from the vendor.
+     */
+    void record(Map<String, BigDecimal> prices, Instant receivedAt) {
+        prices.forEach((symbol, price) -> {
+            if (price != null) {
+                quotes.put(symbol, new Quote(price, receivedAt));
+            }
+        });
+    }
+
+    @Override
+    public void onPriceTick(String symbol, BigDecimal price) {
+        if (price != null) {
+            quotes.put(symbol, new Quote(price, Instant.now()));
+        }
+    }
+
+    /**
+     * @return The symbol's last known price, or null if none was received within the maximum age
+     */
+    Quote get(String symbol) {
+        return quotes.getIfPresent(symbol);
+    }
+
+    /**
+     * Records that last known prices were served.
+     */
+    void markServed() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Number of times last known prices have been served.
+     */
+    long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * A price and when it was received.
+     */
+    record Quote(BigDecimal price, Instant asOf) {
+    }
+}
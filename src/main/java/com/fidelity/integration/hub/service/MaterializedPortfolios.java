@@ -0,0 +1,324 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.decorator.SingleFlight;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.service.valuation.BigDecimalValuationEngine;
+import com.fidelity.integration.hub.service.valuation.PortfolioTotals;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Valued portfolios kept up to date by price ticks, so reading one is a snapshot read.
+ *
+ * Each account's valued positions and totals are held per OMS snapshot version. A reverse index
+ * from symbol to the portfolios holding it routes every tick to the affected portfolios only;
+ * there, just the rows of that symbol are revalued in place and the total value moves by their
+ * difference. Results are identical, value and scale, to valuing the whole portfolio at the latest
+ * prices.
+ *
+ * Ticks are applied on the executor rather than on the thread that publishes them. Ticks that
+ * arrive while earlier ones are still being applied are conflated per symbol, so a burst costs one
+ * revaluation per symbol at its latest price; a read may briefly trail the latest tick. The
+ * position list a reader receives is copied on the first read after a change, not on every tick.
+ * Concurrent reads that miss build the portfolio once.
+ *
+ * Prices that change without a tick (e.g. a cached price that expired and was reloaded) are not
+ * seen, so portfolios are rebuilt once they reach the configured maximum age. Portfolios priced
+ * from last known prices are returned as they are and never materialized, so the next read
+ * prices them again.
+ */
+class MaterializedPortfolios implements PriceTickListener {
+
+    private final ValuationEngine valuationEngine;
+    private final Function<Collection<String>, Map<String, BigDecimal>> priceSource;
+    private final Cache<String, MaterializedPortfolio> portfolios;
+    private final Map<String, Set<MaterializedPortfolio>> holders = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Versioned<PortfolioDto>> builds = new SingleFlight<>();
+    private final Executor executor;
+    // Latest price per symbol not yet applied, and whether a drain of them is scheduled
+    private final Map<String, BigDecimal> pendingTicks = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final List<PriceTickListener> tickListeners = new CopyOnWriteArrayList<>();
+    private final PortfolioMetrics metrics;
+
+    /**
+     * @param priceSource Prices the given symbols; used to catch up on ticks missed while a
+     *                    portfolio was being built
+     * @param executor Applies ticks; at most one task is queued or running on it at a time
+     * @param metrics Counts the positions revalued by ticks, not those of catch-ups while building
+     */
+    MaterializedPortfolios(ValuationEngine valuationEngine,
+                           Function<Collection<String>, Map<String, BigDecimal>> priceSource,
+                           Executor executor, long maximumSize, Duration maxAge, PortfolioMetrics metrics) {
+        this.valuationEngine = valuationEngine;
+        this.priceSource = priceSource;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.portfolios = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(maxAge)
+            .executor(Runnable::run)
+            .removalListener(this::onRemoved)
+            .build();
+    }
+
+    /**
+     * Returns the account's materialized portfolio if it was built from the given version, or
+     * builds and materializes it from the loader otherwise.
+     *
+     * @param version Current OMS version of the account's positions
+     * @param loader Fetches and prices the account's positions; provider failures propagate
+     * @return The portfolio and the OMS version it was built from: that of the positions the loader
+     *         returned, which may be newer than {@code version}
+     */
+    Versioned<PortfolioDto> get(String accountId, String version, Supplier<PortfolioStream> loader) {
+        MaterializedPortfolio current = portfolios.getIfPresent(accountId);
+        if (current != null && current.version.equals(version)) {
+            return current.versioned();
+        }
+        // Callers that miss together share one build rather than each fetching and pricing the account
+        return builds.execute(accountId + '@' + version, () -> build(accountId, version, loader));
+    }
+
+    private Versioned<PortfolioDto> build(String accountId, String version, Supplier<PortfolioStream> loader) {
+        MaterializedPortfolio current = portfolios.getIfPresent(accountId);
+        if (current != null && current.version.equals(version)) {
+            // Built by a caller whose build completed just before this one started
+            return current.versioned();
+        }
+        PortfolioStream stream = loader.get();
+        MaterializedPortfolio built = new MaterializedPortfolio(stream);
+        if (stream.isStale()) {
+            return built.versioned();
+        }
+        index(built);
+        try {
+            // Ticks between pricing and indexing were missed; the price source has them
+            Map<String, BigDecimal> prices = priceSource.apply(built.rowsBySymbol.keySet());
+            prices.forEach(built::apply);
+        } catch (RuntimeException ex) {
+            unindex(built);
+            throw ex;
+        }
+        if (built.version != null) {
+            portfolios.put(accountId, built);
+        } else {
+            unindex(built);
+        }
+        return built.versioned();
+    }
+
+    /**
+     * Registers a listener called with each tick once it has been applied, on the executor.
+     * Ticks for symbols no portfolio holds are passed on as well.
+     */
+    void addTickListener(PriceTickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    @Override
+    public void onPriceTick(String symbol, BigDecimal price) {
+        if (price == null || (tickListeners.isEmpty() && !holders.containsKey(symbol))) {
+            return;
+        }
+        pendingTicks.put(symbol, price);
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            // Shutting down; the next tick tries again
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            for (String symbol : pendingTicks.keySet()) {
+                BigDecimal price = pendingTicks.remove(symbol);
+                Set<MaterializedPortfolio> affected = price == null ? null : holders.get(symbol);
+                if (affected != null) {
+                    int revalued = 0;
+                    for (MaterializedPortfolio portfolio : affected) {
+                        revalued += portfolio.apply(symbol, price);
+                    }
+                    metrics.revaluedPositions.increment(revalued);
+                }
+                if (price != null) {
+                    for (PriceTickListener listener : tickListeners) {
+                        listener.onPriceTick(symbol, price);
+                    }
+                }
+            }
+        } finally {
+            draining.set(false);
+            // A tick queued after the loop but before the flag was cleared found a drain still scheduled
+            if (!pendingTicks.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void onRemoved(String accountId, MaterializedPortfolio portfolio, RemovalCause cause) {
+        if (portfolio != null) {
+            unindex(portfolio);
+        }
+    }
+
+    private void index(MaterializedPortfolio portfolio) {
+        for (String symbol : portfolio.rowsBySymbol.keySet()) {
+            holders.compute(symbol, (key, set) -> {
+                Set<MaterializedPortfolio> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+                result.add(portfolio);
+                return result;
+            });
+        }
+    }
+
+    private void unindex(MaterializedPortfolio portfolio) {
+        for (String symbol : portfolio.rowsBySymbol.keySet()) {
+            holders.computeIfPresent(symbol, (key, set) -> {
+                set.remove(portfolio);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * One account's valued positions at one OMS version. Ticks revalue rows in place under the
+     * portfolio's lock and drop the published snapshot; the next reader publishes a new one, whose
+     * position list is a copy that is never modified.
+     */
+    private final class MaterializedPortfolio {
+
+        private final String accountId;
+        private final String version;
+        private final List<Position> positions;
+        private final Map<String, int[]> rowsBySymbol;
+        private final BigDecimal totalCostBasis;
+        private final String currency;
+        /** Oldest price the portfolio was built from; ticks only make prices newer */
+        private final Instant pricesAsOf;
+        private final boolean stale;
+
+        // Guarded by this
+        private final PositionDto[] valued;
+        private BigDecimal totalValue;
+        private PortfolioTotals totals;
+        private final TreeMap<Integer, Integer> valueScaleCounts = new TreeMap<>();
+
+        // Null once a tick changed the portfolio, until the next read
+        private volatile PortfolioDto snapshot;
+
+        MaterializedPortfolio(PortfolioStream stream) {
+            this.accountId = stream.getAccountId();
+            this.version = stream.getVersion();
+            this.positions = stream.positions();
+
+            List<PositionDto> rows = new ArrayList<>(positions.size());
+            PortfolioStream.Summary summary = stream.forEachPosition(rows::add);
+            this.valued = rows.toArray(new PositionDto[0]);
+            this.totalValue = summary.totals().totalValue();
+            this.totalCostBasis = summary.totals().totalCostBasis();
+            this.currency = summary.currency();
+            this.pricesAsOf = summary.pricesAsOf();
+            this.stale = summary.stale();
+
+            Map<String, List<Integer>> rowLists = new HashMap<>();
+            for (int row = 0; row < valued.length; row++) {
+                rowLists.computeIfAbsent(valued[row].symbol(), key -> new ArrayList<>(1)).add(row);
+                countScale(valued[row].positionValue(), 1);
+            }
+            this.rowsBySymbol = new HashMap<>(rowLists.size() * 2);
+            rowLists.forEach((symbol, list) -> rowsBySymbol.put(symbol, list.stream().mapToInt(Integer::intValue).toArray()));
+
+            this.totals = summary.totals();
+        }
+
+        /**
+         * @return Number of rows revalued
+         */
+        synchronized int apply(String symbol, BigDecimal price) {
+            int[] rows = rowsBySymbol.get(symbol);
+            if (rows == null || price == null || price.equals(valued[rows[0]].currentPrice())) {
+                return 0;
+            }
+            Instant now = Instant.now();
+            BigDecimal value = totalValue;
+            for (int row : rows) {
+                PositionDto revalued = valuationEngine.valuePosition(positions.get(row), price, now, false);
+                value = value.add(revalued.positionValue()).subtract(valued[row].positionValue());
+                countScale(valued[row].positionValue(), -1);
+                countScale(revalued.positionValue(), 1);
+                valued[row] = revalued;
+            }
+            // A full sum has the largest scale of its terms; differences may have left a larger one behind
+            int scale = valueScaleCounts.isEmpty() ? 0 : Math.max(0, valueScaleCounts.lastKey());
+            totalValue = value.setScale(scale, RoundingMode.UNNECESSARY);
+            totals = BigDecimalValuationEngine.totals(totalValue, totalCostBasis);
+            snapshot = null;
+            return rows.length;
+        }
+
+        PortfolioDto snapshot() {
+            PortfolioDto current = snapshot;
+            return current != null ? current : publish();
+        }
+
+        Versioned<PortfolioDto> versioned() {
+            return new Versioned<>(snapshot(), version);
+        }
+
+        private void countScale(BigDecimal value, int delta) {
+            valueScaleCounts.merge(value.scale(), delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+
+        private synchronized PortfolioDto publish() {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            snapshot = new PortfolioDto(
+                accountId,
+                totals.totalValue(),
+                totals.totalCostBasis(),
+                totals.totalUnrealizedGainLoss(),
+                totals.totalUnrealizedGainLossPercent(),
+                currency,
+                List.of(valued),
+                Instant.now(),
+                pricesAsOf,
+                stale
+            );
+            return snapshot;
+        }
+    }
+}
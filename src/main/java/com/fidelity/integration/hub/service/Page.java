@@ -0,0 +1,14 @@
+package com.fidelity.integration.hub.service;
+
+/**
+ * One page of a paginated result.
+ *
+ * @param content The page's items (or a document wrapping them, such as a portfolio)
+ * @param nextCursor Opaque cursor for the following page, or null on the last page
+ */
+public record Page<T>(T content, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque pagination cursors handed to clients.
+ *
+ * A cursor is the URL-safe Base64 form of a kind tag followed by the fields needed to resume,
+ * separated by '|'. The last field may itself contain '|'. Clients must treat cursors as opaque;
+ * the format can change between releases.
+ */
+final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private PageCursor() {
+    }
+
+    static String encode(String kind, String... fields) {
+        StringBuilder cursor = new StringBuilder(kind);
+        for (String field : fields) {
+            cursor.append(SEPARATOR).append(field);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The cursor's fields, without the kind tag
+     * @throws BadRequestException if the cursor is malformed or of another kind
+     */
+    static String[] decode(String cursor, String kind, int fieldCount) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+        String[] parts = decoded.split("\\" + SEPARATOR, fieldCount + 1);
+        if (parts.length != fieldCount + 1 || !parts[0].equals(kind)) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        String[] fields = new String[fieldCount];
+        System.arraycopy(parts, 1, fields, 0, fieldCount);
+        return fields;
+    }
+}
@@ -0,0 +1,401 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PortfolioUpdateDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live portfolio valuations pushed to subscribers as prices move.
+ *
+ * A price tick only records the symbol on the subscriptions holding it. Each subscription has at
+ * most one delivery queued or running on the feed executor, a small pool of its own; ticks arriving
+ * meanwhile are conflated into the next delivery, which reads the latest portfolio and compares
+ * only the rows of the symbols that ticked with what the subscriber last received. A slow
+ * subscriber therefore receives fewer, more recent updates instead of a growing backlog, and an
+ * idle one holds no thread. Ticks reach this feed once the portfolios {@link PortfolioService}
+ * returns reflect them.
+ *
+ * Position changes in the OMS arrive without a tick. A subscription that has been sent nothing for
+ * a heartbeat interval is re-checked, comparing every row, and sent a heartbeat if nothing changed.
+ * Each subscription's heartbeat has its own random phase, so re-checks are spread evenly over the
+ * interval rather than issued for every stream at once.
+ */
+@Service
+public class PortfolioFeed implements PriceTickListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioFeed.class);
+
+    private final PortfolioService portfolioService;
+    private final Executor executor;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscription>> subscriptionsBySymbol = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor heartbeat;
+    private final long heartbeatNanos;
+
+    public PortfolioFeed(PortfolioService portfolioService,
+                         @Qualifier("feedExecutor") Executor executor,
+                         IntegrationHubProperties properties) {
+        this.portfolioService = portfolioService;
+        this.executor = executor;
+        this.heartbeatNanos = Math.max(1, properties.getPortfolio().getLive().getHeartbeat().toNanos());
+        this.heartbeat = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "hub-portfolio-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Cancelled subscriptions leave the queue at once rather than at their next due time
+        heartbeat.setRemoveOnCancelPolicy(true);
+        portfolioService.addPortfolioTickListener(this);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    /**
+     * Subscribes to an account's live portfolio. The current portfolio is fetched and sent to the
+     * subscriber on the calling thread, so an unknown account or a provider failure is raised here
+     * and nothing is registered.
+     *
+     * @return Subscription to cancel once the subscriber goes away
+     * @throws IOException if the subscriber fails to receive the current portfolio
+     */
+    public Subscription subscribe(String accountId, Subscriber subscriber) throws IOException {
+        Versioned<PortfolioDto> portfolio = portfolioService.getPortfolioWithPositionsVersion(accountId);
+        Subscription subscription = new Subscription(accountId, subscriber, MDC.getCopyOfContextMap());
+        subscriber.onPortfolio(portfolio.content());
+        subscription.sent(portfolio);
+        subscription.index(symbolsOf(portfolio.content()));
+        subscriptions.add(subscription);
+        subscription.scheduleHeartbeat();
+        // Catch up on ticks that arrived before the subscription was indexed
+        subscription.recheck = true;
+        subscription.signal();
+        logger.debug("Live portfolio subscription opened for {} ({} open)", accountId, subscriptions.size());
+        return subscription;
+    }
+
+    int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void onPriceTick(String symbol, BigDecimal price) {
+        Set<Subscription> affected = subscriptionsBySymbol.get(symbol);
+        if (affected != null) {
+            for (Subscription subscription : affected) {
+                subscription.pendingSymbols.add(symbol);
+                subscription.signal();
+            }
+        }
+    }
+
+    private static Set<String> symbolsOf(PortfolioDto portfolio) {
+        Set<String> symbols = new HashSet<>();
+        for (PositionDto position : portfolio.positions()) {
+            symbols.add(position.symbol());
+        }
+        return symbols;
+    }
+
+    /**
+     * Receives a live portfolio. Calls for one subscription never overlap.
+     */
+    public interface Subscriber {
+
+        /** The whole portfolio: sent first, and again whenever its positions change in the OMS */
+        void onPortfolio(PortfolioDto portfolio) throws IOException;
+
+        /** Revalued totals and the positions of the symbols whose valuation changed */
+        void onUpdate(PortfolioUpdateDto update) throws IOException;
+
+        /** The portfolio could not be refreshed; the subscription stays open and retries */
+        void onError(RuntimeException failure) throws IOException;
+
+        /** Nothing changed during the last heartbeat interval */
+        void onHeartbeat() throws IOException;
+    }
+
+    /**
+     * One subscriber's view of one account.
+     */
+    public final class Subscription {
+
+        private final String accountId;
+        private final Subscriber subscriber;
+        private final Map<String, String> mdc;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Symbols that ticked since the last delivery
+        private final Set<String> pendingSymbols = ConcurrentHashMap.newKeySet();
+        private volatile boolean dirty;
+        // Compare every row on the next delivery, not only those of pending symbols
+        private volatile boolean recheck;
+        // The next delivery owes a heartbeat if it has nothing else to send
+        private volatile boolean heartbeatDue;
+        private volatile boolean cancelled;
+        private volatile long lastSentNanos = System.nanoTime();
+        private ScheduledFuture<?> heartbeatTask;
+
+        // Only touched by the single delivery in progress: what the subscriber last received
+        private String sentVersion;
+        private PositionDto[] sentRows;
+        private Map<String, int[]> rowsBySymbol;
+        private BigDecimal sentTotalValue;
+
+        // Guarded by this: a delivery re-indexes while cancel() may unindex
+        private Set<String> symbols = Set.of();
+
+        private Subscription(String accountId, Subscriber subscriber, Map<String, String> mdc) {
+            this.accountId = accountId;
+            this.subscriber = subscriber;
+            this.mdc = mdc;
+        }
+
+        /**
+         * Stops deliveries; a delivery already in progress completes.
+         */
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                subscriptions.remove(this);
+                index(Set.of());
+                synchronized (this) {
+                    if (heartbeatTask != null) {
+                        heartbeatTask.cancel(false);
+                    }
+                }
+                logger.debug("Live portfolio subscription closed for {}", accountId);
+            }
+        }
+
+        private synchronized void scheduleHeartbeat() {
+            if (!cancelled) {
+                long phase = ThreadLocalRandom.current().nextLong(heartbeatNanos);
+                heartbeatTask = heartbeat.scheduleAtFixedRate(this::onHeartbeat, phase, heartbeatNanos,
+                    TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void onHeartbeat() {
+            if (System.nanoTime() - lastSentNanos < heartbeatNanos) {
+                // Not idle: the last delivery re-checked the OMS version and kept the connection alive
+                return;
+            }
+            recheck = true;
+            heartbeatDue = true;
+            signal();
+        }
+
+        /**
+         * Requests a delivery, conflated with any delivery already queued.
+         */
+        private void signal() {
+            dirty = true;
+            if (!cancelled && scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                do {
+                    dirty = false;
+                    if (cancelled) {
+                        return;
+                    }
+                    deliver();
+                    scheduled.set(false);
+                    // A signal that found the delivery still scheduled left it to this loop
+                } while (dirty && !cancelled && scheduled.compareAndSet(false, true));
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        private void deliver() {
+            boolean compareAll = recheck;
+            recheck = false;
+            boolean owesHeartbeat = heartbeatDue;
+            heartbeatDue = false;
+            Set<String> ticked = new HashSet<>();
+            for (String symbol : pendingSymbols) {
+                if (pendingSymbols.remove(symbol)) {
+                    ticked.add(symbol);
+                }
+            }
+            try {
+                Versioned<PortfolioDto> current;
+                try {
+                    current = portfolioService.getPortfolioWithPositionsVersion(accountId);
+                } catch (RuntimeException ex) {
+                    subscriber.onError(ex);
+                    lastSentNanos = System.nanoTime();
+                    return;
+                }
+                if (positionsChanged(current)) {
+                    subscriber.onPortfolio(current.content());
+                    sent(current);
+                    index(symbolsOf(current.content()));
+                } else {
+                    PortfolioUpdateDto update = update(current.content(), compareAll ? rowsBySymbol.keySet() : ticked);
+                    if (update != null) {
+                        subscriber.onUpdate(update);
+                    } else if (owesHeartbeat) {
+                        subscriber.onHeartbeat();
+                    } else {
+                        return;
+                    }
+                }
+                lastSentNanos = System.nanoTime();
+            } catch (IOException | RuntimeException ex) {
+                logger.debug("Live portfolio subscriber for {} failed; cancelling", accountId, ex);
+                cancel();
+            }
+        }
+
+        /**
+         * Records a whole portfolio as sent, indexing its rows by symbol.
+         */
+        private void sent(Versioned<PortfolioDto> portfolio) {
+            sentVersion = portfolio.version();
+            sentRows = portfolio.content().positions().toArray(new PositionDto[0]);
+            sentTotalValue = portfolio.content().totalValue();
+            Map<String, List<Integer>> rowLists = new HashMap<>();
+            for (int row = 0; row < sentRows.length; row++) {
+                rowLists.computeIfAbsent(sentRows[row].symbol(), key -> new ArrayList<>(1)).add(row);
+            }
+            rowsBySymbol = new HashMap<>(rowLists.size() * 2);
+            rowLists.forEach((symbol, list) -> rowsBySymbol.put(symbol, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        /**
+         * Whether the positions held differ from those last sent. Compares OMS versions when both
+         * are known, and otherwise every row.
+         */
+        private boolean positionsChanged(Versioned<PortfolioDto> current) {
+            if (sentVersion != null && current.version() != null) {
+                return !sentVersion.equals(current.version());
+            }
+            return current.content().positions().size() != sentRows.length || !samePositions(sentRows, current.content());
+        }
+
+        /**
+         * Totals and every position of each of the symbols with a changed row, or null if nothing
+         * changed. Only the rows of the given symbols are compared, and recorded as sent.
+         */
+        private PortfolioUpdateDto update(PortfolioDto current, Set<String> candidates) {
+            List<PositionDto> after = current.positions();
+            int[] changedRows = new int[0];
+            int changedCount = 0;
+            for (String symbol : candidates) {
+                int[] rows = rowsBySymbol.get(symbol);
+                if (rows == null || !rowsChanged(rows, after)) {
+                    continue;
+                }
+                if (changedCount + rows.length > changedRows.length) {
+                    changedRows = Arrays.copyOf(changedRows, Math.max(changedCount + rows.length, changedRows.length * 2));
+                }
+                for (int row : rows) {
+                    sentRows[row] = after.get(row);
+                    changedRows[changedCount++] = row;
+                }
+            }
+            if (changedCount == 0 && Objects.equals(sentTotalValue, current.totalValue())) {
+                return null;
+            }
+            sentTotalValue = current.totalValue();
+            // Rows in portfolio order, as in the whole portfolio
+            Arrays.sort(changedRows, 0, changedCount);
+            List<PositionDto> changed = new ArrayList<>(changedCount);
+            for (int i = 0; i < changedCount; i++) {
+                changed.add(sentRows[changedRows[i]]);
+            }
+            return new PortfolioUpdateDto(
+                current.accountId(),
+                current.totalValue(),
+                current.totalCostBasis(),
+                current.totalUnrealizedGainLoss(),
+                current.totalUnrealizedGainLossPercent(),
+                current.currency(),
+                changed,
+                current.asOfDate()
+            );
+        }
+
+        private boolean rowsChanged(int[] rows, List<PositionDto> after) {
+            for (int row : rows) {
+                if (!Objects.equals(sentRows[row], after.get(row))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized void index(Set<String> next) {
+            for (String symbol : symbols) {
+                if (!next.contains(symbol)) {
+                    subscriptionsBySymbol.computeIfPresent(symbol, (key, set) -> {
+                        set.remove(this);
+                        return set.isEmpty() ? null : set;
+                    });
+                }
+            }
+            if (!cancelled) {
+                for (String symbol : next) {
+                    subscriptionsBySymbol.compute(symbol, (key, set) -> {
+                        Set<Subscription> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+                        result.add(this);
+                        return result;
+                    });
+                }
+            }
+            symbols = next;
+        }
+    }
+
+    /**
+     * Same positions held, row for row, whatever their valuation.
+     */
+    private static boolean samePositions(PositionDto[] before, PortfolioDto current) {
+        List<PositionDto> after = current.positions();
+        for (int row = 0; row < after.size(); row++) {
+            PositionDto a = before[row];
+            PositionDto b = after.get(row);
+            if (!Objects.equals(a.symbol(), b.symbol()) || !Objects.equals(a.quantity(), b.quantity())
+                || !Objects.equals(a.costBasis(), b.costBasis())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
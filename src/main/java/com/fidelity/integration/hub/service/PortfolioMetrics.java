@@ -0,0 +1,90 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.timing.RequestTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the portfolio pipeline: one timer per stage under {@code hub.portfolio.stage}, with a
+ * percentile histogram, the number of positions valued per request, the number of materialized
+ * positions revalued by ticks and the number of symbols priced from last known prices. Stage
+ * durations are also
+ * added to the current request's {@link RequestTiming} for its Server-Timing header.
+ */
+final class PortfolioMetrics {
+
+    /** Meters that record nothing, for portfolios valued outside a service */
+    static final PortfolioMetrics NONE = new PortfolioMetrics(new CompositeMeterRegistry());
+
+    /** Composite OMS call for the account header and positions */
+    final StageTimer snapshot;
+    /** OMS version check in front of the materialized view */
+    final StageTimer version;
+    /** Vendor prices for the distinct symbols, all batches */
+    final StageTimer pricing;
+    /** Valuing every position and handing it on (for streamed responses, writing it out) */
+    final StageTimer valuation;
+    /** Positions priced and valued to answer one request, recorded once per request by the service */
+    final DistributionSummary enrichedPositions;
+    /** Materialized positions revalued by price ticks, outside any request */
+    final Counter revaluedPositions;
+    /** Symbols priced from last known prices because the vendor missed its deadline */
+    final Counter stalePrices;
+
+    PortfolioMetrics(MeterRegistry registry) {
+        this.snapshot = new StageTimer(registry, "snapshot", RequestTiming.Stage.OMS);
+        this.version = new StageTimer(registry, "version", RequestTiming.Stage.OMS_VERSION);
+        this.pricing = new StageTimer(registry, "pricing", RequestTiming.Stage.PRICES);
+        this.valuation = new StageTimer(registry, "valuation", RequestTiming.Stage.AGGREGATE);
+        this.enrichedPositions = DistributionSummary.builder("hub.portfolio.positions.enriched")
+            .description("Positions priced and valued per portfolio request")
+            .baseUnit("positions")
+            .register(registry);
+        this.revaluedPositions = Counter.builder("hub.portfolio.positions.revalued")
+            .description("Materialized positions revalued by price ticks")
+            .baseUnit("positions")
+            .register(registry);
+        this.stalePrices = Counter.builder("hub.portfolio.prices.stale")
+            .description("Symbols priced from last known prices because the vendor missed its deadline")
+            .baseUnit("symbols")
+            .register(registry);
+    }
+
+    /**
+     * One stage, recorded both as a meter and as a Server-Timing stage of the current request.
+     */
+    static final class StageTimer {
+
+        private final Timer timer;
+        private final RequestTiming.Stage stage;
+
+        private StageTimer(MeterRegistry registry, String name, RequestTiming.Stage stage) {
+            this.timer = Timer.builder("hub.portfolio.stage")
+                .description("Time spent in each stage of building a portfolio")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(registry);
+            this.stage = stage;
+        }
+
+        <T> T record(Supplier<T> call) {
+            long start = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                record(System.nanoTime() - start);
+            }
+        }
+
+        void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            RequestTiming.record(stage, nanos);
+        }
+    }
+}
@@ -1,111 +1,687 @@
 package com.fidelity.integration.hub.service;
 
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
 import com.fidelity.integration.hub.model.dto.PortfolioDto;
 import com.fidelity.integration.hub.model.dto.PositionDto;
 import com.fidelity.integration.hub.adapter.OmsAdapter;
 import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.exception.BadRequestException;
+import com.fidelity.integration.hub.exception.ProviderException;
 import com.fidelity.integration.hub.exception.ResourceNotFoundException;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 /**
  * Service for portfolio aggregation and orchestration.
  * Combines data from OMS adapter (positions) and MarketData adapter (prices/valuations).
+ *
+ * The account header and positions come from a single composite OMS call. Provider calls fan out
+ * on the integration executor: symbols are priced in vendor-sized batches requested concurrently.
+ * Each provider stage waits at most its configured timeout, so latency tracks the slowest
+ * dependency rather than the sum of all calls. Setting
+ * {@code integration.hub.portfolio.parallel-fan-out=false} restores the serial path. Valuation
+ * math is delegated to the configured {@link ValuationEngine}.
+ *
+ * Whole portfolios are materialized per OMS version and kept current by the vendor's price ticks
+ * ({@code integration.hub.portfolio.materialized-view}), so a repeated read costs one OMS version
+ * check instead of a snapshot fetch, pricing and valuation. This needs an OMS that reports versions
+ * without sending positions; with any other, each read makes the one snapshot call.
+ *
+ * When the vendor has not priced every symbol within {@code integration.hub.vendor.fallback.deadline},
+ * or fails, the missing symbols are priced from the last prices received for them and the
+ * portfolio is flagged stale with the age of its prices. The vendor call carries on in the
+ * background and its prices replace the last known ones when they arrive. Stale portfolios are
+ * neither materialized nor cached.
+ *
+ * Each stage (OMS snapshot, OMS version check, pricing, valuation) is timed under
+ * {@code hub.portfolio.stage}, and the positions valued per request are recorded under
+ * {@code hub.portfolio.positions.enriched}.
  */
 @Service
 public class PortfolioService {
 
+    private static final String POSITION_CURSOR = "p1";
+
     private final OmsAdapter omsAdapter;
     private final MarketDataVendorAdapter marketDataAdapter;
+    private final Executor executor;
+    private final Executor batchExecutor;
+    private final IntegrationHubProperties properties;
+    private final ValuationEngine valuationEngine;
+    private final Cache<String, PortfolioStream.Summary> totalsCache;
+    private final MaterializedPortfolios materializedPortfolios;
+    private final LastKnownPrices lastKnownPrices;
+    private final PortfolioMetrics metrics;
 
-    public PortfolioService(OmsAdapter omsAdapter, MarketDataVendorAdapter marketDataAdapter) {
+    public PortfolioService(OmsAdapter omsAdapter,
+                            MarketDataVendorAdapter marketDataAdapter,
+                            @Qualifier("integrationExecutor") Executor executor,
+                            @Qualifier("batchExecutor") Executor batchExecutor,
+                            IntegrationHubProperties properties,
+                            ValuationEngine valuationEngine,
+                            MeterRegistry meterRegistry) {
         this.omsAdapter = omsAdapter;
         this.marketDataAdapter = marketDataAdapter;
+        this.executor = executor;
+        this.batchExecutor = batchExecutor;
+        this.properties = properties;
+        this.valuationEngine = valuationEngine;
+        this.metrics = new PortfolioMetrics(meterRegistry);
+        this.totalsCache = Caffeine.newBuilder()
+            .maximumSize(properties.getPortfolio().getTotalsCache().getMaximumSize())
+            .expireAfterWrite(properties.getPortfolio().getTotalsCache().getTtl())
+            .build();
+        IntegrationHubProperties.PriceFallback fallback = properties.getVendor().getFallback();
+        if (fallback.isEnabled()) {
+            this.lastKnownPrices = new LastKnownPrices(fallback.getMaximumSize(), fallback.getMaxAge());
+            marketDataAdapter.addPriceTickListener(lastKnownPrices);
+        } else {
+            this.lastKnownPrices = null;
+        }
+        IntegrationHubProperties.MaterializedView view = properties.getPortfolio().getMaterializedView();
+        if (view.isEnabled()) {
+            this.materializedPortfolios = new MaterializedPortfolios(valuationEngine, this::fetchFreshPrices,
+                executor, view.getMaximumSize(), view.getMaxAge(), metrics);
+            marketDataAdapter.addPriceTickListener(materializedPortfolios);
+        } else {
+            this.materializedPortfolios = null;
+        }
     }
 
     /**
      * Retrieves portfolio information for an account.
      * Aggregates positions from OMS and enriches with market data.
-     * 
+     *
      * @param accountId Account identifier
      * @return Portfolio DTO with positions and valuations
      */
     public PortfolioDto getPortfolioByAccount(String accountId) {
-        // Validate account exists (distinguish \"no positions\" from \"unknown account\")
-        // In production, this would likely be a dedicated OMS call with proper caching/retries.
-        if (omsAdapter.getAccountById(accountId) == null) {
-            throw new ResourceNotFoundException("Account not found: " + accountId);
+        return valuePortfolio(accountId, null).content();
+    }
+
+    /**
+     * Same as {@link #getPortfolioByAccount(String)}, together with the portfolio's version token.
+     * The token comes from the OMS version the portfolio was read at, so no extra OMS call is made.
+     *
+     * @param accountId Account identifier
+     * @return Portfolio DTO and its version token
+     */
+    public Versioned<PortfolioDto> getVersionedPortfolio(String accountId) {
+        return getVersionedPortfolio(accountId, null);
+    }
+
+    /**
+     * Same as {@link #getVersionedPortfolio(String)}, reusing the OMS version read by a conditional
+     * check that did not match, so the account's version is not fetched twice.
+     *
+     * @param checked Version returned by {@link #getPortfolioVersion(String)} for this request, or null
+     */
+    public Versioned<PortfolioDto> getVersionedPortfolio(String accountId, PortfolioVersion checked) {
+        // Read the epoch first: prices that change after this point yield a newer token next time
+        long priceEpoch = marketDataAdapter.getPriceEpoch();
+        Versioned<PortfolioDto> portfolio = valuePortfolio(accountId, checked == null ? null : checked.accountVersion());
+        return new Versioned<>(portfolio.content(),
+            portfolioVersion(portfolio.version(), priceEpoch, portfolio.content().stale()));
+    }
+
+    /**
+     * Same as {@link #getPortfolioByAccount(String)}, together with the OMS version of its
+     * positions, for callers that need to tell a change of positions from a change of prices.
+     *
+     * @return Portfolio DTO, and the OMS version of its positions or null if the OMS has none
+     */
+    Versioned<PortfolioDto> getPortfolioWithPositionsVersion(String accountId) {
+        return valuePortfolio(accountId, null);
+    }
+
+    /**
+     * Registers a listener for price ticks, called once the tick shows in the portfolios this
+     * service returns: after the materialized portfolios have applied it, if they are enabled.
+     */
+    void addPortfolioTickListener(PriceTickListener listener) {
+        if (materializedPortfolios != null) {
+            materializedPortfolios.addTickListener(listener);
+        } else {
+            marketDataAdapter.addPriceTickListener(listener);
         }
+    }
+
+    /**
+     * Values the account's portfolio, recording the positions valued for this request: none when
+     * the materialized portfolio is current.
+     *
+     * @param accountVersion OMS version already read for this request, or null to read it here
+     */
+    private Versioned<PortfolioDto> valuePortfolio(String accountId, String accountVersion) {
+        if (materializedPortfolios != null && omsAdapter.hasAccountVersions()) {
+            String version = accountVersion != null ? accountVersion : fetchAccountVersion(accountId);
+            if (version != null) {
+                return materializedPortfolio(accountId, version);
+            }
+            // Unknown account: the snapshot reports it
+        }
+        // Without cheap OMS versions a version check would only add a round trip
+        AccountSnapshot snapshot = fetchSnapshot(accountId);
+        PortfolioStream portfolio = price(accountId, snapshot.getVersion(), snapshot.getPositions());
+
+        // Enrich with market data and calculate portfolio-level totals in one pass
+        List<PositionDto> enrichedPositions = new ArrayList<>(portfolio.getPositionCount());
+        PortfolioStream.Summary summary = portfolio.forEachPosition(enrichedPositions::add);
+        metrics.enrichedPositions.record(enrichedPositions.size());
 
-        // Fetch positions from OMS
-        List<com.fidelity.integration.hub.adapter.domain.Position> positions = omsAdapter.getPositionsByAccount(accountId);
-
-        // Enrich with market data
-        List<PositionDto> enrichedPositions = positions.stream()
-            .map(position -> enrichPosition(position))
-            .collect(Collectors.toList());
-        
-        // Calculate portfolio-level totals
-        BigDecimal totalValue = enrichedPositions.stream()
-            .map(PositionDto::positionValue)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalCostBasis = enrichedPositions.stream()
-            .map(PositionDto::totalCostBasis)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        BigDecimal totalUnrealizedGainLoss = totalValue.subtract(totalCostBasis);
-        BigDecimal totalUnrealizedGainLossPercent = totalCostBasis.compareTo(BigDecimal.ZERO) > 0
-            ? totalUnrealizedGainLoss.divide(totalCostBasis, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-            : BigDecimal.ZERO;
-        
-        // Determine currency (assuming all positions use same currency - in production, handle multi-currency)
-        String currency = enrichedPositions.isEmpty() ? "USD" : enrichedPositions.get(0).currency();
-        
-        return new PortfolioDto(
+        return new Versioned<>(new PortfolioDto(
             accountId,
-            totalValue,
-            totalCostBasis,
-            totalUnrealizedGainLoss,
-            totalUnrealizedGainLossPercent,
-            currency,
+            summary.totals().totalValue(),
+            summary.totals().totalCostBasis(),
+            summary.totals().totalUnrealizedGainLoss(),
+            summary.totals().totalUnrealizedGainLossPercent(),
+            summary.currency(),
             enrichedPositions,
-            Instant.now()
-        );
-    }
-
-    /**
-     * Enriches a position with current market data.
-     */
-    private PositionDto enrichPosition(com.fidelity.integration.hub.adapter.domain.Position position) {
-        // Fetch current market price for the instrument
-        BigDecimal currentPrice = marketDataAdapter.getCurrentPrice(position.getSymbol());
-        
-        // Calculate derived values
-        BigDecimal positionValue = position.getQuantity().multiply(currentPrice);
-        BigDecimal totalCostBasis = position.getQuantity().multiply(position.getCostBasisPerShare());
-        BigDecimal unrealizedGainLoss = positionValue.subtract(totalCostBasis);
-        BigDecimal unrealizedGainLossPercent = position.getCostBasisPerShare().compareTo(BigDecimal.ZERO) > 0
-            ? unrealizedGainLoss.divide(totalCostBasis, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
-            : BigDecimal.ZERO;
-        
-        return new PositionDto(
-            position.getSymbol(),
-            position.getInstrumentName(),
-            position.getAssetClass(),
-            position.getQuantity(),
-            currentPrice,
-            positionValue,
-            position.getCostBasisPerShare(),
-            totalCostBasis,
-            unrealizedGainLoss,
-            unrealizedGainLossPercent,
-            position.getCurrency()
-        );
+            Instant.now(),
+            summary.pricesAsOf(),
+            summary.stale()
+        ), snapshot.getVersion());
+    }
+
+    /**
+     * Returns the materialized portfolio of the given version, building it from a snapshot on a
+     * miss. The result carries the version of the snapshot it was built from.
+     */
+    private Versioned<PortfolioDto> materializedPortfolio(String accountId, String version) {
+        int[] valued = {0};
+        Versioned<PortfolioDto> portfolio = materializedPortfolios.get(accountId, version, () -> {
+            AccountSnapshot snapshot = fetchSnapshot(accountId);
+            valued[0] = snapshot.getPositions().size();
+            return price(accountId, snapshot.getVersion(), snapshot.getPositions());
+        });
+        metrics.enrichedPositions.record(valued[0]);
+        return portfolio;
+    }
+
+    /**
+     * Fetches an account's positions and prices without valuing them, so the caller can write each
+     * position out as soon as it is valued. Every provider failure, an unknown account or a missing
+     * price is raised here, before anything has been written.
+     *
+     * @param accountId Account identifier
+     * @return Positions ready to be valued one at a time, and their version token
+     */
+    public Versioned<PortfolioStream> openPortfolio(String accountId) {
+        long priceEpoch = marketDataAdapter.getPriceEpoch();
+        AccountSnapshot snapshot = fetchSnapshot(accountId);
+        PortfolioStream portfolio = price(accountId, snapshot.getVersion(), snapshot.getPositions());
+        // Every position is valued as the caller writes it out
+        metrics.enrichedPositions.record(portfolio.getPositionCount());
+        return new Versioned<>(portfolio, portfolioVersion(snapshot.getVersion(), priceEpoch, portfolio.isStale()));
+    }
+
+    /**
+     * Retrieves one page of an account's positions, in OMS order.
+     *
+     * The portfolio-level totals always cover the whole account, and come from the same prices as
+     * the page. Totals are cached per account snapshot version and price epoch: a page that finds
+     * them prices and values only its own positions, at the very prices the totals were computed
+     * from; otherwise one pass prices and values the whole account, keeping the page's positions
+     * and caching the totals. Paging through a large account thus values every position about once
+     * rather than once per page. The cursor is tied to the snapshot version: once the account's
+     * positions change, clients must restart from the first page.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of positions on the page
+     * @return Portfolio holding the page's positions and whole-account totals, and its version token
+     * @throws BadRequestException if the cursor is invalid, belongs to another account or is stale
+     */
+    public Versioned<Page<PortfolioDto>> getPortfolioPage(String accountId, String cursor, int limit) {
+        // Read the epoch first: prices that change after this point are cached under a newer key
+        long priceEpoch = marketDataAdapter.getPriceEpoch();
+        AccountSnapshot snapshot = fetchSnapshot(accountId);
+        List<com.fidelity.integration.hub.adapter.domain.Position> positions = snapshot.getPositions();
+        String version = String.valueOf(snapshot.getVersion());
+
+        int offset = 0;
+        if (cursor != null) {
+            String[] fields = PageCursor.decode(cursor, POSITION_CURSOR, 3);
+            if (!fields[0].equals(accountId)) {
+                throw new BadRequestException("Cursor belongs to another account");
+            }
+            if (!fields[2].equals(version)) {
+                throw new BadRequestException("Positions changed since the cursor was issued; restart from the first page");
+            }
+            offset = parseOffset(fields[1], positions.size());
+        }
+        int end = (int) Math.min(positions.size(), (long) offset + limit);
+
+        String totalsKey = priceEpoch == MarketDataVendorAdapter.UNKNOWN_PRICE_EPOCH
+            ? null
+            : accountId + '@' + version + '@' + Long.toHexString(priceEpoch);
+        PortfolioStream.Summary summary = totalsKey == null ? null : totalsCache.getIfPresent(totalsKey);
+        List<PositionDto> page = new ArrayList<>(end - offset);
+        Instant pricesAsOf;
+        boolean stale;
+        if (summary != null) {
+            PortfolioStream.Summary pageSummary = price(accountId, null, positions.subList(offset, end))
+                .forEachPosition(page::add);
+            metrics.enrichedPositions.record(end - offset);
+            pricesAsOf = summary.pricesAsOf().isBefore(pageSummary.pricesAsOf())
+                ? summary.pricesAsOf()
+                : pageSummary.pricesAsOf();
+            stale = summary.stale() || pageSummary.stale();
+        } else {
+            summary = valueAccountKeepingPage(accountId, version, positions, offset, end, page);
+            metrics.enrichedPositions.record(positions.size());
+            if (totalsKey != null && !summary.stale()) {
+                totalsCache.put(totalsKey, summary);
+            }
+            pricesAsOf = summary.pricesAsOf();
+            stale = summary.stale();
+        }
+
+        String nextCursor = end < positions.size()
+            ? PageCursor.encode(POSITION_CURSOR, accountId, Integer.toString(end), version)
+            : null;
+        return new Versioned<>(new Page<>(new PortfolioDto(
+            accountId,
+            summary.totals().totalValue(),
+            summary.totals().totalCostBasis(),
+            summary.totals().totalUnrealizedGainLoss(),
+            summary.totals().totalUnrealizedGainLossPercent(),
+            summary.currency(),
+            page,
+            Instant.now(),
+            pricesAsOf,
+            stale
+        ), nextCursor), portfolioVersion(snapshot.getVersion(), priceEpoch, stale));
+    }
+
+    /**
+     * Prices and values every position of the account in one pass, adding those in
+     * {@code [from, to)} to the page.
+     */
+    private PortfolioStream.Summary valueAccountKeepingPage(String accountId, String version,
+                                                            List<com.fidelity.integration.hub.adapter.domain.Position> positions,
+                                                            int from, int to, List<PositionDto> page) {
+        int[] row = {0};
+        return price(accountId, version, positions).forEachPosition(position -> {
+            int current = row[0]++;
+            if (current >= from && current < to) {
+                page.add(position);
+            }
+        });
+    }
+
+    /**
+     * Returns a token that changes whenever the account's portfolio may have changed: the OMS
+     * version of its positions combined with the price epoch. It is the token of a fresh
+     * portfolio, so a client holding a response priced from last known prices never matches it.
+     * Nothing is priced or valued and no positions are transferred, so callers can answer
+     * conditional requests cheaply.
+     *
+     * @param accountId Account identifier
+     * @return Version token and the OMS version it was derived from, or null if the account is
+     *         unknown, the OMS cannot report versions cheaply or the price source cannot tell when
+     *         its prices change
+     */
+    public PortfolioVersion getPortfolioVersion(String accountId) {
+        // Read the epoch first: a price change after this point yields a newer token next time
+        long priceEpoch = marketDataAdapter.getPriceEpoch();
+        if (priceEpoch == MarketDataVendorAdapter.UNKNOWN_PRICE_EPOCH || !omsAdapter.hasAccountVersions()) {
+            return null;
+        }
+        String accountVersion = fetchAccountVersion(accountId);
+        return accountVersion == null
+            ? null
+            : new PortfolioVersion(portfolioVersion(accountVersion, priceEpoch, false), accountVersion);
+    }
+
+    /**
+     * Version token of a portfolio valued at the given OMS version and price epoch. A portfolio
+     * priced from last known prices also carries the number of times they have been served, read
+     * after it was priced, so its token is unique: it never matches the token of a fresh portfolio,
+     * nor a later conditional request. Fresh portfolios of other accounts are unaffected.
+     */
+    private String portfolioVersion(String accountVersion, long priceEpoch, boolean stale) {
+        if (accountVersion == null || priceEpoch == MarketDataVendorAdapter.UNKNOWN_PRICE_EPOCH) {
+            return null;
+        }
+        String version = accountVersion + '.' + Long.toHexString(priceEpoch);
+        return stale && lastKnownPrices != null
+            ? version + '.' + Long.toHexString(lastKnownPrices.getGeneration())
+            : version;
+    }
+
+    /**
+     * Computes portfolios for several accounts concurrently and hands each one to the handler as
+     * soon as it is ready, in completion order. Failures are reported per account instead of
+     * failing the batch. At most {@code integration.hub.portfolio.batch-concurrency} accounts of
+     * the request are in flight at once. Accounts run on the batch executor, whose fixed pool of
+     * {@code batch-threads} caps the accounts in flight across all batch requests, and never on the
+     * fan-out executor their own provider calls need.
+     *
+     * @param accountIds Account identifiers; duplicates are computed once
+     * @param handler Receives each account's portfolio or failure, on the calling thread
+     * @throws IOException if the handler fails; accounts not yet started are abandoned
+     */
+    public void getPortfolios(Collection<String> accountIds, BatchResultHandler handler) throws IOException {
+        Iterator<String> pending = new LinkedHashSet<>(accountIds).iterator();
+        BlockingQueue<BatchResult> completed = new LinkedBlockingQueue<>();
+        int concurrency = Math.max(1, properties.getPortfolio().getBatchConcurrency());
+        int inFlight = 0;
+        while (inFlight < concurrency && pending.hasNext()) {
+            submitBatchItem(pending.next(), completed);
+            inFlight++;
+        }
+        while (inFlight > 0) {
+            BatchResult result;
+            try {
+                result = completed.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ProviderException("Interrupted while waiting for batch portfolios", ex);
+            }
+            inFlight--;
+            if (pending.hasNext()) {
+                submitBatchItem(pending.next(), completed);
+                inFlight++;
+            }
+            handler.onResult(result.accountId(), result.portfolio(), result.failure());
+        }
+    }
+
+    private void submitBatchItem(String accountId, BlockingQueue<BatchResult> completed) {
+        supplyAsync(() -> getPortfolioByAccount(accountId), batchExecutor).whenComplete((portfolio, ex) -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            RuntimeException failure = cause == null || cause instanceof RuntimeException
+                ? (RuntimeException) cause
+                : new ProviderException("Failed to compute portfolio for " + accountId, cause);
+            completed.add(new BatchResult(accountId, portfolio, failure));
+        });
+    }
+
+    /**
+     * Receives the outcome of one account of a batch.
+     */
+    @FunctionalInterface
+    public interface BatchResultHandler {
+
+        /**
+         * @param portfolio The account's portfolio, or null if it failed
+         * @param failure Why the portfolio could not be computed, or null on success
+         */
+        void onResult(String accountId, PortfolioDto portfolio, RuntimeException failure) throws IOException;
+    }
+
+    private record BatchResult(String accountId, PortfolioDto portfolio, RuntimeException failure) {
+    }
+
+    /**
+     * Fetches the account header and positions in one OMS round trip
+     * (distinguishes "no positions" from "unknown account").
+     */
+    private AccountSnapshot fetchSnapshot(String accountId) {
+        return metrics.snapshot.record(() -> requestSnapshot(accountId));
+    }
+
+    private AccountSnapshot requestSnapshot(String accountId) {
+        if (properties.getPortfolio().isParallelFanOut()) {
+            long omsDeadline = System.nanoTime() + properties.getOms().getTimeout().toNanos();
+            CompletableFuture<AccountSnapshot> snapshotFuture = supplyAsync(() -> omsAdapter.getAccountSnapshot(accountId));
+            return requireAccount(accountId, await(snapshotFuture, omsDeadline, "OMS account snapshot for " + accountId));
+        }
+        return requireAccount(accountId, omsAdapter.getAccountSnapshot(accountId));
+    }
+
+    /**
+     * Reads the OMS version of the account's positions without fetching them.
+     *
+     * @return Version token, or null if the account is unknown or the OMS does not version accounts
+     */
+    private String fetchAccountVersion(String accountId) {
+        return metrics.version.record(() -> requestAccountVersion(accountId));
+    }
+
+    private String requestAccountVersion(String accountId) {
+        if (properties.getPortfolio().isParallelFanOut()) {
+            long omsDeadline = System.nanoTime() + properties.getOms().getTimeout().toNanos();
+            return await(supplyAsync(() -> omsAdapter.getAccountVersion(accountId)), omsDeadline,
+                "OMS account version for " + accountId);
+        }
+        return omsAdapter.getAccountVersion(accountId);
+    }
+
+    /**
+     * Prices every distinct symbol of the positions and checks that none is missing.
+     * Symbols are told apart by their dictionary id, and each is looked up in the vendor's
+     * response once; positions are then priced by slot.
+     *
+     * @param version OMS version of the positions, or null if they are only part of the account
+     */
+    private PortfolioStream price(String accountId, String version,
+                                  List<com.fidelity.integration.hub.adapter.domain.Position> positions) {
+        SymbolSlots slots = SymbolSlots.of(positions);
+        PriceQuotes quotes = fetchPrices(slots.symbols(), lastKnownPrices != null);
+        return new PortfolioStream(accountId, version, positions, slots, quotes, valuationEngine, metrics);
+    }
+
+    /**
+     * Prices the symbols with the vendor only, never from last known prices.
+     */
+    private Map<String, BigDecimal> fetchFreshPrices(Collection<String> symbols) {
+        return fetchPrices(symbols, false).prices();
+    }
+
+    /**
+     * Prices the symbols in concurrent batches or (serial path) a single vendor round trip.
+     *
+     * @param symbols Distinct symbols
+     * @param allowStale Price symbols the vendor misses from last known prices
+     */
+    private PriceQuotes fetchPrices(Collection<String> symbols, boolean allowStale) {
+        if (symbols.isEmpty()) {
+            return PriceQuotes.fresh(Map.of(), Instant.now());
+        }
+        return metrics.pricing.record(() -> properties.getPortfolio().isParallelFanOut()
+            ? fetchPricesConcurrently(symbols, allowStale)
+            : fetchPricesSerially(symbols, allowStale));
+    }
+
+    private PriceQuotes fetchPricesSerially(Collection<String> symbols, boolean allowStale) {
+        Map<String, BigDecimal> prices;
+        try {
+            prices = marketDataAdapter.getCurrentPrices(symbols);
+        } catch (RuntimeException ex) {
+            PriceQuotes lastKnown = allowStale ? withLastKnownPrices(Map.of(), symbols) : null;
+            if (lastKnown == null) {
+                throw ex;
+            }
+            return lastKnown;
+        }
+        Instant receivedAt = Instant.now();
+        if (lastKnownPrices != null) {
+            lastKnownPrices.record(prices, receivedAt);
+        }
+        return PriceQuotes.fresh(prices, receivedAt);
+    }
+
+    private static int parseOffset(String offset, int positionCount) {
+        try {
+            int parsed = Integer.parseInt(offset);
+            if (parsed >= 0 && parsed <= positionCount) {
+                return parsed;
+            }
+        } catch (NumberFormatException ex) {
+            // Reported below
+        }
+        throw new BadRequestException("Invalid cursor");
+    }
+
+    private static AccountSnapshot requireAccount(String accountId, AccountSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Prices the symbols in vendor-sized batches requested concurrently, waiting at most the vendor timeout.
+     *
+     * When stale prices are allowed, batches still outstanding at the fallback deadline, or failed,
+     * are priced from last known prices; the outstanding ones keep running and refresh those
+     * prices when they complete. Without a last known price for every missing symbol, the
+     * remaining batches are awaited up to the vendor timeout as usual.
+     */
+    private PriceQuotes fetchPricesConcurrently(Collection<String> symbols, boolean allowStale) {
+        long start = System.nanoTime();
+        long vendorDeadline = start + properties.getVendor().getTimeout().toNanos();
+        long fallbackDeadline = allowStale
+            ? Math.min(vendorDeadline, start + properties.getVendor().getFallback().getDeadline().toNanos())
+            : vendorDeadline;
+        List<PriceBatch> batches = requestPrices(symbols);
+        Map<String, BigDecimal> prices = new HashMap<>();
+        List<PriceBatch> missed = new ArrayList<>();
+        try {
+            for (PriceBatch batch : batches) {
+                try {
+                    prices.putAll(await(batch.prices(), fallbackDeadline, "market data prices"));
+                } catch (RuntimeException ex) {
+                    if (!allowStale) {
+                        throw ex;
+                    }
+                    missed.add(batch);
+                }
+            }
+            if (missed.isEmpty()) {
+                return PriceQuotes.fresh(prices, Instant.now());
+            }
+
+            List<String> missing = new ArrayList<>();
+            missed.forEach(batch -> missing.addAll(batch.symbols()));
+            PriceQuotes lastKnown = withLastKnownPrices(prices, missing);
+            if (lastKnown != null) {
+                return lastKnown;
+            }
+            for (PriceBatch batch : missed) {
+                prices.putAll(await(batch.prices(), vendorDeadline, "market data prices"));
+            }
+            return PriceQuotes.fresh(prices, Instant.now());
+        } catch (RuntimeException ex) {
+            batches.forEach(batch -> batch.prices().cancel(true));
+            throw ex;
+        }
+    }
+
+    /**
+     * Adds last known prices for the missing symbols to the prices received.
+     *
+     * @return Quotes with the missing symbols marked stale, or null if any has no last known price
+     */
+    private PriceQuotes withLastKnownPrices(Map<String, BigDecimal> received, Collection<String> missing) {
+        Map<String, BigDecimal> prices = new HashMap<>(received);
+        Map<String, Instant> staleAsOf = new HashMap<>();
+        for (String symbol : missing) {
+            LastKnownPrices.Quote quote = lastKnownPrices.get(symbol);
+            if (quote == null) {
+                return null;
+            }
+            prices.put(symbol, quote.price());
+            staleAsOf.put(symbol, quote.asOf());
+        }
+        lastKnownPrices.markServed();
+        metrics.stalePrices.increment(staleAsOf.size());
+        return new PriceQuotes(prices, Instant.now(), staleAsOf);
+    }
+
+    /**
+     * Splits the symbols into vendor-sized batches and requests each batch concurrently. Prices
+     * are remembered as last known prices when they arrive, even after the caller stopped waiting.
+     */
+    private List<PriceBatch> requestPrices(Collection<String> symbols) {
+        if (symbols.isEmpty()) {
+            return List.of();
+        }
+        int batchSize = Math.max(1, properties.getPortfolio().getPriceBatchSize());
+        List<String> ordered = new ArrayList<>(symbols);
+        List<PriceBatch> batches = new ArrayList<>();
+        for (int from = 0; from < ordered.size(); from += batchSize) {
+            List<String> batch = ordered.subList(from, Math.min(from + batchSize, ordered.size()));
+            CompletableFuture<Map<String, BigDecimal>> prices = supplyAsync(() -> marketDataAdapter.getCurrentPrices(batch));
+            if (lastKnownPrices != null) {
+                prices.thenAccept(received -> lastKnownPrices.record(received, Instant.now()));
+            }
+            batches.add(new PriceBatch(batch, prices));
+        }
+        return batches;
+    }
+
+    private record PriceBatch(List<String> symbols, CompletableFuture<Map<String, BigDecimal>> prices) {
+    }
+
+    /**
+     * Submits a provider call to the integration executor, carrying the caller's logging context along.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        return supplyAsync(call, executor);
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(Supplier<T> call, Executor executor) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return CompletableFuture.supplyAsync(() -> {
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return call.get();
+            } finally {
+                MDC.clear();
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits for a provider call until the given deadline, translating failures into hub exceptions.
+     */
+    private static <T> T await(CompletableFuture<T> future, long deadlineNanos, String description) {
+        try {
+            return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ProviderException("Timed out waiting for " + description, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProviderException("Interrupted while waiting for " + description, ex);
+        } catch (CancellationException ex) {
+            throw new ProviderException("Cancelled while waiting for " + description, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ProviderException("Failed to fetch " + description, ex.getCause());
+        }
     }
 }
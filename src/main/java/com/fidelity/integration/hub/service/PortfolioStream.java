@@ -0,0 +1,156 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.service.valuation.PortfolioTotals;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An account's positions and their prices, fetched and ready to be valued one position at a time.
+ *
+ * Valued positions are handed to a sink as they are produced, so a caller writing them straight
+ * to a response never holds more than one {@link PositionDto} at once; portfolio totals are
+ * available once every position has been seen. Obtained from
+ * {@link PortfolioService#openPortfolio(String)}, which has already checked that every position
+ * has a price.
+ */
+public final class PortfolioStream {
+
+    private final String accountId;
+    private final String version;
+    private final List<Position> positions;
+    // Price of each position is slotPrices[rowSlots[row]]: no symbol lookups while valuing
+    private final int[] rowSlots;
+    private final BigDecimal[] slotPrices;
+    private final Instant freshAsOf;
+    private final Instant pricesAsOf;
+    // As-of time of each slot priced from a last known price; null when every price is fresh
+    private final Instant[] slotStaleAsOf;
+    private final ValuationEngine valuationEngine;
+    private final PortfolioMetrics metrics;
+
+    /**
+     * @throws com.fidelity.integration.hub.exception.ProviderException if a symbol has no price
+     */
+    PortfolioStream(String accountId, String version, List<Position> positions, SymbolSlots slots,
+                    PriceQuotes quotes, ValuationEngine valuationEngine, PortfolioMetrics metrics) {
+        this.accountId = accountId;
+        this.version = version;
+        this.positions = positions;
+        this.rowSlots = slots.rowSlots();
+        this.slotPrices = slots.resolve(quotes.prices());
+        this.slotStaleAsOf = slots.resolveStaleAsOf(quotes.staleAsOf());
+        this.freshAsOf = quotes.asOf();
+        this.pricesAsOf = oldest(freshAsOf, slotStaleAsOf);
+        this.valuationEngine = valuationEngine;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @throws com.fidelity.integration.hub.exception.ProviderException if a symbol has no price
+     */
+    PortfolioStream(String accountId, String version, List<Position> positions, Map<String, BigDecimal> prices,
+                    ValuationEngine valuationEngine) {
+        this(accountId, version, positions, SymbolSlots.of(positions), PriceQuotes.fresh(prices, Instant.now()),
+            valuationEngine, PortfolioMetrics.NONE);
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public int getPositionCount() {
+        return positions.size();
+    }
+
+    /**
+     * OMS version of the positions, or null if they are only part of an account.
+     */
+    String getVersion() {
+        return version;
+    }
+
+    List<Position> positions() {
+        return positions;
+    }
+
+    /**
+     * Whether any position is priced from a last known price.
+     */
+    boolean isStale() {
+        return slotStaleAsOf != null;
+    }
+
+    /**
+     * Values each position in OMS order and hands it to the sink, accumulating portfolio totals.
+     * The pass is timed as the valuation stage, sink included.
+     *
+     * @return Totals and currency of the positions seen
+     * @throws X if the sink fails; remaining positions are not valued
+     */
+    public <X extends Exception> Summary forEachPosition(PositionSink<X> sink) throws X {
+        long start = System.nanoTime();
+        try {
+            return valueEachPosition(sink);
+        } finally {
+            metrics.valuation.record(System.nanoTime() - start);
+        }
+    }
+
+    private <X extends Exception> Summary valueEachPosition(PositionSink<X> sink) throws X {
+        ValuationEngine.TotalsAccumulator totals = valuationEngine.newAccumulator();
+        // Assuming all positions use the same currency - in production, handle multi-currency
+        String currency = positions.isEmpty() ? "USD" : null;
+        boolean first = true;
+        for (int row = 0; row < rowSlots.length; row++) {
+            int slot = rowSlots[row];
+            Instant staleAsOf = slotStaleAsOf == null ? null : slotStaleAsOf[slot];
+            PositionDto valued = staleAsOf == null
+                ? valuationEngine.valuePosition(positions.get(row), slotPrices[slot], freshAsOf, false)
+                : valuationEngine.valuePosition(positions.get(row), slotPrices[slot], staleAsOf, true);
+            if (first) {
+                currency = valued.currency();
+                first = false;
+            }
+            totals.add(valued);
+            sink.accept(valued);
+        }
+        return new Summary(totals.totals(), currency, pricesAsOf, isStale());
+    }
+
+    private static Instant oldest(Instant freshAsOf, Instant[] staleAsOf) {
+        Instant oldest = freshAsOf;
+        if (staleAsOf != null) {
+            for (Instant asOf : staleAsOf) {
+                if (asOf != null && asOf.isBefore(oldest)) {
+                    oldest = asOf;
+                }
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Receives valued positions.
+     *
+     * @param <X> Checked exception the sink may throw, e.g. IOException when writing to a response
+     */
+    @FunctionalInterface
+    public interface PositionSink<X extends Exception> {
+        void accept(PositionDto position) throws X;
+    }
+
+    /**
+     * Portfolio-level figures known once every position has been valued.
+     *
+     * @param pricesAsOf Receipt time of the oldest price used
+     * @param stale Whether any position was priced from a last known price
+     */
+    public record Summary(PortfolioTotals totals, String currency, Instant pricesAsOf, boolean stale) {
+    }
+}
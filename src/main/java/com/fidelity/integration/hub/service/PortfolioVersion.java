@@ -0,0 +1,11 @@
+package com.fidelity.integration.hub.service;
+
+/**
+ * Version token of a portfolio, together with the OMS version it was derived from, so a read that
+ * follows a failed conditional check can reuse that version instead of asking the OMS again.
+ *
+ * @param token Portfolio version token
+ * @param accountVersion OMS version of the account's positions the token was derived from
+ */
+public record PortfolioVersion(String token, String accountVersion) {
+}
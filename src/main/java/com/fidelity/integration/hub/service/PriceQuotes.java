@@ -0,0 +1,24 @@
+package com.fidelity.integration.hub.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Prices of a set of symbols: received from the vendor, or last known prices for symbols the
+ * vendor did not price in time.
+ *
+ * @param prices Price of every symbol, fresh or stale
+ * @param asOf When the fresh prices were received
+ * @param staleAsOf When each last known price was received, for stale symbols only
+ */
+record PriceQuotes(Map<String, BigDecimal> prices, Instant asOf, Map<String, Instant> staleAsOf) {
+
+    static PriceQuotes fresh(Map<String, BigDecimal> prices, Instant asOf) {
+        return new PriceQuotes(prices, asOf, Map.of());
+    }
+
+    boolean isStale() {
+        return !staleAsOf.isEmpty();
+    }
+}
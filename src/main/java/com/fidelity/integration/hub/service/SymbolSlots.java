@@ -0,0 +1,111 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.exception.ProviderException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The distinct symbols of a list of positions, numbered densely in order of first appearance,
+ * and the slot of each position's symbol.
+ *
+ * Built from the positions' symbol ids with a small open-addressing table, so numbering a
+ * portfolio hashes ints rather than strings; once prices are resolved into a slot-indexed array,
+ * pricing a position is two array loads.
+ */
+final class SymbolSlots {
+
+    private static final int FREE = Integer.MIN_VALUE;
+
+    private final List<String> symbols;
+    private final int[] rowSlots;
+
+    private SymbolSlots(List<String> symbols, int[] rowSlots) {
+        this.symbols = symbols;
+        this.rowSlots = rowSlots;
+    }
+
+    static SymbolSlots of(List<Position> positions) {
+        int count = positions.size();
+        int capacity = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        int mask = capacity - 1;
+        int shift = Integer.numberOfLeadingZeros(mask);
+        int[] keys = new int[capacity];
+        int[] slots = new int[capacity];
+        Arrays.fill(keys, FREE);
+
+        List<String> symbols = new ArrayList<>();
+        int[] rowSlots = new int[count];
+        for (int row = 0; row < count; row++) {
+            Position position = positions.get(row);
+            int id = position.getSymbolId();
+            // Fibonacci hashing: the top bits of the product spread ids over the table
+            int index = (id * 0x9E3779B9) >>> shift;
+            while (keys[index] != id && keys[index] != FREE) {
+                index = (index + 1) & mask;
+            }
+            if (keys[index] == FREE) {
+                keys[index] = id;
+                slots[index] = symbols.size();
+                symbols.add(position.getSymbol());
+            }
+            rowSlots[row] = slots[index];
+        }
+        return new SymbolSlots(symbols, rowSlots);
+    }
+
+    /**
+     * Distinct symbols, in slot order.
+     */
+    List<String> symbols() {
+        return symbols;
+    }
+
+    /**
+     * Slot of each position's symbol, in position order.
+     */
+    int[] rowSlots() {
+        return rowSlots;
+    }
+
+    /**
+     * Looks up each distinct symbol's price once, checked up front so streamed portfolios never
+     * break off half way through.
+     *
+     * @return Prices indexed by slot
+     * @throws ProviderException if the vendor returned no price for a symbol
+     */
+    BigDecimal[] resolve(Map<String, BigDecimal> prices) {
+        BigDecimal[] slotPrices = new BigDecimal[symbols.size()];
+        for (int slot = 0; slot < slotPrices.length; slot++) {
+            String symbol = symbols.get(slot);
+            BigDecimal price = prices.get(symbol);
+            if (price == null) {
+                throw new ProviderException("No market price returned for symbol: " + symbol);
+            }
+            slotPrices[slot] = price;
+        }
+        return slotPrices;
+    }
+
+    /**
+     * When each slot's last known price was received, for the symbols priced from last known prices.
+     *
+     * @return As-of times indexed by slot, null for freshly priced slots; null if no slot is stale
+     */
+    Instant[] resolveStaleAsOf(Map<String, Instant> staleAsOf) {
+        if (staleAsOf.isEmpty()) {
+            return null;
+        }
+        Instant[] slotAsOf = new Instant[symbols.size()];
+        for (int slot = 0; slot < slotAsOf.length; slot++) {
+            slotAsOf[slot] = staleAsOf.get(symbols.get(slot));
+        }
+        return slotAsOf;
+    }
+}
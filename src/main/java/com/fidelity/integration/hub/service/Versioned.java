@@ -0,0 +1,11 @@
+package com.fidelity.integration.hub.service;
+
+/**
+ * A result together with the version token it was computed at, so a response can carry its ETag
+ * without asking the providers for the version a second time.
+ *
+ * @param content The result
+ * @param version Version token of the result, or null if the result cannot be versioned
+ */
+public record Versioned<T>(T content, String version) {
+}
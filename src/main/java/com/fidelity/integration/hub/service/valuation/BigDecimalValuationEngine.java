@@ -0,0 +1,82 @@
+package com.fidelity.integration.hub.service.valuation;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+
+/**
+ * Reference valuation engine using {@link BigDecimal} arithmetic throughout.
+ *
+ * Enabled with {@code integration.hub.portfolio.valuation-engine=big-decimal}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "integration.hub.portfolio", name = "valuation-engine", havingValue = "big-decimal")
+public class BigDecimalValuationEngine implements ValuationEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Override
+    public PositionDto valuePosition(Position position, BigDecimal currentPrice, Instant priceAsOf, boolean stale) {
+        // Calculate derived values
+        BigDecimal positionValue = position.getQuantity().multiply(currentPrice);
+        BigDecimal totalCostBasis = position.getQuantity().multiply(position.getCostBasisPerShare());
+        BigDecimal unrealizedGainLoss = positionValue.subtract(totalCostBasis);
+        BigDecimal unrealizedGainLossPercent = position.getCostBasisPerShare().compareTo(BigDecimal.ZERO) > 0
+            ? unrealizedGainLoss.divide(totalCostBasis, 4, RoundingMode.HALF_UP).multiply(HUNDRED)
+            : BigDecimal.ZERO;
+
+        return new PositionDto(
+            position.getSymbol(),
+            position.getInstrumentName(),
+            position.getAssetClass(),
+            position.getQuantity(),
+            currentPrice,
+            positionValue,
+            position.getCostBasisPerShare(),
+            totalCostBasis,
+            unrealizedGainLoss,
+            unrealizedGainLossPercent,
+            position.getCurrency(),
+            priceAsOf,
+            stale
+        );
+    }
+
+    @Override
+    public TotalsAccumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Portfolio totals from summed position values and cost bases, as every engine reports them.
+     */
+    public static PortfolioTotals totals(BigDecimal totalValue, BigDecimal totalCostBasis) {
+        BigDecimal totalUnrealizedGainLoss = totalValue.subtract(totalCostBasis);
+        BigDecimal totalUnrealizedGainLossPercent = totalCostBasis.compareTo(BigDecimal.ZERO) > 0
+            ? totalUnrealizedGainLoss.divide(totalCostBasis, 4, RoundingMode.HALF_UP).multiply(HUNDRED)
+            : BigDecimal.ZERO;
+        return new PortfolioTotals(totalValue, totalCostBasis, totalUnrealizedGainLoss, totalUnrealizedGainLossPercent);
+    }
+
+    private static final class Accumulator implements TotalsAccumulator {
+
+        private BigDecimal totalValue = BigDecimal.ZERO;
+        private BigDecimal totalCostBasis = BigDecimal.ZERO;
+
+        @Override
+        public void add(PositionDto position) {
+            totalValue = totalValue.add(position.positionValue());
+            totalCostBasis = totalCostBasis.add(position.totalCostBasis());
+        }
+
+        @Override
+        public PortfolioTotals totals() {
+            return BigDecimalValuationEngine.totals(totalValue, totalCostBasis);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.fidelity.integration.hub.service.valuation;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Valuation engine doing the math on scaled longs (unscaled value plus decimal scale).
+ *
+ * Products, differences and the scale-4 HALF_UP percentage division are computed exactly as
+ * {@link BigDecimal} would, so results are identical in value and scale; only the final values
+ * are boxed into BigDecimals. Inputs wider than 18 digits or any intermediate overflow fall back
+ * to {@link BigDecimalValuationEngine} for that position (or, for totals, for the rest of the
+ * accumulation).
+ *
+ * Enabled with {@code integration.hub.portfolio.valuation-engine=fixed-point} (the default).
+ */
+@Component
+@ConditionalOnProperty(prefix = "integration.hub.portfolio", name = "valuation-engine", havingValue = "fixed-point",
+    matchIfMissing = true)
+public class FixedPointValuationEngine implements ValuationEngine {
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final int PERCENT_SCALE = 4;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final BigDecimalValuationEngine fallback = new BigDecimalValuationEngine();
+
+    @Override
+    public PositionDto valuePosition(Position position, BigDecimal currentPrice, Instant priceAsOf, boolean stale) {
+        BigDecimal quantity = position.getQuantity();
+        BigDecimal costBasisPerShare = position.getCostBasisPerShare();
+        try {
+            long q = unscaled(quantity);
+            long p = unscaled(currentPrice);
+            long c = unscaled(costBasisPerShare);
+
+            long positionValue = Math.multiplyExact(q, p);
+            int positionValueScale = Math.addExact(quantity.scale(), currentPrice.scale());
+            long totalCostBasis = Math.multiplyExact(q, c);
+            int totalCostBasisScale = Math.addExact(quantity.scale(), costBasisPerShare.scale());
+
+            int gainScale = Math.max(positionValueScale, totalCostBasisScale);
+            long gain = Math.subtractExact(
+                rescale(positionValue, positionValueScale, gainScale),
+                rescale(totalCostBasis, totalCostBasisScale, gainScale));
+
+            BigDecimal gainPercent = c > 0
+                ? percent(gain, gainScale, totalCostBasis, totalCostBasisScale)
+                : BigDecimal.ZERO;
+
+            return new PositionDto(
+                position.getSymbol(),
+                position.getInstrumentName(),
+                position.getAssetClass(),
+                quantity,
+                currentPrice,
+                BigDecimal.valueOf(positionValue, positionValueScale),
+                costBasisPerShare,
+                BigDecimal.valueOf(totalCostBasis, totalCostBasisScale),
+                BigDecimal.valueOf(gain, gainScale),
+                gainPercent,
+                position.getCurrency(),
+                priceAsOf,
+                stale
+            );
+        } catch (ArithmeticException ex) {
+            // Overflow, or input too wide for a long: BigDecimal gives the exact answer (or the same exception)
+            return fallback.valuePosition(position, currentPrice, priceAsOf, stale);
+        }
+    }
+
+    @Override
+    public TotalsAccumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * {@code numerator / denominator} to scale 4 with HALF_UP, times 100, as BigDecimal computes it.
+     */
+    private static BigDecimal percent(long numerator, int numeratorScale, long denominator, int denominatorScale) {
+        // The quotient's unscaled value is numerator * 10^(4 - numeratorScale + denominatorScale) / denominator
+        int shift = PERCENT_SCALE - numeratorScale + denominatorScale;
+        long quotient = shift >= 0
+            ? divideHalfUp(Math.multiplyExact(numerator, powerOfTen(shift)), denominator)
+            : divideHalfUp(numerator, Math.multiplyExact(denominator, powerOfTen(-shift)));
+        return BigDecimal.valueOf(Math.multiplyExact(quotient, 100L), PERCENT_SCALE);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder != 0) {
+            long absRemainder = Math.absExact(remainder);
+            if (absRemainder >= Math.absExact(divisor) - absRemainder) {
+                quotient += (dividend ^ divisor) < 0 ? -1 : 1;
+            }
+        }
+        return quotient;
+    }
+
+    /**
+     * Unscaled value of a decimal, or ArithmeticException if it does not fit a long.
+     */
+    private static long unscaled(BigDecimal value) {
+        // Shifting to scale 0 keeps the compact representation (unlike unscaledValue(), which builds a
+        // BigInteger), and the short-lived intermediate is usually eliminated by escape analysis
+        return value.scale() == 0 ? value.longValueExact() : value.scaleByPowerOfTen(value.scale()).longValueExact();
+    }
+
+    private static long rescale(long unscaled, int fromScale, int toScale) {
+        return toScale == fromScale ? unscaled : Math.multiplyExact(unscaled, powerOfTen(toScale - fromScale));
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent > MAX_LONG_DIGITS) {
+            throw new ArithmeticException("10^" + exponent + " overflows a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Sums on scaled longs until a value no longer fits, then continues in BigDecimal.
+     */
+    private static final class Accumulator implements TotalsAccumulator {
+
+        private long totalValue;
+        private int totalValueScale;
+        private long totalCostBasis;
+        private int totalCostBasisScale;
+
+        // Set once the long sums overflow
+        private BigDecimal overflowValue;
+        private BigDecimal overflowCostBasis;
+
+        @Override
+        public void add(PositionDto position) {
+            BigDecimal value = position.positionValue();
+            BigDecimal costBasis = position.totalCostBasis();
+            if (overflowValue == null) {
+                try {
+                    int valueScale = Math.max(totalValueScale, value.scale());
+                    int costBasisScale = Math.max(totalCostBasisScale, costBasis.scale());
+                    long nextValue = Math.addExact(rescale(totalValue, totalValueScale, valueScale),
+                        rescale(unscaled(value), value.scale(), valueScale));
+                    long nextCostBasis = Math.addExact(rescale(totalCostBasis, totalCostBasisScale, costBasisScale),
+                        rescale(unscaled(costBasis), costBasis.scale(), costBasisScale));
+                    totalValue = nextValue;
+                    totalValueScale = valueScale;
+                    totalCostBasis = nextCostBasis;
+                    totalCostBasisScale = costBasisScale;
+                    return;
+                } catch (ArithmeticException ex) {
+                    overflowValue = BigDecimal.valueOf(totalValue, totalValueScale);
+                    overflowCostBasis = BigDecimal.valueOf(totalCostBasis, totalCostBasisScale);
+                }
+            }
+            overflowValue = overflowValue.add(value);
+            overflowCostBasis = overflowCostBasis.add(costBasis);
+        }
+
+        @Override
+        public PortfolioTotals totals() {
+            if (overflowValue != null) {
+                return BigDecimalValuationEngine.totals(overflowValue, overflowCostBasis);
+            }
+            try {
+                int gainScale = Math.max(totalValueScale, totalCostBasisScale);
+                long gain = Math.subtractExact(
+                    rescale(totalValue, totalValueScale, gainScale),
+                    rescale(totalCostBasis, totalCostBasisScale, gainScale));
+                BigDecimal gainPercent = totalCostBasis > 0
+                    ? percent(gain, gainScale, totalCostBasis, totalCostBasisScale)
+                    : BigDecimal.ZERO;
+                return new PortfolioTotals(
+                    BigDecimal.valueOf(totalValue, totalValueScale),
+                    BigDecimal.valueOf(totalCostBasis, totalCostBasisScale),
+                    BigDecimal.valueOf(gain, gainScale),
+                    gainPercent);
+            } catch (ArithmeticException ex) {
+                return BigDecimalValuationEngine.totals(
+                    BigDecimal.valueOf(totalValue, totalValueScale), BigDecimal.valueOf(totalCostBasis, totalCostBasisScale));
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.fidelity.integration.hub.service.valuation;
+
+import java.math.BigDecimal;
+
+/**
+ * Portfolio-level totals produced by a {@link ValuationEngine}.
+ */
+public record PortfolioTotals(
+    BigDecimal totalValue,
+    BigDecimal totalCostBasis,
+    BigDecimal totalUnrealizedGainLoss,
+    BigDecimal totalUnrealizedGainLossPercent
+) {}
@@ -0,0 +1,48 @@
+package com.fidelity.integration.hub.service.valuation;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Portfolio valuation math: per-position derived values and portfolio-level totals.
+ *
+ * Every implementation must produce results identical to {@link BigDecimalValuationEngine},
+ * including the scale of each value. The engine is chosen with
+ * {@code integration.hub.portfolio.valuation-engine}.
+ */
+public interface ValuationEngine {
+
+    /**
+     * Values a position at the given price: position value, total cost basis, unrealized
+     * gain/loss and its percentage (scale 4, {@link java.math.RoundingMode#HALF_UP}).
+     *
+     * @param priceAsOf When the price was received from the vendor, reported with the position
+     * @param stale Whether the price is a last known price used in place of a fresh one
+     */
+    PositionDto valuePosition(Position position, BigDecimal currentPrice, Instant priceAsOf, boolean stale);
+
+    /**
+     * Values a position at a fresh price of unknown age.
+     */
+    default PositionDto valuePosition(Position position, BigDecimal currentPrice) {
+        return valuePosition(position, currentPrice, null, false);
+    }
+
+    /**
+     * Starts a new, single-threaded accumulation of portfolio totals.
+     */
+    TotalsAccumulator newAccumulator();
+
+    /**
+     * Running portfolio totals over valued positions.
+     */
+    interface TotalsAccumulator {
+
+        void add(PositionDto position);
+
+        PortfolioTotals totals();
+    }
+}
@@ -0,0 +1,157 @@
+package com.fidelity.integration.hub.timing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock durations of the stages of one request, reported to the client in a
+ * {@code Server-Timing} header.
+ *
+ * The web layer binds a recorder to the request thread for the duration of the request; services
+ * add the time they spend in each stage with {@link #time(Stage, Supplier)} or
+ * {@link #record(Stage, long)}. Time spent on other threads (e.g. a fan-out batch) is seen through
+ * the request thread's wait for it. Outside a request, or with Server-Timing disabled, recording
+ * is a single thread-local read. A recorder is one object with two small arrays, and the header is
+ * formatted without intermediate strings, so it can stay on in production.
+ */
+public final class RequestTiming {
+
+    /**
+     * Stages reported in the header, in header order.
+     */
+    public enum Stage {
+        OMS("oms", "OMS accounts and positions"),
+        OMS_VERSION("oms-version", "OMS version check"),
+        PRICES("prices", "Price fan-out"),
+        AGGREGATE("aggregate", "Valuation and totals"),
+        SERIALIZE("serialize", "Response serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Stage(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] stageNanos = new long[STAGES.length];
+    private final int[] stageCounts = new int[STAGES.length];
+
+    public RequestTiming() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Binds the recorder to the current thread until {@link #unbind()}.
+     */
+    public void bind() {
+        CURRENT.set(this);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Adds to a stage of the request bound to the current thread, if any.
+     */
+    public static void record(Stage stage, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(stage, nanos);
+        }
+    }
+
+    /**
+     * Runs the call as a stage of the request bound to the current thread, if any.
+     */
+    public static <T> T time(Stage stage, Supplier<T> call) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return call.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            timing.add(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void add(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+        stageCounts[stage.ordinal()]++;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the recorded stages and the time elapsed so far, e.g.
+     * {@code oms;dur=1.250;desc="OMS accounts and positions", app;dur=3.018, cid;desc="abc"}.
+     *
+     * @param correlationId Correlation ID of the request, or null
+     */
+    public String toHeaderValue(String correlationId) {
+        StringBuilder header = new StringBuilder(256);
+        for (Stage stage : STAGES) {
+            if (stageCounts[stage.ordinal()] > 0) {
+                appendEntry(header, stage.metricName, stageNanos[stage.ordinal()], stage.description);
+                header.append(", ");
+            }
+        }
+        appendEntry(header, "app", elapsedNanos(), null);
+        if (correlationId != null) {
+            header.append(", cid;desc=");
+            appendQuoted(header, correlationId);
+        }
+        return header.toString();
+    }
+
+    /**
+     * Formats a single stage entry, e.g. for a trailer.
+     */
+    public static String entry(Stage stage, long nanos) {
+        StringBuilder entry = new StringBuilder(64);
+        appendEntry(entry, stage.metricName, nanos, stage.description);
+        return entry.toString();
+    }
+
+    private static void appendEntry(StringBuilder header, String name, long nanos, String description) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        header.append(name).append(";dur=").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) {
+            header.append('0');
+        }
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+        if (description != null) {
+            header.append(";desc=");
+            appendQuoted(header, description);
+        }
+    }
+
+    private static void appendQuoted(StringBuilder header, String value) {
+        header.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // Header values are visible ASCII; drop anything a client could use to break the header
+            if (c >= 0x20 && c < 0x7f) {
+                if (c == '"' || c == '\\') {
+                    header.append('\\');
+                }
+                header.append(c);
+            }
+        }
+        header.append('"');
+    }
+}
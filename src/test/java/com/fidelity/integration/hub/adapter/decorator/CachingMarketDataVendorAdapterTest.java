@@ -0,0 +1,221 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachingMarketDataVendorAdapter.
+ * Verifies single-flight loading, batch misses, cache statistics and price ticks.
+ */
+class CachingMarketDataVendorAdapterTest {
+
+    private ExecutorService executor;
+    private CountingVendor vendor;
+    private CachingMarketDataVendorAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        vendor = new CountingVendor();
+        adapter = new CachingMarketDataVendorAdapter(vendor, 100, Duration.ofMinutes(1), Duration.ofSeconds(30), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getCurrentPrices_ConcurrentRequestsForSameSymbol_CallVendorOnce() throws Exception {
+        // Given
+        int callers = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<String, BigDecimal>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return adapter.getCurrentPrices(List.of("AAPL"));
+            }));
+        }
+
+        // When
+        start.countDown();
+
+        // Then
+        for (Future<Map<String, BigDecimal>> result : results) {
+            assertEquals(new BigDecimal("175.25"), result.get(5, TimeUnit.SECONDS).get("AAPL"));
+        }
+        assertEquals(1, vendor.bulkCalls.get() + vendor.singleCalls.get());
+    }
+
+    @Test
+    void getCurrentPrices_PartialHit_LoadsOnlyMissingSymbolsInOneBatch() {
+        // Given
+        adapter.getCurrentPrice("AAPL");
+
+        // When
+        Map<String, BigDecimal> prices = adapter.getCurrentPrices(List.of("AAPL", "MSFT", "GOOGL"));
+
+        // Then
+        assertEquals(3, prices.size());
+        assertEquals(1, vendor.bulkCalls.get());
+        assertEquals(List.of("GOOGL", "MSFT"), vendor.lastBatch.stream().sorted().toList());
+        assertEquals(1, adapter.getPriceCache().stats().hitCount());
+    }
+
+    @Test
+    void getCurrentPrices_UnknownSymbol_IsOmittedAndNotCached() {
+        // When
+        Map<String, BigDecimal> prices = adapter.getCurrentPrices(List.of("UNKNOWN"));
+
+        // Then
+        assertTrue(prices.isEmpty());
+        assertNull(adapter.getPriceCache().getIfPresent("UNKNOWN"));
+    }
+
+    @Test
+    void getPriceEpoch_AdvancesWhenCachedPriceChangesOrExpires() {
+        // Given
+        FakeTicker ticker = new FakeTicker();
+        CachingMarketDataVendorAdapter cache = new CachingMarketDataVendorAdapter(
+            vendor, 100, Duration.ofMinutes(1), Duration.ofSeconds(30), Runnable::run, ticker);
+        cache.getCurrentPrice("AAPL");
+        long loaded = cache.getPriceEpoch();
+
+        // When: a refresh returns the same price
+        ticker.advance(Duration.ofSeconds(31));
+        cache.getCurrentPrice("AAPL");
+        cache.getPriceCache().cleanUp();
+        long refreshedUnchanged = cache.getPriceEpoch();
+
+        // When: the price changes and is refreshed
+        vendor.overrides.put("AAPL", new BigDecimal("176.00"));
+        ticker.advance(Duration.ofSeconds(31));
+        cache.getCurrentPrice("AAPL");
+        cache.getPriceCache().cleanUp();
+        long refreshedChanged = cache.getPriceEpoch();
+
+        // When: the entry expires
+        ticker.advance(Duration.ofMinutes(2));
+        cache.getPriceCache().cleanUp();
+
+        // Then
+        assertEquals(loaded, refreshedUnchanged);
+        assertTrue(refreshedChanged > refreshedUnchanged);
+        assertTrue(cache.getPriceEpoch() > refreshedChanged);
+    }
+
+    @Test
+    void addPriceTickListener_PublishesChangedRefreshesAndVendorTicks() {
+        // Given
+        FakeTicker ticker = new FakeTicker();
+        CachingMarketDataVendorAdapter cache = new CachingMarketDataVendorAdapter(
+            vendor, 100, Duration.ofMinutes(1), Duration.ofSeconds(30), Runnable::run, ticker);
+        List<String> ticks = new ArrayList<>();
+        cache.addPriceTickListener((symbol, price) -> ticks.add(symbol + "=" + price));
+        cache.getCurrentPrice("AAPL");
+
+        // When: a refresh returns the same price, then a changed one
+        ticker.advance(Duration.ofSeconds(31));
+        cache.getCurrentPrice("AAPL");
+        vendor.overrides.put("AAPL", new BigDecimal("176.00"));
+        ticker.advance(Duration.ofSeconds(31));
+        cache.getCurrentPrice("AAPL");
+        cache.getPriceCache().cleanUp();
+
+        // When: the vendor pushes a price
+        int vendorCalls = vendor.singleCalls.get() + vendor.bulkCalls.get();
+        vendor.tickListener.onPriceTick("MSFT", new BigDecimal("381.00"));
+
+        // Then
+        assertEquals(List.of("AAPL=176.00", "MSFT=381.00"), ticks);
+        assertEquals(new BigDecimal("381.00"), cache.getCurrentPrice("MSFT"));
+        assertEquals(vendorCalls, vendor.singleCalls.get() + vendor.bulkCalls.get());
+    }
+
+    private static final class FakeTicker implements Ticker {
+
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(Duration duration) {
+            nanos.addAndGet(duration.toNanos());
+        }
+    }
+
+    private static final class CountingVendor implements MarketDataVendorAdapter {
+
+        private static final Map<String, BigDecimal> PRICES = Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50"),
+            "GOOGL", new BigDecimal("140.75"));
+
+        private final AtomicInteger singleCalls = new AtomicInteger();
+        private final AtomicInteger bulkCalls = new AtomicInteger();
+        private final Map<String, BigDecimal> overrides = new ConcurrentHashMap<>();
+        private volatile List<String> lastBatch = List.of();
+        private volatile PriceTickListener tickListener;
+
+        @Override
+        public BigDecimal getCurrentPrice(String symbol) {
+            singleCalls.incrementAndGet();
+            sleep();
+            return overrides.getOrDefault(symbol, PRICES.get(symbol));
+        }
+
+        @Override
+        public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+            bulkCalls.incrementAndGet();
+            lastBatch = List.copyOf(symbols);
+            sleep();
+            Map<String, BigDecimal> prices = new HashMap<>();
+            symbols.stream().filter(PRICES::containsKey).forEach(symbol -> prices.put(symbol, PRICES.get(symbol)));
+            return prices;
+        }
+
+        @Override
+        public void addPriceTickListener(PriceTickListener listener) {
+            tickListener = listener;
+        }
+
+        @Override
+        public Instrument getInstrumentBySymbol(String symbol) {
+            return null;
+        }
+
+        private static void sleep() {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
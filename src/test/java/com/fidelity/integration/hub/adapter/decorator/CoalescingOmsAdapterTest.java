@@ -0,0 +1,220 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.exception.ProviderException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress tests for CoalescingOmsAdapter.
+ */
+class CoalescingOmsAdapterTest {
+
+    private ExecutorService executor;
+    private BlockingOms oms;
+    private CoalescingOmsAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(64);
+        oms = new BlockingOms();
+        adapter = new CoalescingOmsAdapter(oms);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getPositionsByAccount_ConcurrentCallersForSameAccount_ShareOneOmsCall() throws Exception {
+        // Given
+        int callers = 64;
+        CountDownLatch allCalling = new CountDownLatch(callers);
+        List<Future<List<Position>>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                allCalling.countDown();
+                return adapter.getPositionsByAccount("ACC-HOT");
+            }));
+        }
+        assertTrue(allCalling.await(5, TimeUnit.SECONDS));
+        // Give the followers time to join the leader's pending call before it completes
+        waitForLeader();
+
+        // When
+        oms.release();
+
+        // Then
+        for (Future<List<Position>> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+        }
+        assertEquals(1, oms.positionCalls.get());
+    }
+
+    @Test
+    void stress_ManyAccountsManyRounds_NeverMoreThanOneCallInFlightPerAccount() throws Exception {
+        // Given
+        oms.release();
+        oms.latencyMillis = 2;
+        int accounts = 16;
+        int threadsPerAccount = 4;
+        int rounds = 200;
+        CyclicBarrier barrier = new CyclicBarrier(accounts * threadsPerAccount);
+        List<Future<?>> workers = new ArrayList<>();
+
+        // When
+        for (int a = 0; a < accounts; a++) {
+            String accountId = "ACC-" + a;
+            for (int t = 0; t < threadsPerAccount; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int r = 0; r < rounds; r++) {
+                        barrier.await(5, TimeUnit.SECONDS);
+                        assertEquals(accountId, adapter.getAccountById(accountId).getAccountId());
+                        assertEquals(1, adapter.getPositionsByAccount(accountId).size());
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertEquals(1, oms.maxConcurrentPerAccount.values().stream().mapToInt(AtomicInteger::get).max().orElse(0));
+        assertTrue(oms.positionCalls.get() < accounts * threadsPerAccount * rounds,
+            "coalescing should have collapsed some calls, got " + oms.positionCalls.get());
+    }
+
+    @Test
+    void getAccountById_LeaderFails_AllCallersSeeFailureAndNextCallRetries() throws Exception {
+        // Given
+        oms.failNext = true;
+        int callers = 16;
+        List<Future<Account>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> adapter.getAccountById("ACC-FAIL")));
+        }
+        waitForLeader();
+        oms.release();
+
+        // Then
+        for (Future<Account> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException ex) {
+                assertInstanceOf(ProviderException.class, ex.getCause());
+            }
+        }
+        assertEquals("ACC-FAIL", adapter.getAccountById("ACC-FAIL").getAccountId());
+    }
+
+    @Test
+    void getPositionsByAccount_SharedResult_IsUnmodifiable() {
+        // Given
+        oms.release();
+
+        // When
+        List<Position> positions = adapter.getPositionsByAccount("ACC-1");
+
+        // Then
+        assertThrows(UnsupportedOperationException.class, positions::clear);
+    }
+
+    private void waitForLeader() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (oms.waiting.get() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        // Followers block in CompletableFuture.join; allow them to park
+        Thread.sleep(100);
+    }
+
+    /**
+     * OMS stub that blocks until released and tracks concurrent calls per account.
+     */
+    private static final class BlockingOms implements OmsAdapter {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final AtomicInteger positionCalls = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Map<String, AtomicInteger> concurrentPerAccount = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> maxConcurrentPerAccount = new ConcurrentHashMap<>();
+        private volatile long latencyMillis;
+        private volatile boolean failNext;
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public Account getAccountById(String accountId) {
+            enter(accountId + "#account");
+            try {
+                if (failNext) {
+                    failNext = false;
+                    throw new ProviderException("OMS unavailable");
+                }
+                return Account.builder().accountId(accountId).build();
+            } finally {
+                exit(accountId + "#account");
+            }
+        }
+
+        @Override
+        public List<Account> getAccountsByClient(String clientId) {
+            return List.of();
+        }
+
+        @Override
+        public List<Position> getPositionsByAccount(String accountId) {
+            positionCalls.incrementAndGet();
+            enter(accountId + "#positions");
+            try {
+                return new ArrayList<>(List.of(Position.builder().symbol("AAPL").quantity(BigDecimal.ONE).build()));
+            } finally {
+                exit(accountId + "#positions");
+            }
+        }
+
+        private void enter(String key) {
+            int concurrent = concurrentPerAccount.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            maxConcurrentPerAccount.computeIfAbsent(key, k -> new AtomicInteger()).accumulateAndGet(concurrent, Math::max);
+            waiting.incrementAndGet();
+            try {
+                assertTrue(gate.await(10, TimeUnit.SECONDS));
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        private void exit(String key) {
+            concurrentPerAccount.get(key).decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConcurrencyLimitedMarketDataVendorAdapter.
+ * Verifies that the limit grows on fast calls, backs off on failed or slow ones, and that calls over
+ * the limit wait for a slot or are shed.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitedMarketDataVendorAdapterTest {
+
+    private static final BigDecimal PRICE = new BigDecimal("175.25");
+
+    @Mock
+    private MarketDataVendorAdapter vendor;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        registry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getCurrentPrice_FastCallsUsingTheLimit_RaisesLimit() {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(2, 10, 10, Duration.ofMillis(100));
+        answerAfter(10);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            adapter.getCurrentPrice("AAPL");
+        }
+
+        // Then
+        assertEquals(3, adapter.getLimit());
+        assertEquals(3.0, registry.get("hub.adapter.concurrency.limit").tag("adapter", "vendor").gauge().value());
+    }
+
+    @Test
+    void getCurrentPrice_VendorFails_BacksOff() {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(10, 10, 10, Duration.ofMillis(100));
+        when(vendor.getCurrentPrice("AAPL")).thenThrow(new ProviderException("Vendor unavailable"));
+
+        // When
+        assertThrows(ProviderException.class, () -> adapter.getCurrentPrice("AAPL"));
+
+        // Then
+        assertEquals(5, adapter.getLimit());
+    }
+
+    @Test
+    void getCurrentPrice_SlowerThanUsual_BacksOff() {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(10, 10, 10, Duration.ofMillis(100));
+        answerAfter(10);
+        for (int i = 0; i < 5; i++) {
+            adapter.getCurrentPrice("AAPL");
+        }
+        answerAfter(100);
+
+        // When
+        BigDecimal price = adapter.getCurrentPrice("AAPL");
+
+        // Then
+        assertEquals(PRICE, price);
+        assertEquals(5, adapter.getLimit());
+    }
+
+    @Test
+    void getCurrentPrices_BatchSlowerThanSingleSymbolCalls_DoesNotBackOff() {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(10, 10, 10, Duration.ofMillis(100));
+        answerAfter(10);
+        for (int i = 0; i < 5; i++) {
+            adapter.getCurrentPrice("AAPL");
+        }
+        when(vendor.getCurrentPrices(List.of("AAPL", "MSFT"))).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Map.of("AAPL", PRICE, "MSFT", PRICE);
+        });
+
+        // When
+        Map<String, BigDecimal> prices = adapter.getCurrentPrices(List.of("AAPL", "MSFT"));
+
+        // Then: the batch call is judged against batch calls only
+        assertEquals(2, prices.size());
+        assertEquals(10, adapter.getLimit());
+    }
+
+    @Test
+    void getCurrentPrice_LimitReachedAndQueueFull_ShedsCall() throws Exception {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(1, 1, 0, Duration.ofSeconds(5));
+        holdSlot(adapter);
+
+        // When
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getCurrentPrice("AAPL"));
+
+        // Then
+        assertTrue(ex.getMessage().contains("queue full"));
+        assertEquals(1.0, registry.get("hub.adapter.concurrency.shed").counter().count());
+        assertEquals(1.0, registry.get("hub.adapter.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void getCurrentPrice_NoSlotWithinQueueWait_ShedsCall() throws Exception {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(1, 1, 10, Duration.ofMillis(50));
+        holdSlot(adapter);
+
+        // When
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getCurrentPrice("AAPL"));
+
+        // Then
+        assertTrue(ex.getMessage().contains("waited 50ms"));
+        assertEquals(1.0, registry.get("hub.adapter.concurrency.shed").counter().count());
+        assertEquals(0.0, registry.get("hub.adapter.concurrency.queued").gauge().value());
+    }
+
+    @Test
+    void getCurrentPrice_SlotFreedWhileQueued_Proceeds() throws Exception {
+        // Given
+        ConcurrencyLimitedMarketDataVendorAdapter adapter = adapter(1, 1, 10, Duration.ofSeconds(5));
+        when(vendor.getCurrentPrice("MSFT")).thenReturn(PRICE);
+        holdSlot(adapter);
+        Future<BigDecimal> queued = executor.submit(() -> adapter.getCurrentPrice("MSFT"));
+        awaitQueued();
+
+        // When
+        release.countDown();
+
+        // Then
+        assertEquals(PRICE, queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, registry.get("hub.adapter.concurrency.shed").counter().count());
+    }
+
+    private ConcurrencyLimitedMarketDataVendorAdapter adapter(int initialLimit, int maxLimit, int maxQueueSize,
+                                                               Duration maxQueueWait) {
+        IntegrationHubProperties.ConcurrencyLimit config = new IntegrationHubProperties.ConcurrencyLimit();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(1);
+        config.setMaxLimit(maxLimit);
+        config.setBackoffRatio(0.5);
+        config.setMaxQueueSize(maxQueueSize);
+        config.setMaxQueueWait(maxQueueWait);
+        return new ConcurrencyLimitedMarketDataVendorAdapter(vendor, config, Duration.ofSeconds(3), registry);
+    }
+
+    private void answerAfter(long millis) {
+        when(vendor.getCurrentPrice("AAPL")).thenAnswer(invocation -> {
+            Thread.sleep(millis);
+            return PRICE;
+        });
+    }
+
+    /**
+     * Occupies a slot with an AAPL call that lasts until {@code release} is counted down.
+     */
+    private void holdSlot(ConcurrencyLimitedMarketDataVendorAdapter adapter) throws InterruptedException {
+        when(vendor.getCurrentPrice("AAPL")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return PRICE;
+        });
+        executor.submit(() -> adapter.getCurrentPrice("AAPL"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("hub.adapter.concurrency.queued").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "call was never queued");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HedgingMarketDataVendorAdapter.
+ * Verifies that slow requests are hedged once warmed up, within budget and the vendor timeout, and
+ * that hedges are counted.
+ */
+@ExtendWith(MockitoExtension.class)
+class HedgingMarketDataVendorAdapterTest {
+
+    private static final BigDecimal SLOW_PRICE = new BigDecimal("175.25");
+    private static final BigDecimal FAST_PRICE = new BigDecimal("175.30");
+
+    @Mock
+    private MarketDataVendorAdapter vendor;
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry registry;
+    private CountDownLatch release;
+    private Duration timeout = Duration.ofSeconds(5);
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        registry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getCurrentPrice_SlowerThanUsual_HedgeAnswersFirst() {
+        // Given
+        HedgingMarketDataVendorAdapter adapter = adapter(50);
+        warmUp(adapter);
+        slowThenFast();
+
+        // When
+        BigDecimal price = adapter.getCurrentPrice("AAPL");
+
+        // Then
+        assertEquals(FAST_PRICE, price);
+        verify(vendor, times(Hedger.MINIMUM_SAMPLES + 2)).getCurrentPrice("AAPL");
+        assertEquals(1.0, hedges("won"));
+        assertEquals(0.0, hedges("lost"));
+    }
+
+    @Test
+    void getCurrentPrice_BudgetSpent_WaitsForOriginalRequest() {
+        // Given
+        HedgingMarketDataVendorAdapter adapter = adapter(0);
+        warmUp(adapter);
+        slowThenFast();
+        executor.execute(() -> {
+            sleep(100);
+            release.countDown();
+        });
+
+        // When
+        BigDecimal price = adapter.getCurrentPrice("AAPL");
+
+        // Then
+        assertEquals(SLOW_PRICE, price);
+        verify(vendor, times(Hedger.MINIMUM_SAMPLES + 1)).getCurrentPrice("AAPL");
+        assertEquals(1.0, registry.get("hub.adapter.hedge.skipped").tag("operation", "getCurrentPrice").counter().count());
+        assertEquals(0.0, hedges("won"));
+    }
+
+    @Test
+    void getCurrentPrice_TooFewSamples_NeverHedges() {
+        // Given
+        HedgingMarketDataVendorAdapter adapter = adapter(100);
+        slowThenFast();
+        executor.execute(() -> {
+            sleep(100);
+            release.countDown();
+        });
+
+        // When
+        BigDecimal price = adapter.getCurrentPrice("AAPL");
+
+        // Then
+        assertEquals(SLOW_PRICE, price);
+        verify(vendor, times(1)).getCurrentPrice("AAPL");
+        assertEquals(0.0, hedges("won") + hedges("lost"));
+    }
+
+    @Test
+    void getCurrentPrice_HedgeAlsoSlow_TimesOutAtTheSharedDeadline() {
+        // Given
+        timeout = Duration.ofMillis(300);
+        HedgingMarketDataVendorAdapter adapter = adapter(50);
+        warmUp(adapter);
+        when(vendor.getCurrentPrice("AAPL")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return SLOW_PRICE;
+        });
+
+        // When
+        long start = System.nanoTime();
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getCurrentPrice("AAPL"));
+
+        // Then: both calls are given up at the deadline rather than waited for
+        long elapsed = System.nanoTime() - start;
+        assertEquals("Timed out waiting for vendor", ex.getMessage());
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2));
+        verify(vendor, times(Hedger.MINIMUM_SAMPLES + 2)).getCurrentPrice("AAPL");
+        assertEquals(1.0, hedges("lost"));
+    }
+
+    @Test
+    void latencyHistogram_Percentile_IsWithinOneBucketOfTheExactValue() {
+        // Given
+        Hedger.LatencyHistogram histogram = new Hedger.LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        // When
+        long p95 = histogram.percentile(0.95);
+
+        // Then: buckets are an eighth of a power of two wide, and the upper bound is reported
+        long exact = TimeUnit.MICROSECONDS.toNanos(950);
+        assertTrue(p95 >= exact, () -> "p95 " + p95);
+        assertTrue(p95 < exact * 1.125 + 1, () -> "p95 " + p95);
+    }
+
+    private HedgingMarketDataVendorAdapter adapter(double budgetPercent) {
+        IntegrationHubProperties.Hedging config = new IntegrationHubProperties.Hedging();
+        config.setEnabled(true);
+        config.setMinDelay(Duration.ofMillis(20));
+        config.setBudgetPercent(budgetPercent);
+        return new HedgingMarketDataVendorAdapter(vendor, config, timeout, executor, registry);
+    }
+
+    private void warmUp(HedgingMarketDataVendorAdapter adapter) {
+        when(vendor.getCurrentPrice("AAPL")).thenReturn(FAST_PRICE);
+        for (int i = 0; i < Hedger.MINIMUM_SAMPLES; i++) {
+            adapter.getCurrentPrice("AAPL");
+        }
+        // Latencies are recorded as calls complete, just after their results are handed back
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (registry.get("hub.adapter.hedge.delay").tag("operation", "getCurrentPrice").gauge().value() == 0
+                && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * The next request blocks until released, any request after it answers at once.
+     */
+    private void slowThenFast() {
+        AtomicInteger calls = new AtomicInteger();
+        when(vendor.getCurrentPrice("AAPL")).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                release.await(5, TimeUnit.SECONDS);
+                return SLOW_PRICE;
+            }
+            return FAST_PRICE;
+        });
+    }
+
+    private double hedges(String outcome) {
+        return registry.get("hub.adapter.hedge.requests").tag("operation", "getCurrentPrice")
+            .tag("outcome", outcome).counter().count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
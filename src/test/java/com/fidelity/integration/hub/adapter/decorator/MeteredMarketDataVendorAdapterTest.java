@@ -0,0 +1,88 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MeteredMarketDataVendorAdapter.
+ * Verifies per-operation and per-outcome timing and that epochs and ticks pass through.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeteredMarketDataVendorAdapterTest {
+
+    @Mock
+    private MarketDataVendorAdapter vendor;
+
+    private SimpleMeterRegistry registry;
+    private MeteredMarketDataVendorAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        adapter = new MeteredMarketDataVendorAdapter(vendor, registry);
+    }
+
+    @Test
+    void getCurrentPrices_TimesCallAndRecordsBatchSize() {
+        // Given
+        when(vendor.getCurrentPrices(List.of("AAPL", "MSFT"))).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"), "MSFT", new BigDecimal("380.50")));
+
+        // When
+        Map<String, BigDecimal> prices = adapter.getCurrentPrices(List.of("AAPL", "MSFT"));
+
+        // Then
+        assertEquals(2, prices.size());
+        assertEquals(1, timer("getCurrentPrices", "SUCCESS").count());
+        assertEquals(0, timer("getCurrentPrices", "ERROR").count());
+        assertEquals(2.0, registry.get("hub.adapter.vendor.batch.symbols").summary().totalAmount());
+    }
+
+    @Test
+    void getCurrentPrice_ProviderFails_RecordsErrorAndRethrows() {
+        // Given
+        when(vendor.getCurrentPrice("AAPL")).thenThrow(new ProviderException("Vendor unavailable"));
+
+        // When/Then
+        assertThrows(ProviderException.class, () -> adapter.getCurrentPrice("AAPL"));
+        assertEquals(1, timer("getCurrentPrice", "ERROR").count());
+        assertEquals(0, timer("getCurrentPrice", "SUCCESS").count());
+    }
+
+    @Test
+    void priceEpochAndTickListeners_PassThrough() {
+        // Given
+        PriceTickListener listener = (symbol, price) -> { };
+        when(vendor.getPriceEpoch()).thenReturn(7L);
+
+        // When
+        adapter.addPriceTickListener(listener);
+
+        // Then
+        assertEquals(7L, adapter.getPriceEpoch());
+        verify(vendor).addPriceTickListener(listener);
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return registry.get("hub.adapter.requests")
+            .tag("adapter", "vendor")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .timer();
+    }
+}
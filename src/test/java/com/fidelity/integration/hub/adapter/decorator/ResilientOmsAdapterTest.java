@@ -0,0 +1,162 @@
+package com.fidelity.integration.hub.adapter.decorator;
+
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.ProviderException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ResilientOmsAdapter and the ProviderResilience it calls through.
+ * Verifies retries, the whole-call timeout, the circuit breaker and the bulkhead.
+ */
+@ExtendWith(MockitoExtension.class)
+class ResilientOmsAdapterTest {
+
+    @Mock
+    private OmsAdapter oms;
+
+    private SimpleMeterRegistry registry;
+    private ProviderResilience resilience;
+    private ResilientOmsAdapter adapter;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        resilience.close();
+    }
+
+    @Test
+    void getAccountById_TransientFailure_RetriesAndReturns() {
+        // Given
+        setUp(config(Duration.ofSeconds(2), 3));
+        Account account = Account.builder().accountId("ACC-1").build();
+        when(oms.getAccountById("ACC-1"))
+            .thenThrow(new ProviderException("OMS unavailable"))
+            .thenReturn(account);
+
+        // When
+        Account result = adapter.getAccountById("ACC-1");
+
+        // Then
+        assertSame(account, result);
+        verify(oms, times(2)).getAccountById("ACC-1");
+        assertEquals(1.0, registry.get("hub.adapter.retries").tag("adapter", "oms").counter().count());
+    }
+
+    @Test
+    void getAccountById_FailsOnEveryAttempt_RethrowsLastFailure() {
+        // Given
+        setUp(config(Duration.ofSeconds(2), 3));
+        when(oms.getAccountById("ACC-1")).thenThrow(new ProviderException("OMS unavailable"));
+
+        // When/Then
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getAccountById("ACC-1"));
+        assertEquals("OMS unavailable", ex.getMessage());
+        verify(oms, times(3)).getAccountById("ACC-1");
+    }
+
+    @Test
+    void getAccountById_SlowProvider_TimesOutWithoutRetrying() {
+        // Given
+        setUp(config(Duration.ofMillis(100), 3));
+        CountDownLatch release = new CountDownLatch(1);
+        when(oms.getAccountById("ACC-1")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        // When/Then
+        long start = System.nanoTime();
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getAccountById("ACC-1"));
+        release.countDown();
+        assertTrue(ex.getMessage().startsWith("Timed out calling oms getAccountById"));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        verify(oms, times(1)).getAccountById("ACC-1");
+    }
+
+    @Test
+    void getAccountById_BreakerOpen_FailsFastWithoutCallingProvider() {
+        // Given
+        IntegrationHubProperties.Provider config = config(Duration.ofSeconds(2), 1);
+        config.getCircuitBreaker().setSlidingWindowSize(4);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        setUp(config);
+        when(oms.getAccountById("ACC-1")).thenThrow(new ProviderException("OMS unavailable"));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ProviderException.class, () -> adapter.getAccountById("ACC-1"));
+        }
+
+        // When
+        ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getAccountById("ACC-1"));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitBreaker().getState());
+        assertInstanceOf(CallNotPermittedException.class, ex.getCause());
+        verify(oms, times(4)).getAccountById("ACC-1");
+    }
+
+    @Test
+    void getAccountById_BulkheadFull_RejectsWithoutTrippingBreaker() throws Exception {
+        // Given
+        IntegrationHubProperties.Provider config = config(Duration.ofSeconds(2), 3);
+        config.getBulkhead().setMaxConcurrentCalls(1);
+        config.getBulkhead().setQueueCapacity(1);
+        setUp(config);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(oms.getAccountById("ACC-1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        Thread running = new Thread(() -> adapter.getAccountById("ACC-1"));
+        Thread queued = new Thread(() -> adapter.getAccountById("ACC-1"));
+        running.start();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        queued.start();
+        while (resilience.getBulkhead().getMetrics().getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            // When
+            ProviderException ex = assertThrows(ProviderException.class, () -> adapter.getAccountById("ACC-1"));
+
+            // Then
+            assertTrue(ex.getMessage().startsWith("Too many concurrent oms calls"));
+            assertEquals(0, resilience.getCircuitBreaker().getMetrics().getNumberOfFailedCalls());
+        } finally {
+            release.countDown();
+            running.join();
+            queued.join();
+        }
+    }
+
+    private void setUp(IntegrationHubProperties.Provider config) {
+        registry = new SimpleMeterRegistry();
+        resilience = new ProviderResilience("oms", config, registry);
+        adapter = new ResilientOmsAdapter(oms, resilience);
+    }
+
+    private static IntegrationHubProperties.Provider config(Duration timeout, int maxAttempts) {
+        IntegrationHubProperties.Provider config = new IntegrationHubProperties.Provider();
+        config.setTimeout(timeout);
+        config.getRetry().setMaxAttempts(maxAttempts);
+        config.getRetry().setBackoffDelay(Duration.ofMillis(1));
+        return config;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fidelity.integration.hub.adapter.domain;
+
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AccountSnapshot.
+ * Verifies that derived version tokens are stable and change with any field of the snapshot.
+ */
+class AccountSnapshotTest {
+
+    private final Account account = account("Brokerage");
+
+    @Test
+    void versionOf_SameContent_SameToken() {
+        // When
+        String first = AccountSnapshot.versionOf(account, List.of(position("AAPL", "100")));
+        String second = AccountSnapshot.versionOf(account("Brokerage"), List.of(position("AAPL", "100")));
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(32, first.length());
+    }
+
+    @Test
+    void versionOf_AnyChange_NewToken() {
+        // Given
+        String version = AccountSnapshot.versionOf(account, List.of(position("AAPL", "100")));
+
+        // When/Then
+        assertNotEquals(version, AccountSnapshot.versionOf(account, List.of(position("AAPL", "101"))));
+        assertNotEquals(version, AccountSnapshot.versionOf(account, List.of(position("AAPL", "100.0"))));
+        assertNotEquals(version, AccountSnapshot.versionOf(account, List.of(position("AAPL", "100"), position("MSFT", "1"))));
+        assertNotEquals(version, AccountSnapshot.versionOf(account("Renamed"),
+            List.of(position("AAPL", "100"))));
+    }
+
+    private static Account account(String displayName) {
+        return Account.builder().accountId("ACC-1").clientId("CLT-1").displayName(displayName).currency("USD").build();
+    }
+
+    private static Position position(String symbol, String quantity) {
+        return Position.builder()
+            .symbol(symbol)
+            .assetClass(AssetClass.EQUITY)
+            .quantity(new BigDecimal(quantity))
+            .costBasisPerShare(new BigDecimal("150.00"))
+            .currency("USD")
+            .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.fidelity.integration.hub.adapter.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SymbolDictionary.
+ * Verifies dense, stable ids, case handling on lookup and concurrent registration.
+ */
+class SymbolDictionaryTest {
+
+    @Test
+    void idOf_AssignsDenseIdsOncePerSymbol() {
+        // Given
+        SymbolDictionary dictionary = new SymbolDictionary();
+
+        // When
+        int aapl = dictionary.idOf("AAPL");
+        int msft = dictionary.idOf("MSFT");
+
+        // Then
+        assertEquals(0, aapl);
+        assertEquals(1, msft);
+        assertEquals(aapl, dictionary.idOf(new String("AAPL")));
+        assertEquals("MSFT", dictionary.symbolOf(msft));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void find_FallsBackToUpperCase_AndNeverRegisters() {
+        // Given
+        SymbolDictionary dictionary = new SymbolDictionary();
+        int aapl = dictionary.idOf("AAPL");
+
+        // When/Then
+        assertEquals(aapl, dictionary.find("AAPL"));
+        assertEquals(aapl, dictionary.find("aapl"));
+        assertEquals(SymbolDictionary.UNASSIGNED, dictionary.find("TSLA"));
+        assertEquals(1, dictionary.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.symbolOf(1));
+    }
+
+    @Test
+    void idOf_ConcurrentRegistration_GivesEverySymbolOneId() throws Exception {
+        // Given
+        SymbolDictionary dictionary = new SymbolDictionary();
+        int threads = 4;
+        int symbols = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<int[]>> results = new ArrayList<>();
+
+        // When: every thread registers the same symbols
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    int[] ids = new int[symbols];
+                    for (int i = 0; i < symbols; i++) {
+                        ids[i] = dictionary.idOf("SYM" + i);
+                    }
+                    return ids;
+                }));
+            }
+
+            // Then
+            int[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<int[]> result : results) {
+                assertArrayEquals(expected, result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(symbols, dictionary.size());
+            for (int i = 0; i < symbols; i++) {
+                assertEquals("SYM" + i, dictionary.symbolOf(expected[i]));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fidelity.integration.hub.adapter.impl;
+
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.enums.AccountStatus;
+import com.fidelity.integration.hub.model.enums.AccountType;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Round-trip tests for PositionFileWriter and MappedPositionFileOmsAdapter.
+ */
+class MappedPositionFileOmsAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTrip_AccountsAndPositions_AreServedFromTheMappedFile() throws IOException {
+        // Given
+        Account account = Account.builder()
+            .accountId("ACC-1")
+            .clientId("CLIENT-1")
+            .accountType(AccountType.IRA)
+            .status(AccountStatus.ACTIVE)
+            .displayName("Replay Account")
+            .currentValue(new BigDecimal("1234.56"))
+            .currency("USD")
+            .openedDate(Instant.parse("2020-01-15T00:00:00Z"))
+            .build();
+        Position aapl = position("AAPL", "100", "150.1234");
+        Position msft = position("MSFT", "0.5", "200");
+        Path file = directory.resolve("positions.hub");
+        try (PositionFileWriter writer = new PositionFileWriter(file)) {
+            writer.addAccount(account, List.of(aapl, msft));
+            writer.addAccount(Account.builder().accountId("ACC-2").clientId("CLIENT-1").build(), List.of(aapl));
+            writer.addAccount(Account.builder().accountId("ACC-3").clientId("CLIENT-2").build(), List.of());
+        }
+
+        // When
+        MappedPositionFileOmsAdapter adapter = new MappedPositionFileOmsAdapter(file);
+
+        // Then
+        Account read = adapter.getAccountById("ACC-1");
+        assertEquals(account.getDisplayName(), read.getDisplayName());
+        assertEquals(AccountType.IRA, read.getAccountType());
+        assertEquals(0, account.getCurrentValue().compareTo(read.getCurrentValue()));
+        assertEquals(account.getOpenedDate(), read.getOpenedDate());
+        assertNull(read.getLastUpdated());
+
+        List<Position> positions = adapter.getPositionsByAccount("ACC-1");
+        assertEquals(2, positions.size());
+        assertEquals("MSFT", positions.get(1).getSymbol());
+        assertEquals("Microsoft Corporation", positions.get(1).getInstrumentName());
+        assertEquals(0, new BigDecimal("0.5").compareTo(positions.get(1).getQuantity()));
+        assertEquals(0, new BigDecimal("150.1234").compareTo(positions.get(0).getCostBasisPerShare()));
+
+        assertEquals(2, adapter.getAccountsByClient("CLIENT-1").size());
+        assertTrue(adapter.getPositionsByAccount("ACC-3").isEmpty());
+        assertTrue(adapter.getPositionsByAccount("ACC-UNKNOWN").isEmpty());
+        assertNull(adapter.getAccountSnapshot("ACC-UNKNOWN"));
+    }
+
+    @Test
+    void getAccountSnapshot_VersionIsStableAndMatchesVersionCheck() throws IOException {
+        // Given
+        Path file = directory.resolve("positions.hub");
+        try (PositionFileWriter writer = new PositionFileWriter(file)) {
+            writer.addAccount(Account.builder().accountId("ACC-1").clientId("CLIENT-1").build(),
+                List.of(position("AAPL", "10", "1")));
+        }
+        MappedPositionFileOmsAdapter adapter = new MappedPositionFileOmsAdapter(file);
+
+        // When
+        AccountSnapshot snapshot = adapter.getAccountSnapshot("ACC-1");
+
+        // Then
+        assertEquals(1, snapshot.getPositions().size());
+        assertEquals(snapshot.getVersion(), adapter.getAccountVersion("ACC-1"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPositions().clear());
+    }
+
+    @Test
+    void roundTrip_Decimals_KeepTheScaleTheyWereWrittenWith() throws IOException {
+        // Given
+        List<Position> written = List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "10.5", "1E+3"),
+            position("GOOGL", "0.0001", "200.000000"));
+        Path file = directory.resolve("positions.hub");
+        try (PositionFileWriter writer = new PositionFileWriter(file)) {
+            writer.addAccount(Account.builder().accountId("ACC-1").clientId("CLIENT-1").build(), written);
+        }
+
+        // When
+        List<Position> read = new MappedPositionFileOmsAdapter(file).getPositionsByAccount("ACC-1");
+
+        // Then: equals on BigDecimal compares scale as well as value
+        for (int i = 0; i < written.size(); i++) {
+            assertEquals(written.get(i).getQuantity(), read.get(i).getQuantity());
+            assertEquals(written.get(i).getCostBasisPerShare(), read.get(i).getCostBasisPerShare());
+        }
+    }
+
+    @Test
+    void addAccount_QuantityBeyondFixedScale_IsRejected() {
+        // Given
+        PositionFileWriter writer = new PositionFileWriter(directory.resolve("positions.hub"));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> writer.addAccount(
+            Account.builder().accountId("ACC-1").build(), List.of(position("AAPL", "0.00001", "1"))));
+    }
+
+    @Test
+    void constructor_NotAPositionFile_FailsFast() throws IOException {
+        // Given
+        Path file = Files.write(directory.resolve("garbage.hub"), new byte[64]);
+
+        // When / Then
+        assertThrows(UncheckedIOException.class, () -> new MappedPositionFileOmsAdapter(file));
+    }
+
+    private static Position position(String symbol, String quantity, String costBasis) {
+        return Position.builder()
+            .symbol(symbol)
+            .instrumentName("MSFT".equals(symbol) ? "Microsoft Corporation" : "Apple Inc.")
+            .assetClass(AssetClass.EQUITY)
+            .quantity(new BigDecimal(quantity))
+            .costBasisPerShare(new BigDecimal(costBasis))
+            .currency("USD")
+            .build();
+    }
+}
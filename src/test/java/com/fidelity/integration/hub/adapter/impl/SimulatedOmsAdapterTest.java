@@ -0,0 +1,104 @@
+package com.fidelity.integration.hub.adapter.impl;
+
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulatedOmsAdapter and its synthetic book.
+ */
+class SimulatedOmsAdapterTest {
+
+    private IntegrationHubProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IntegrationHubProperties();
+        IntegrationHubProperties.Simulated simulated = properties.getOms().getSimulated();
+        simulated.setSyntheticAccounts(1_000);
+        simulated.setAccountsPerClient(4);
+        simulated.setPositionsPerAccount(10);
+        simulated.setSymbolUniverse(50);
+    }
+
+    @Test
+    void demoAccounts_AreServedUnchanged() {
+        // Given
+        SimulatedOmsAdapter adapter = new SimulatedOmsAdapter(properties);
+
+        // When / Then
+        assertEquals("My Investment Account", adapter.getAccountById("ACC-12345").getDisplayName());
+        assertEquals(2, adapter.getAccountsByClient("CLIENT-98765").size());
+        assertEquals(3, adapter.getPositionsByAccount("ACC-12345").size());
+        assertTrue(adapter.getPositionsByAccount("ACC-12346").isEmpty());
+        assertNull(adapter.getAccountById("ACC-UNKNOWN"));
+    }
+
+    @Test
+    void demoAccounts_VersionMatchesTheSnapshot() {
+        // Given
+        SimulatedOmsAdapter adapter = new SimulatedOmsAdapter(properties);
+
+        // When
+        AccountSnapshot snapshot = adapter.getAccountSnapshot("ACC-12345");
+
+        // Then
+        assertEquals(AccountSnapshot.versionOf(snapshot.getAccount(), snapshot.getPositions()), snapshot.getVersion());
+        assertEquals(snapshot.getVersion(), adapter.getAccountVersion("ACC-12345"));
+        assertNotEquals(snapshot.getVersion(), adapter.getAccountVersion("ACC-12346"));
+        assertNull(adapter.getAccountVersion("ACC-UNKNOWN"));
+    }
+
+    @Test
+    void syntheticBook_SameSeed_ProducesSameBook() {
+        // Given
+        SimulatedOmsAdapter first = new SimulatedOmsAdapter(properties);
+        SimulatedOmsAdapter second = new SimulatedOmsAdapter(properties);
+
+        // When
+        AccountSnapshot a = first.getAccountSnapshot("ACC-S0000777");
+        AccountSnapshot b = second.getAccountSnapshot("ACC-S0000777");
+
+        // Then
+        assertNotNull(a);
+        assertFalse(a.getPositions().isEmpty());
+        assertEquals(a.getPositions(), b.getPositions());
+        assertEquals(a.getAccount().getCurrentValue(), b.getAccount().getCurrentValue());
+        assertEquals(a.getVersion(), b.getVersion());
+        assertEquals(a.getVersion(), first.getAccountVersion("ACC-S0000777"));
+    }
+
+    @Test
+    void syntheticBook_ClientIndex_ReturnsEveryAccountOfTheClient() {
+        // Given
+        SimulatedOmsAdapter adapter = new SimulatedOmsAdapter(properties);
+
+        // When
+        List<Account> accounts = adapter.getAccountsByClient("CLIENT-S000002");
+
+        // Then
+        assertEquals(List.of("ACC-S0000008", "ACC-S0000009", "ACC-S0000010", "ACC-S0000011"),
+            accounts.stream().map(Account::getAccountId).toList());
+        accounts.forEach(account -> assertEquals("CLIENT-S000002", account.getClientId()));
+    }
+
+    @Test
+    void syntheticBook_PositionsPerAccount_StayWithinConfiguredRange() {
+        // Given
+        SimulatedOmsAdapter adapter = new SimulatedOmsAdapter(properties);
+
+        // When / Then
+        for (int row = 0; row < 1_000; row += 37) {
+            List<Position> positions = adapter.getPositionsByAccount(String.format("ACC-S%07d", row));
+            assertTrue(positions.size() >= 1 && positions.size() <= 20, "got " + positions.size());
+        }
+        assertTrue(adapter.getPositionsByAccount("ACC-S9999999").isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import com.fidelity.integration.hub.adapter.domain.SymbolDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PriceTable.
+ * Verifies that prices round-trip exactly, value and scale, whether packed or overflowed.
+ */
+class PriceTableTest {
+
+    private final SymbolDictionary dictionary = new SymbolDictionary();
+    private final PriceTable table = new PriceTable(dictionary);
+
+    @Test
+    void put_PackedPrices_RoundTripValueAndScale() {
+        // Given
+        table.put("AAPL", new BigDecimal("175.25"));
+        table.put("NEG", new BigDecimal("-0.0001"));
+        table.put("ROUND", new BigDecimal("2.00"));
+
+        // When/Then
+        assertEquals(new BigDecimal("175.25"), table.get("AAPL"));
+        assertEquals(new BigDecimal("-0.0001"), table.get("NEG"));
+        assertEquals(new BigDecimal("2.00"), table.get(dictionary.find("ROUND")));
+        assertEquals(new BigDecimal("175.25"), table.get("aapl"));
+        assertNull(table.get("MSFT"));
+        assertEquals(3, table.size());
+    }
+
+    @Test
+    void put_ReportsChangesIncludingScale() {
+        // Given
+        int id = dictionary.idOf("AAPL");
+        table.put(id, 17525, 2);
+
+        // When/Then
+        assertFalse(table.put(id, 17525, 2));
+        assertTrue(table.put(id, 175250, 3));
+        assertEquals(new BigDecimal("175.250"), table.get(id));
+    }
+
+    @Test
+    void put_PricesBeyondPackedRange_AreKeptExactly() {
+        // Given
+        int id = dictionary.idOf("BIG");
+        BigDecimal huge = new BigDecimal("123456789012345678901234567890.5");
+
+        // When/Then: from packed to overflow and back
+        table.put(id, 100, 2);
+        assertTrue(table.put(id, Long.MAX_VALUE, 2));
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2), table.get(id));
+        assertTrue(table.put("BIG", huge));
+        assertEquals(huge, table.get(id));
+        assertFalse(table.put("BIG", huge));
+        assertTrue(table.put(id, 100, 2));
+        assertEquals(new BigDecimal("1.00"), table.get(id));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void get_SymbolIdsBeyondFirstChunk_AreIndependent() {
+        // Given
+        for (int i = 0; i < 3_000; i++) {
+            table.put(dictionary.idOf("SYM" + i), i, 0);
+        }
+
+        // When/Then
+        assertEquals(BigDecimal.valueOf(2_999), table.get("SYM2999"));
+        assertEquals(BigDecimal.valueOf(1_024), table.get("SYM1024"));
+        assertNull(table.get(5_000));
+        assertEquals(3_000, table.size());
+    }
+}
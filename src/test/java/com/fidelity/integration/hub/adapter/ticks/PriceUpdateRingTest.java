@@ -0,0 +1,86 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PriceUpdateRing.
+ * Verifies capacity limits and lossless, per-producer ordered delivery under contention.
+ */
+class PriceUpdateRingTest {
+
+    @Test
+    void offer_FullRing_RejectsUntilDrained() {
+        // Given
+        PriceUpdateRing ring = new PriceUpdateRing(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(7, i, 2));
+        }
+
+        // When/Then
+        assertFalse(ring.offer(7, 4, 2));
+        List<Long> drained = new ArrayList<>();
+        assertEquals(2, ring.drain((symbolId, unscaled, scale) -> drained.add(unscaled), 2));
+        assertTrue(ring.offer(7, 4, 2));
+        assertEquals(3, ring.drain((symbolId, unscaled, scale) -> drained.add(unscaled), 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), drained);
+    }
+
+    @Test
+    void offer_ConcurrentProducers_DeliversEveryUpdateInProducerOrder() throws Exception {
+        // Given
+        int producers = 4;
+        int perProducer = 50_000;
+        PriceUpdateRing ring = new PriceUpdateRing(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!ring.offer(producer, i, 0)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            // When
+            start.countDown();
+            long[] next = new long[producers];
+            long received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < (long) producers * perProducer && System.nanoTime() < deadline) {
+                received += ring.drain((symbolId, unscaled, scale) -> {
+                    assertEquals(next[symbolId]++, unscaled);
+                }, 256);
+            }
+
+            // Then
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals((long) producers * perProducer, received);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_CapacityNotPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PriceUpdateRing(1000));
+    }
+}
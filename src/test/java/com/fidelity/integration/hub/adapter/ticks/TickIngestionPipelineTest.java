@@ -0,0 +1,136 @@
+package com.fidelity.integration.hub.adapter.ticks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TickIngestionPipeline with a file replay source.
+ * Verifies that the table ends at the last replayed prices, ticks are published without holding
+ * up ingestion and readers never observe a half-written price.
+ */
+class TickIngestionPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void fileReplay_AppliesUpdatesAndPublishesLatestPrices() throws Exception {
+        // Given
+        Path file = tempDir.resolve("prices.csv");
+        Files.write(file, List.of("# symbol,price", "AAPL,175.25", "", "MSFT,380.50", "AAPL,176", "AAPL, 176.10 "));
+        PriceTable table = new PriceTable();
+        Map<String, BigDecimal> ticks = new ConcurrentHashMap<>();
+
+        // When
+        try (TickIngestionPipeline pipeline = new TickIngestionPipeline(
+                table, new FileReplayPriceSource(file, false), 8, 2, ticks::put)) {
+            pipeline.start();
+            awaitApplied(pipeline, 4);
+        }
+
+        // Then
+        assertEquals(new BigDecimal("176.10"), table.get("AAPL"));
+        assertEquals(new BigDecimal("380.50"), table.get("MSFT"));
+        assertEquals(Map.of("AAPL", new BigDecimal("176.10"), "MSFT", new BigDecimal("380.50")), ticks);
+        assertTrue(table.getEpoch() > 0);
+    }
+
+    @Test
+    void fileReplay_ConcurrentReaders_NeverSeeTornPrices() throws Exception {
+        // Given: the price alternates between values whose unscaled value and scale both differ
+        Path file = tempDir.resolve("alternating.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 50_000; i++) {
+                writer.write(i % 2 == 0 ? "AAPL,1.5\n" : "AAPL,2.00\n");
+            }
+        }
+        PriceTable table = new PriceTable();
+        table.put("AAPL", new BigDecimal("1.5"));
+        AtomicBoolean reading = new AtomicBoolean(true);
+        AtomicReference<BigDecimal> torn = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (reading.get()) {
+                BigDecimal price = table.get("AAPL");
+                if (!price.equals(new BigDecimal("1.5")) && !price.equals(new BigDecimal("2.00"))) {
+                    torn.set(price);
+                }
+            }
+        });
+        reader.start();
+
+        // When
+        try (TickIngestionPipeline pipeline = new TickIngestionPipeline(
+                table, new FileReplayPriceSource(file, false), 1024, 64, (symbol, price) -> { })) {
+            pipeline.start();
+            awaitApplied(pipeline, 50_000);
+        } finally {
+            reading.set(false);
+            reader.join();
+        }
+
+        // Then
+        assertNull(torn.get());
+        assertEquals(new BigDecimal("2.00"), table.get("AAPL"));
+    }
+
+    @Test
+    void fileReplay_SlowListener_DoesNotHoldUpIngestion() throws Exception {
+        // Given: a listener that blocks until released
+        Path file = tempDir.resolve("prices.csv");
+        Files.write(file, List.of("AAPL,1", "MSFT,2", "AAPL,3"));
+        PriceTable table = new PriceTable();
+        CountDownLatch release = new CountDownLatch(1);
+        Map<String, BigDecimal> ticks = new ConcurrentHashMap<>();
+
+        try (TickIngestionPipeline pipeline = new TickIngestionPipeline(
+                table, new FileReplayPriceSource(file, false), 8, 1, (symbol, price) -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    ticks.put(symbol, price);
+                })) {
+            // When
+            pipeline.start();
+            awaitApplied(pipeline, 3);
+
+            // Then: every update is applied while the listener is still blocked
+            assertEquals(new BigDecimal("3"), table.get("AAPL"));
+            assertTrue(ticks.isEmpty());
+
+            // Then: once released, the listener catches up with the latest prices
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            Map<String, BigDecimal> expected = Map.of("AAPL", new BigDecimal("3"), "MSFT", new BigDecimal("2"));
+            while (!ticks.equals(expected) && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(expected, ticks);
+        }
+    }
+
+    private static void awaitApplied(TickIngestionPipeline pipeline, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pipeline.getAppliedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, pipeline.getAppliedCount());
+        // Let the publisher send the last batch
+        Thread.sleep(20);
+    }
+}
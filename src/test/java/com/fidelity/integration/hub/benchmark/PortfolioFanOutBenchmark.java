@@ -0,0 +1,184 @@
+package com.fidelity.integration.hub.benchmark;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Instrument;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.config.ConcurrencyConfig;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.PortfolioService;
+import com.fidelity.integration.hub.service.valuation.FixedPointValuationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency benchmark comparing the serial portfolio path with the concurrent fan-out.
+ *
+ * Adapters inject fixed per-call latency plus a per-symbol cost for vendor batches, which is
+ * roughly how a remote OMS and vendor behave. Excluded from the default build; run with:
+ * <pre>
+ * mvn test -Pbenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class PortfolioFanOutBenchmark {
+
+    private static final long ACCOUNT_LATENCY_MICROS = 20_000;
+    private static final long POSITIONS_LATENCY_MICROS = 30_000;
+    private static final long PRICE_BATCH_LATENCY_MICROS = 15_000;
+    private static final long PRICE_PER_SYMBOL_MICROS = 50;
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 30;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void startExecutor() {
+        executor = new ConcurrencyConfig().integrationExecutor(new IntegrationHubProperties());
+    }
+
+    @AfterAll
+    static void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest(name = "{0} positions")
+    @ValueSource(ints = {10, 100, 1_000})
+    void serialVersusFanOut(int positionCount) {
+        OmsAdapter oms = new LatencyOmsAdapter(positionCount);
+        MarketDataVendorAdapter vendor = new LatencyVendorAdapter();
+
+        IntegrationHubProperties serialProperties = new IntegrationHubProperties();
+        serialProperties.getPortfolio().setParallelFanOut(false);
+        serialProperties.getPortfolio().getMaterializedView().setEnabled(false);
+        IntegrationHubProperties fanOutProperties = new IntegrationHubProperties();
+        fanOutProperties.getPortfolio().setPriceBatchSize(100);
+        fanOutProperties.getPortfolio().getMaterializedView().setEnabled(false);
+
+        long[] serial = measure(new PortfolioService(oms, vendor, executor, executor, serialProperties, new FixedPointValuationEngine(),
+            new SimpleMeterRegistry()));
+        long[] fanOut = measure(new PortfolioService(oms, vendor, executor, executor, fanOutProperties, new FixedPointValuationEngine(),
+            new SimpleMeterRegistry()));
+
+        System.out.printf("positions=%5d  serial p50=%6.1fms p99=%6.1fms  fan-out p50=%6.1fms p99=%6.1fms%n",
+            positionCount,
+            millis(percentile(serial, 0.50)), millis(percentile(serial, 0.99)),
+            millis(percentile(fanOut, 0.50)), millis(percentile(fanOut, 0.99)));
+
+        assertTrue(percentile(fanOut, 0.50) < percentile(serial, 0.50),
+            "fan-out should beat the serial path at " + positionCount + " positions");
+    }
+
+    private static long[] measure(PortfolioService service) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            service.getPortfolioByAccount("ACC-BENCH");
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            service.getPortfolioByAccount("ACC-BENCH");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void pause(long micros) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+
+    private static final class LatencyOmsAdapter implements OmsAdapter {
+
+        private final Account account = Account.builder().accountId("ACC-BENCH").clientId("CLIENT-BENCH").build();
+        private final List<Position> positions = new ArrayList<>();
+
+        LatencyOmsAdapter(int positionCount) {
+            for (int i = 0; i < positionCount; i++) {
+                positions.add(Position.builder()
+                    .symbol("SYM" + i)
+                    .instrumentName("Instrument " + i)
+                    .assetClass(AssetClass.EQUITY)
+                    .quantity(BigDecimal.valueOf(10 + i))
+                    .costBasisPerShare(new BigDecimal("95.00"))
+                    .currency("USD")
+                    .build());
+            }
+        }
+
+        @Override
+        public Account getAccountById(String accountId) {
+            pause(ACCOUNT_LATENCY_MICROS);
+            return account;
+        }
+
+        @Override
+        public List<Account> getAccountsByClient(String clientId) {
+            return List.of(account);
+        }
+
+        @Override
+        public List<Position> getPositionsByAccount(String accountId) {
+            pause(POSITIONS_LATENCY_MICROS);
+            return new ArrayList<>(positions);
+        }
+
+        @Override
+        public AccountSnapshot getAccountSnapshot(String accountId) {
+            pause(POSITIONS_LATENCY_MICROS);
+            return new AccountSnapshot(account, new ArrayList<>(positions), "1");
+        }
+    }
+
+    private static final class LatencyVendorAdapter implements MarketDataVendorAdapter {
+
+        private static final BigDecimal PRICE = new BigDecimal("101.25");
+
+        @Override
+        public BigDecimal getCurrentPrice(String symbol) {
+            pause(PRICE_BATCH_LATENCY_MICROS);
+            return PRICE;
+        }
+
+        @Override
+        public Map<String, BigDecimal> getCurrentPrices(Collection<String> symbols) {
+            pause(PRICE_BATCH_LATENCY_MICROS + PRICE_PER_SYMBOL_MICROS * symbols.size());
+            Map<String, BigDecimal> prices = new HashMap<>();
+            symbols.forEach(symbol -> prices.put(symbol, PRICE));
+            return prices;
+        }
+
+        @Override
+        public Instrument getInstrumentBySymbol(String symbol) {
+            return null;
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package com.fidelity.integration.hub.controller.v1;
 
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.BadRequestException;
 import com.fidelity.integration.hub.model.dto.AccountDto;
 import com.fidelity.integration.hub.model.enums.AccountStatus;
 import com.fidelity.integration.hub.model.enums.AccountType;
 import com.fidelity.integration.hub.service.AccountService;
+import com.fidelity.integration.hub.service.Page;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - Error handling (Problem Details format)
  */
 @WebMvcTest(AccountController.class)
+@EnableConfigurationProperties(IntegrationHubProperties.class)
 class AccountControllerTest {
 
     @Autowired
@@ -102,4 +110,78 @@ class AccountControllerTest {
                 .with(csrf()))
             .andExpect(status().isOk());
     }
+
+    @Test
+    @WithMockUser
+    void getAccounts_WithLimit_LinksNextPage() throws Exception {
+        // Given
+        String clientId = "CLIENT-98765";
+        AccountDto accountDto = new AccountDto("ACC-12345", clientId, AccountType.BROKERAGE, AccountStatus.ACTIVE,
+            "My Investment Account", "****1234", new BigDecimal("125000.50"), "USD", Instant.now(), Instant.now());
+        when(accountService.getAccountsPage(eq(clientId), any(), any(), isNull(), eq(1)))
+            .thenReturn(new Page<>(List.of(accountDto), "next-page"));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/clients/{clientId}/accounts", clientId)
+                .param("limit", "1")
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].accountId").value("ACC-12345"))
+            .andExpect(header().string("X-Next-Cursor", "next-page"))
+            .andExpect(header().string("Link",
+                "<http://localhost/api/v1/clients/CLIENT-98765/accounts?cursor=next-page&limit=1>; rel=\"next\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getAccounts_LimitOutOfRange_Returns400() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/v1/clients/{clientId}/accounts", "CLIENT-98765")
+                .param("limit", "0")
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    @WithMockUser
+    void getAccounts_InvalidCursor_Returns400() throws Exception {
+        // Given
+        when(accountService.getAccountsPage(anyString(), any(), any(), eq("garbage"), anyInt()))
+            .thenThrow(new BadRequestException("Invalid cursor"));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/clients/{clientId}/accounts", "CLIENT-98765")
+                .param("cursor", "garbage")
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.errorCode").value("BAD_REQUEST"))
+            .andExpect(jsonPath("$.detail").value("Invalid cursor"));
+    }
+
+    @Test
+    @WithMockUser(username = "rate-limited-consumer")
+    void getAccounts_ClientOverRateLimit_Returns429WithRetryAfter() throws Exception {
+        // Given
+        String clientId = "CLIENT-55555";
+        when(accountService.getAccountsByClient(eq(clientId), any(), any())).thenReturn(List.of());
+
+        // When: more requests than the burst, faster than the sustained rate
+        MvcResult rejected = null;
+        for (int i = 0; i < 200 && rejected == null; i++) {
+            MvcResult result = mockMvc.perform(get("/api/v1/clients/{clientId}/accounts", clientId)).andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+
+        // Then
+        assertNotNull(rejected);
+        assertEquals(MediaType.APPLICATION_PROBLEM_JSON_VALUE, rejected.getResponse().getContentType());
+        assertTrue(Long.parseLong(rejected.getResponse().getHeader("Retry-After")) >= 1);
+        assertTrue(rejected.getResponse().getContentAsString().contains("\"errorCode\":\"RATE_LIMIT_EXCEEDED\""));
+        mockMvc.perform(get("/api/v1/clients/{clientId}/accounts", clientId).with(user("other-consumer")))
+            .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,301 @@
+package com.fidelity.integration.hub.controller.v1;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.ResourceNotFoundException;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PortfolioUpdateDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.PortfolioFeed;
+import com.fidelity.integration.hub.service.PortfolioService;
+import com.fidelity.integration.hub.service.PortfolioStream;
+import com.fidelity.integration.hub.service.PortfolioVersion;
+import com.fidelity.integration.hub.service.Versioned;
+import com.fidelity.integration.hub.service.valuation.PortfolioTotals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller slice test for PortfolioController.
+ */
+@WebMvcTest(PortfolioController.class)
+@EnableConfigurationProperties(IntegrationHubProperties.class)
+class PortfolioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PortfolioService portfolioService;
+
+    @MockBean
+    private PortfolioFeed portfolioFeed;
+
+    @Test
+    @WithMockUser
+    void getPortfolios_StreamsOneNdjsonLinePerAccount_WithInlineErrors() throws Exception {
+        // Given
+        PortfolioDto portfolio = new PortfolioDto("ACC-12345", new BigDecimal("17525.00"), new BigDecimal("15000.00"),
+            new BigDecimal("2525.00"), new BigDecimal("16.8300"), "USD", List.of(), Instant.now(), Instant.now(), false);
+        doAnswer(invocation -> {
+            PortfolioService.BatchResultHandler handler = invocation.getArgument(1);
+            handler.onResult("ACC-12345", portfolio, null);
+            handler.onResult("ACC-NOTFOUND", null, new ResourceNotFoundException("Account not found: ACC-NOTFOUND"));
+            return null;
+        }).when(portfolioService).getPortfolios(anyCollection(), any());
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/v1/accounts/portfolios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"accountIds\":[\"ACC-12345\",\"ACC-NOTFOUND\"]}")
+                .with(csrf()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"accountId\":\"ACC-12345\"") && lines[0].contains("\"totalValue\":17525.00"));
+        assertFalse(lines[0].contains("\"error\""));
+        assertTrue(lines[1].contains("\"errorCode\":\"RESOURCE_NOT_FOUND\"") && lines[1].contains("\"status\":404"));
+        assertTrue(lines[1].contains("\"instance\":\"/api/v1/accounts/portfolios/batch\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getPortfolio_MatchingIfNoneMatch_Returns304WithoutValuing() throws Exception {
+        // Given
+        when(portfolioService.getVersionedPortfolio(eq("ACC-12345"), any())).thenReturn(new Versioned<>(portfolio(), "1a2b.7"));
+        when(portfolioService.getPortfolioVersion("ACC-12345")).thenReturn(new PortfolioVersion("1a2b.7", "1a2b"));
+        String eTag = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(portfolioService);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio").header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", eTag))
+            .andExpect(content().string(""));
+        verify(portfolioService, never()).getVersionedPortfolio(anyString(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void getPortfolio_WithoutIfNoneMatch_TakesWeakETagFromTheFetch() throws Exception {
+        // Given
+        when(portfolioService.getVersionedPortfolio(eq("ACC-12345"), any())).thenReturn(new Versioned<>(portfolio(), "1a2b.7"));
+
+        // When
+        String eTag = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        // Then: the body carries asOfDate, so the tag is weak; no separate version round trip
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("W/\""), eTag);
+        verify(portfolioService, never()).getPortfolioVersion(anyString());
+    }
+
+    @Test
+    @WithMockUser
+    void getPortfolio_PricesChanged_Returns200WithNewETag() throws Exception {
+        // Given
+        when(portfolioService.getVersionedPortfolio(eq("ACC-12345"), any()))
+            .thenReturn(new Versioned<>(portfolio(), "1a2b.7"), new Versioned<>(portfolio(), "1a2b.8"));
+        PortfolioVersion version = new PortfolioVersion("1a2b.8", "1a2b");
+        when(portfolioService.getPortfolioVersion("ACC-12345")).thenReturn(version);
+        String eTag = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        String newETag = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio").header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalValue").value(17525.00))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, newETag);
+        // The OMS version read for the check is not read again
+        verify(portfolioService).getVersionedPortfolio("ACC-12345", version);
+    }
+
+    @Test
+    @WithMockUser
+    void streamPortfolio_WritesPositionsThenTotals() throws Exception {
+        // Given
+        PortfolioStream portfolio = mock(PortfolioStream.class);
+        when(portfolio.getAccountId()).thenReturn("ACC-12345");
+        when(portfolio.forEachPosition(any())).thenAnswer(invocation -> {
+            PortfolioStream.PositionSink<?> sink = invocation.getArgument(0);
+            sink.accept(new PositionDto("AAPL", "Apple Inc.", AssetClass.EQUITY, new BigDecimal("100"),
+                new BigDecimal("175.25"), new BigDecimal("17525.00"), new BigDecimal("150.00"),
+                new BigDecimal("15000.00"), new BigDecimal("2525.00"), new BigDecimal("16.8300"), "USD", Instant.now(), false));
+            return new PortfolioStream.Summary(new PortfolioTotals(new BigDecimal("17525.00"),
+                new BigDecimal("15000.00"), new BigDecimal("2525.00"), new BigDecimal("16.8300")), "USD",
+                Instant.now(), false);
+        });
+        when(portfolioService.openPortfolio("ACC-12345")).thenReturn(new Versioned<>(portfolio, "1a2b.7"));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio").param("stream", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.accountId").value("ACC-12345"))
+            .andExpect(jsonPath("$.positions[0].symbol").value("AAPL"))
+            .andExpect(jsonPath("$.totalValue").value(17525.00))
+            .andExpect(jsonPath("$.currency").value("USD"))
+            .andExpect(jsonPath("$.asOfDate").isString())
+            .andReturn().getResponse().getContentAsString();
+        assertTrue(body.indexOf("\"positions\"") < body.indexOf("\"totalValue\""), "totals trail the positions");
+    }
+
+    @Test
+    @WithMockUser
+    void streamPortfolio_ValuationFailsMidStream_EndsDocumentWithError() throws Exception {
+        // Given
+        PortfolioStream portfolio = mock(PortfolioStream.class);
+        when(portfolio.getAccountId()).thenReturn("ACC-12345");
+        when(portfolio.forEachPosition(any())).thenAnswer(invocation -> {
+            PortfolioStream.PositionSink<?> sink = invocation.getArgument(0);
+            sink.accept(new PositionDto("AAPL", "Apple Inc.", AssetClass.EQUITY, new BigDecimal("100"),
+                new BigDecimal("175.25"), new BigDecimal("17525.00"), new BigDecimal("150.00"),
+                new BigDecimal("15000.00"), new BigDecimal("2525.00"), new BigDecimal("16.8300"), "USD", Instant.now(), false));
+            throw new ArithmeticException("Division by zero");
+        });
+        when(portfolioService.openPortfolio("ACC-12345")).thenReturn(new Versioned<>(portfolio, "1a2b.7"));
+
+        // When
+        MvcResult started = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio").param("stream", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // Then: still a complete JSON document, with the error in place of the totals
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.positions[0].symbol").value("AAPL"))
+            .andExpect(jsonPath("$.totalValue").doesNotExist())
+            .andExpect(jsonPath("$.error.status").value(500))
+            .andExpect(jsonPath("$.error.errorCode").value("INTERNAL_ERROR"))
+            .andExpect(jsonPath("$.error.instance").value("/api/v1/accounts/ACC-12345/portfolio"));
+    }
+
+    @Test
+    @WithMockUser
+    void streamPortfolio_AccountNotFound_Returns404BeforeStreaming() throws Exception {
+        // Given
+        when(portfolioService.openPortfolio("ACC-NOTFOUND"))
+            .thenThrow(new ResourceNotFoundException("Account not found: ACC-NOTFOUND"));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/accounts/ACC-NOTFOUND/portfolio").param("stream", "true"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.errorCode").value("RESOURCE_NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser
+    void livePortfolio_SendsPortfolioThenUpdatesAsServerSentEvents() throws Exception {
+        // Given
+        PortfolioDto portfolio = new PortfolioDto("ACC-12345", new BigDecimal("17525.00"), new BigDecimal("15000.00"),
+            new BigDecimal("2525.00"), new BigDecimal("16.8300"), "USD", List.of(), Instant.now(), Instant.now(), false);
+        PortfolioFeed.Subscription subscription = mock(PortfolioFeed.Subscription.class);
+        when(portfolioFeed.subscribe(eq("ACC-12345"), any())).thenAnswer(invocation -> {
+            PortfolioFeed.Subscriber subscriber = invocation.getArgument(1);
+            subscriber.onPortfolio(portfolio);
+            subscriber.onUpdate(new PortfolioUpdateDto("ACC-12345", new BigDecimal("18000.00"),
+                new BigDecimal("15000.00"), new BigDecimal("3000.00"), new BigDecimal("20.0000"), "USD",
+                List.of(), Instant.now()));
+            return subscription;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/ACC-12345/portfolio/live")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+            .andReturn();
+
+        // Then
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.startsWith("event:portfolio\ndata:{\"accountId\":\"ACC-12345\""), body);
+        assertTrue(body.contains("event:update\ndata:{\"accountId\":\"ACC-12345\",\"totalValue\":18000.00"), body);
+        verify(subscription, never()).cancel();
+    }
+
+    @Test
+    @WithMockUser
+    void livePortfolio_AccountNotFound_Returns404BeforeStreaming() throws Exception {
+        // Given
+        when(portfolioFeed.subscribe(eq("ACC-NOTFOUND"), any()))
+            .thenThrow(new ResourceNotFoundException("Account not found: ACC-NOTFOUND"));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/accounts/ACC-NOTFOUND/portfolio/live").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void getPortfolios_InvalidAccountId_Returns400() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/v1/accounts/portfolios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"accountIds\":[\"ACC-12345\",\"bad-id\"]}")
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"))
+            .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+        verifyNoInteractions(portfolioService);
+    }
+
+    @Test
+    @WithMockUser
+    void getPortfolios_EmptyBatch_Returns400() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/v1/accounts/portfolios/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"accountIds\":[]}")
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value(400));
+    }
+
+    private static PortfolioDto portfolio() {
+        return new PortfolioDto("ACC-12345", new BigDecimal("17525.00"), new BigDecimal("15000.00"),
+            new BigDecimal("2525.00"), new BigDecimal("16.8300"), "USD", List.of(), Instant.now(), Instant.now(), false);
+    }
+}
@@ -0,0 +1,114 @@
+package com.fidelity.integration.hub.controller.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.dto.InstrumentDto;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.ReferenceDataService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller slice test for ReferenceDataController.
+ * Focuses on the encoded response cache and its caching headers.
+ */
+@WebMvcTest(ReferenceDataController.class)
+@EnableConfigurationProperties(IntegrationHubProperties.class)
+class ReferenceDataControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReferenceDataService referenceDataService;
+
+    @Test
+    @WithMockUser
+    void getInstrument_AcceptsGzip_ServesGzippedJsonWithCachingHeaders() throws Exception {
+        // Given
+        when(referenceDataService.getInstrumentBySymbol("AAPL")).thenReturn(instrument("175.25"));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/reference/instruments/AAPL")
+                .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(header().string("Cache-Control", "no-cache, private"))
+            .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+            .andExpect(header().exists("ETag"))
+            .andReturn();
+
+        // Then
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes();
+        assertEquals(instrument("175.25"), objectMapper.readValue(json, InstrumentDto.class));
+    }
+
+    @Test
+    @WithMockUser
+    void getInstrument_InstrumentChanged_RebuildsCachedBytesAndETag() throws Exception {
+        // Given
+        when(referenceDataService.getInstrumentBySymbol("AAPL")).thenReturn(instrument("175.25"), instrument("176.00"));
+        String eTag = mockMvc.perform(get("/api/v1/reference/instruments/AAPL"))
+            .andExpect(jsonPath("$.currentPrice").value(175.25))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        String newETag = mockMvc.perform(get("/api/v1/reference/instruments/AAPL").header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andExpect(jsonPath("$.currentPrice").value(176.00))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, newETag);
+    }
+
+    @Test
+    @WithMockUser
+    void getInstrument_MatchingIfNoneMatch_Returns304() throws Exception {
+        // Given
+        when(referenceDataService.getInstrumentBySymbol("AAPL")).thenReturn(instrument("175.25"));
+        String eTag = mockMvc.perform(get("/api/v1/reference/instruments/AAPL").header("Accept-Encoding", "gzip"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/reference/instruments/AAPL").header("Accept-Encoding", "gzip")
+                .header("If-None-Match", eTag))
+            .andExpect(status().isNotModified());
+        // The identity variant has its own validator
+        mockMvc.perform(get("/api/v1/reference/instruments/AAPL").header("If-None-Match", eTag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityValuesAndWildcard() {
+        assertTrue(ReferenceDataController.acceptsGzip("gzip, deflate"));
+        assertTrue(ReferenceDataController.acceptsGzip("*"));
+        assertFalse(ReferenceDataController.acceptsGzip("gzip;q=0, *"));
+        assertFalse(ReferenceDataController.acceptsGzip("identity"));
+        assertFalse(ReferenceDataController.acceptsGzip(null));
+    }
+
+    private static InstrumentDto instrument(String price) {
+        return new InstrumentDto("AAPL", "Apple Inc.", AssetClass.EQUITY, "NASDAQ", new BigDecimal(price), "USD",
+            "037833100", "Technology", "Consumer Electronics", LocalDate.of(2024, 1, 2));
+    }
+}
@@ -0,0 +1,89 @@
+package com.fidelity.integration.hub.filter;
+
+import com.fidelity.integration.hub.timing.RequestTiming;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ServerTimingFilter.
+ * Verifies that recorded stages reach the header before the body is written.
+ */
+class ServerTimingFilterTest {
+
+    private ServerTimingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ServerTimingFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "correlationHeaderName", "X-Correlation-ID");
+        request = new MockHttpServletRequest("GET", "/api/v1/accounts/ACC-12345/portfolio");
+        response = new MockHttpServletResponse();
+        response.setHeader("X-Correlation-ID", "corr-123");
+    }
+
+    @Test
+    void doFilter_RecordedStages_AreInHeaderWhenBodyIsOpened() throws Exception {
+        // Given
+        AtomicReference<String> headerWhenOpened = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            RequestTiming.record(RequestTiming.Stage.OMS, TimeUnit.MICROSECONDS.toNanos(1_250));
+            RequestTiming.time(RequestTiming.Stage.PRICES, () -> "priced");
+            res.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+            headerWhenOpened.set(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        });
+
+        // Then
+        String header = headerWhenOpened.get();
+        assertNotNull(header);
+        assertTrue(header.startsWith("oms;dur=1.250;desc=\"OMS accounts and positions\", prices;dur="), header);
+        assertTrue(header.contains(", app;dur="), header);
+        assertTrue(header.endsWith(", cid;desc=\"corr-123\""), header);
+        assertFalse(header.contains("aggregate"), header);
+    }
+
+    @Test
+    void doFilter_NoBody_AddsHeaderAtEnd() throws Exception {
+        // When
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(304));
+
+        // Then
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING).startsWith("app;dur="));
+    }
+
+    @Test
+    void doFilter_OutsideFilter_RecordingIsIgnored() throws Exception {
+        // When
+        RequestTiming.record(RequestTiming.Stage.OMS, 1_000);
+        filter.doFilter(request, response, (req, res) -> res.getWriter().write("{}"));
+
+        // Then
+        assertFalse(response.getHeader(ServerTimingFilter.SERVER_TIMING).contains("oms"));
+    }
+
+    @Test
+    void doFilter_Disabled_AddsNothing() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        // When
+        filter.doFilter(request, response, (req, res) -> res.getWriter().write("{}"));
+
+        // Then
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+    }
+}
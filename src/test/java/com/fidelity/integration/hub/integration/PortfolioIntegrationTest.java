@@ -2,6 +2,7 @@ package com.fidelity.integration.hub.integration;
 
 import com.fidelity.integration.hub.model.dto.PortfolioDto;
 import com.fidelity.integration.hub.service.PortfolioService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -30,6 +31,9 @@ class PortfolioIntegrationTest {
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void getPortfolioByAccount_WithValidAccount_ReturnsPortfolio() {
         // Given
@@ -45,4 +49,15 @@ class PortfolioIntegrationTest {
         assertTrue(portfolio.totalValue().compareTo(BigDecimal.ZERO) > 0);
         assertNotNull(portfolio.currency());
     }
+
+    @Test
+    void getPortfolioByAccount_TimesProviderCalls() {
+        // When
+        portfolioService.getPortfolioByAccount("ACC-12346");
+
+        // Then
+        assertTrue(meterRegistry.get("hub.adapter.requests").tag("adapter", "oms").timers().stream()
+            .anyMatch(timer -> timer.count() > 0));
+        assertTrue(meterRegistry.get("hub.portfolio.stage").tag("stage", "version").timer().count() > 0);
+    }
 }
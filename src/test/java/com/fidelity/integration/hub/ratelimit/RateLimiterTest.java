@@ -0,0 +1,170 @@
+package com.fidelity.integration.hub.ratelimit;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimiter.
+ * Verifies bursts, refill, per-client and per-endpoint isolation and admission under contention,
+ * against a controlled clock.
+ */
+class RateLimiterTest {
+
+    private static final String ACCOUNTS = "/api/v1/clients/{clientId}/accounts";
+    private static final String BATCH = "/api/v1/accounts/portfolios/batch";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private IntegrationHubProperties.RateLimit config;
+
+    @BeforeEach
+    void setUp() {
+        config = new IntegrationHubProperties.RateLimit();
+        config.setRequestsPerSecond(10);
+        config.setBurst(3);
+    }
+
+    @Test
+    void tryAcquire_BurstSpent_RejectsUntilNextToken() {
+        // Given
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(ACCOUNTS, "client:A"));
+        }
+
+        // When
+        long waitNanos = limiter.tryAcquire(ACCOUNTS, "client:A");
+
+        // Then
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), waitNanos);
+        clock.addAndGet(waitNanos);
+        assertEquals(0, limiter.tryAcquire(ACCOUNTS, "client:A"));
+        assertTrue(limiter.tryAcquire(ACCOUNTS, "client:A") > 0);
+    }
+
+    @Test
+    void tryAcquire_IdleClient_RefillsUpToBurstOnly() {
+        // Given
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(ACCOUNTS, "client:A");
+        }
+
+        // When
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        // Then
+        int admitted = 0;
+        while (limiter.tryAcquire(ACCOUNTS, "client:A") == 0) {
+            admitted++;
+        }
+        assertEquals(3, admitted);
+    }
+
+    @Test
+    void tryAcquire_OtherClientOrEndpoint_HasItsOwnAllowance() {
+        // Given
+        IntegrationHubProperties.Limit batchLimit = new IntegrationHubProperties.Limit();
+        batchLimit.setRequestsPerSecond(1);
+        batchLimit.setBurst(1);
+        config.getEndpoints().put(BATCH, batchLimit);
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(ACCOUNTS, "client:A");
+        }
+
+        // When/Then
+        assertTrue(limiter.tryAcquire(ACCOUNTS, "client:A") > 0);
+        assertEquals(0, limiter.tryAcquire(ACCOUNTS, "client:B"));
+        assertEquals(0, limiter.tryAcquire(BATCH, "client:A"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire(BATCH, "client:A"));
+    }
+
+    @Test
+    void tryAcquire_ManyClients_KeepsAtMostMaximumKeys() {
+        // Given
+        config.setMaximumKeys(1_000);
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(0, limiter.tryAcquire(ACCOUNTS, "client:" + i));
+        }
+
+        // Then
+        assertEquals(1_024, limiter.capacity());
+        assertTrue(limiter.size() <= limiter.capacity());
+    }
+
+    @Test
+    void constructor_MaximumKeysBeyondLargestTable_FailsFast() {
+        // Given
+        config.setMaximumKeys(Integer.MAX_VALUE);
+
+        // When/Then: rounding up to a power of two would overflow an int
+        assertThrows(IllegalStateException.class, () -> new RateLimiter(config, clock::get));
+    }
+
+    @Test
+    void tryAcquire_TableFull_ReplacesRefilledBucketsBeforeBusyOnes() {
+        // Given
+        config.setMaximumKeys(8);
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(ACCOUNTS, "client:busy");
+        }
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        // When: enough idle clients to overflow the table many times
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(ACCOUNTS, "client:" + i);
+        }
+
+        // Then
+        assertTrue(limiter.tryAcquire(ACCOUNTS, "client:busy") > 0);
+    }
+
+    @Test
+    void tryAcquire_ConcurrentRequests_AdmitsExactlyTheBurst() throws Exception {
+        // Given
+        config.setBurst(100);
+        RateLimiter limiter = new RateLimiter(config, clock::get);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire(ACCOUNTS, "client:A") == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(100, admitted.get());
+    }
+}
@@ -2,6 +2,7 @@ package com.fidelity.integration.hub.service;
 
 import com.fidelity.integration.hub.adapter.OmsAdapter;
 import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.exception.BadRequestException;
 import com.fidelity.integration.hub.exception.ResourceNotFoundException;
 import com.fidelity.integration.hub.model.dto.AccountDto;
 import com.fidelity.integration.hub.model.enums.AccountStatus;
@@ -129,4 +130,37 @@ class AccountServiceTest {
             accountService.getAccountsByClient(clientId, null, null);
         });
     }
+
+    @Test
+    void getAccountsPage_FollowsCursorsInAccountIdOrder() {
+        // Given
+        String clientId = "CLIENT-98765";
+        Account testAccount3 = Account.builder().accountId("ACC-12344").clientId(clientId)
+            .accountType(AccountType.TRUST).status(AccountStatus.ACTIVE).currency("USD").build();
+        when(omsAdapter.getAccountsByClient(clientId))
+            .thenReturn(Arrays.asList(testAccount1, testAccount2, testAccount3));
+
+        // When
+        Page<List<AccountDto>> first = accountService.getAccountsPage(clientId, null, null, null, 2);
+        Page<List<AccountDto>> second = accountService.getAccountsPage(clientId, null, null, first.nextCursor(), 2);
+
+        // Then
+        assertEquals(List.of("ACC-12344", "ACC-12345"), first.content().stream().map(AccountDto::accountId).toList());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("ACC-12346"), second.content().stream().map(AccountDto::accountId).toList());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void getAccountsPage_CursorFromAnotherClient_ThrowsBadRequest() {
+        // Given
+        when(omsAdapter.getAccountsByClient("CLIENT-98765")).thenReturn(Arrays.asList(testAccount1, testAccount2));
+        String cursor = accountService.getAccountsPage("CLIENT-98765", null, null, null, 1).nextCursor();
+
+        // When/Then
+        assertThrows(BadRequestException.class,
+            () -> accountService.getAccountsPage("CLIENT-OTHER", null, null, cursor, 1));
+        assertThrows(BadRequestException.class,
+            () -> accountService.getAccountsPage("CLIENT-98765", null, null, "not a cursor", 1));
+    }
 }
@@ -0,0 +1,250 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.valuation.FixedPointValuationEngine;
+import com.fidelity.integration.hub.service.valuation.ValuationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MaterializedPortfolios.
+ * Verifies that tick-driven updates match a full recompute, value and scale.
+ */
+class MaterializedPortfoliosTest {
+
+    private final ValuationEngine engine = new FixedPointValuationEngine();
+    private final List<Position> positions = List.of(
+        position("AAPL", "100", "150.00"),
+        position("MSFT", "10.5", "200.00"),
+        position("AAPL", "3", "120.00"));
+
+    private Map<String, BigDecimal> prices;
+    private AtomicInteger loads;
+    private SimpleMeterRegistry meterRegistry;
+    private MaterializedPortfolios portfolios;
+
+    @BeforeEach
+    void setUp() {
+        prices = new HashMap<>(Map.of("AAPL", new BigDecimal("175.25"), "MSFT", new BigDecimal("380.50")));
+        loads = new AtomicInteger();
+        meterRegistry = new SimpleMeterRegistry();
+        portfolios = new MaterializedPortfolios(engine, symbols -> Map.copyOf(prices), Runnable::run, 100,
+            Duration.ofMinutes(1), new PortfolioMetrics(meterRegistry));
+    }
+
+    @Test
+    void onPriceTick_UpdatesAffectedRowsAndTotals_AsAFullRecomputeWould() {
+        // Given
+        portfolios.get("ACC-1", "v1", this::load);
+
+        // When: prices move, including to fewer decimal places than before
+        prices.put("AAPL", new BigDecimal("180.125"));
+        portfolios.onPriceTick("AAPL", new BigDecimal("180.125"));
+        prices.put("AAPL", new BigDecimal("181"));
+        portfolios.onPriceTick("AAPL", new BigDecimal("181"));
+        prices.put("MSFT", new BigDecimal("379.9"));
+        portfolios.onPriceTick("MSFT", new BigDecimal("379.9"));
+        PortfolioDto portfolio = portfolios.get("ACC-1", "v1", this::load).content();
+
+        // Then
+        assertEquals(1, loads.get());
+        assertSameValuation(recompute(), portfolio);
+        assertEquals(new BigDecimal("22631.95"), portfolio.totalValue());
+        assertEquals(5.0, meterRegistry.get("hub.portfolio.positions.revalued").counter().count());
+    }
+
+    @Test
+    void onPriceTick_SymbolNotHeld_LeavesSnapshotUntouched() {
+        // Given
+        PortfolioDto before = portfolios.get("ACC-1", "v1", this::load).content();
+
+        // When
+        portfolios.onPriceTick("GOOGL", new BigDecimal("140.75"));
+
+        // Then
+        assertSame(before, portfolios.get("ACC-1", "v1", this::load).content());
+    }
+
+    @Test
+    void onPriceTick_TicksWaitingForTheExecutor_AreAppliedOnceAtTheLatestPrice() {
+        // Given
+        List<Runnable> tasks = new ArrayList<>();
+        MaterializedPortfolios queued = new MaterializedPortfolios(engine, symbols -> Map.copyOf(prices), tasks::add,
+            100, Duration.ofMinutes(1), PortfolioMetrics.NONE);
+        PortfolioDto before = queued.get("ACC-1", "v1", this::load).content();
+
+        // When: a burst arrives on the publishing thread before the executor runs
+        queued.onPriceTick("AAPL", new BigDecimal("176.00"));
+        queued.onPriceTick("AAPL", new BigDecimal("177.00"));
+        prices.put("AAPL", new BigDecimal("178.00"));
+        queued.onPriceTick("AAPL", new BigDecimal("178.00"));
+
+        // Then: nothing was revalued on the publishing thread, and one task applies the latest price
+        assertSame(before, queued.get("ACC-1", "v1", this::load).content());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertSameValuation(recompute(), queued.get("ACC-1", "v1", this::load).content());
+    }
+
+    @Test
+    void addTickListener_IsCalledOnceTheTickShowsInTheSnapshot() {
+        // Given
+        portfolios.get("ACC-1", "v1", this::load);
+        List<BigDecimal> seen = new ArrayList<>();
+        portfolios.addTickListener((symbol, price) ->
+            seen.add(portfolios.get("ACC-1", "v1", this::load).content().positions().get(0).currentPrice()));
+
+        // When
+        portfolios.onPriceTick("AAPL", new BigDecimal("176.00"));
+        portfolios.onPriceTick("GOOGL", new BigDecimal("140.75"));
+
+        // Then: symbols no portfolio holds are passed on as well
+        assertEquals(List.of(new BigDecimal("176.00"), new BigDecimal("176.00")), seen);
+    }
+
+    @Test
+    void get_ConcurrentMisses_BuildOnce() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Supplier<PortfolioStream> slowLoader = () -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return load();
+        };
+
+        // When
+        try {
+            Future<PortfolioDto> first = callers.submit(() -> portfolios.get("ACC-1", "v1", slowLoader).content());
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<PortfolioDto> second = callers.submit(() -> portfolios.get("ACC-1", "v1", slowLoader).content());
+            Thread.sleep(50);
+            release.countDown();
+
+            // Then
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_VersionChanged_RebuildsFromLoader() {
+        // Given
+        portfolios.get("ACC-1", "v1", this::load);
+
+        // When
+        portfolios.get("ACC-1", "v2", () -> {
+            loads.incrementAndGet();
+            return new PortfolioStream("ACC-1", "v2", positions.subList(0, 1), prices, engine);
+        });
+        portfolios.onPriceTick("MSFT", new BigDecimal("1.00"));
+        PortfolioDto portfolio = portfolios.get("ACC-1", "v2", this::load).content();
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(1, portfolio.positions().size());
+        assertEquals(new BigDecimal("17525.00"), portfolio.totalValue());
+    }
+
+    @Test
+    void get_LoaderReadsNewerVersion_IsKeyedByTheLoadedVersion() {
+        // Given: the positions changed between the version check and the snapshot
+        Versioned<PortfolioDto> built = portfolios.get("ACC-1", "v1",
+            () -> new PortfolioStream("ACC-1", "v2", positions, Map.copyOf(prices), engine));
+
+        // When
+        Versioned<PortfolioDto> read = portfolios.get("ACC-1", "v2", this::load);
+
+        // Then
+        assertEquals("v2", built.version());
+        assertEquals("v2", read.version());
+        assertSame(built.content(), read.content());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void get_PriceChangedWhileBuilding_CatchesUp() {
+        // Given: the loader priced AAPL before a tick nobody had subscribed to yet
+        Map<String, BigDecimal> loaded = Map.copyOf(prices);
+        prices.put("AAPL", new BigDecimal("176.00"));
+
+        // When
+        PortfolioDto portfolio = portfolios.get("ACC-1", "v1",
+            () -> new PortfolioStream("ACC-1", "v1", positions, loaded, engine)).content();
+
+        // Then
+        assertSameValuation(recompute(), portfolio);
+    }
+
+    private PortfolioStream load() {
+        loads.incrementAndGet();
+        return new PortfolioStream("ACC-1", "v1", positions, Map.copyOf(prices), engine);
+    }
+
+    private PortfolioDto recompute() {
+        PortfolioStream stream = new PortfolioStream("ACC-1", "v1", positions, Map.copyOf(prices), engine);
+        List<PositionDto> valued = new ArrayList<>();
+        PortfolioStream.Summary summary = stream.forEachPosition(valued::add);
+        return new PortfolioDto("ACC-1", summary.totals().totalValue(), summary.totals().totalCostBasis(),
+            summary.totals().totalUnrealizedGainLoss(), summary.totals().totalUnrealizedGainLossPercent(),
+            summary.currency(), valued, null, summary.pricesAsOf(), summary.stale());
+    }
+
+    private static void assertSameValuation(PortfolioDto expected, PortfolioDto actual) {
+        // equals on BigDecimal compares scale as well as value
+        assertEquals(expected.totalValue(), actual.totalValue());
+        assertEquals(expected.totalCostBasis(), actual.totalCostBasis());
+        assertEquals(expected.totalUnrealizedGainLoss(), actual.totalUnrealizedGainLoss());
+        assertEquals(expected.totalUnrealizedGainLossPercent(), actual.totalUnrealizedGainLossPercent());
+        assertEquals(valuations(expected.positions()), valuations(actual.positions()));
+    }
+
+    /**
+     * Positions without their price time, which records when each price was received.
+     */
+    private static List<PositionDto> valuations(List<PositionDto> positions) {
+        return positions.stream()
+            .map(p -> new PositionDto(p.symbol(), p.instrumentName(), p.assetClass(), p.quantity(), p.currentPrice(),
+                p.positionValue(), p.costBasis(), p.totalCostBasis(), p.unrealizedGainLoss(),
+                p.unrealizedGainLossPercent(), p.currency(), null, p.stale()))
+            .toList();
+    }
+
+    private static Position position(String symbol, String quantity, String costBasisPerShare) {
+        return Position.builder()
+            .symbol(symbol)
+            .instrumentName(symbol)
+            .assetClass(AssetClass.EQUITY)
+            .quantity(new BigDecimal(quantity))
+            .costBasisPerShare(new BigDecimal(costBasisPerShare))
+            .currency("USD")
+            .build();
+    }
+}
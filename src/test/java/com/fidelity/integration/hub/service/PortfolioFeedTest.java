@@ -0,0 +1,249 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PortfolioUpdateDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioFeed.
+ * Verifies tick routing, per-subscriber conflation and cancellation.
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioFeedTest {
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    // Heartbeats signal from their own thread
+    private final Queue<Runnable> deliveries = new ConcurrentLinkedQueue<>();
+    private PortfolioFeed feed;
+    private RecordingSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        feed = new PortfolioFeed(portfolioService, deliveries::add, new IntegrationHubProperties());
+        subscriber = new RecordingSubscriber();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void onPriceTick_SendsTotalsAndPositionsOfChangedSymbolOnly() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(
+            portfolio("17525.00", position("AAPL", "175.25"), position("MSFT", "380.50")),
+            portfolio("17525.00", position("AAPL", "175.25"), position("MSFT", "380.50")),
+            portfolio("18000.00", position("AAPL", "180.00"), position("MSFT", "380.50")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When
+        feed.onPriceTick("AAPL", new BigDecimal("180.00"));
+        runDeliveries();
+
+        // Then
+        assertEquals(1, subscriber.portfolios.size());
+        assertEquals(1, subscriber.updates.size());
+        PortfolioUpdateDto update = subscriber.updates.get(0);
+        assertEquals(new BigDecimal("18000.00"), update.totalValue());
+        assertEquals(List.of("AAPL"), update.positions().stream().map(PositionDto::symbol).toList());
+    }
+
+    @Test
+    void onPriceTick_BurstWhileDeliveryPending_IsConflatedIntoOneUpdate() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(
+            portfolio("17525.00", position("AAPL", "175.25")),
+            portfolio("17525.00", position("AAPL", "175.25")),
+            portfolio("18100.00", position("AAPL", "181.00")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When
+        feed.onPriceTick("AAPL", new BigDecimal("179.00"));
+        feed.onPriceTick("AAPL", new BigDecimal("180.00"));
+        feed.onPriceTick("AAPL", new BigDecimal("181.00"));
+
+        // Then
+        assertEquals(1, deliveries.size());
+        runDeliveries();
+        assertEquals(1, subscriber.updates.size());
+        assertEquals(new BigDecimal("18100.00"), subscriber.updates.get(0).totalValue());
+    }
+
+    @Test
+    void onPriceTick_SymbolNotHeld_SchedulesNothing() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(portfolio("17525.00", position("AAPL", "175.25")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When
+        feed.onPriceTick("MSFT", new BigDecimal("381.00"));
+
+        // Then
+        assertTrue(deliveries.isEmpty());
+    }
+
+    @Test
+    void onPriceTick_ComparesOnlyTheRowsOfSymbolsThatTicked() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(
+            portfolio("55575.00", position("AAPL", "175.25"), position("MSFT", "380.50")),
+            portfolio("55575.00", position("AAPL", "175.25"), position("MSFT", "380.50")),
+            portfolio("56125.00", position("AAPL", "180.00"), position("MSFT", "381.00")),
+            portfolio("56125.00", position("AAPL", "180.00"), position("MSFT", "381.00")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When: MSFT has moved too, but its tick is still to come
+        feed.onPriceTick("AAPL", new BigDecimal("180.00"));
+        runDeliveries();
+        feed.onPriceTick("MSFT", new BigDecimal("381.00"));
+        runDeliveries();
+
+        // Then
+        assertEquals(2, subscriber.updates.size());
+        assertEquals(List.of("AAPL"), subscriber.updates.get(0).positions().stream().map(PositionDto::symbol).toList());
+        assertEquals(List.of("MSFT"), subscriber.updates.get(1).positions().stream().map(PositionDto::symbol).toList());
+    }
+
+    @Test
+    void onPriceTick_PositionsVersionChanged_SendsWholePortfolio() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(
+            portfolio("17525.00", position("AAPL", "175.25")),
+            portfolio("17525.00", position("AAPL", "175.25")),
+            versioned("v2", "18000.00", position("AAPL", "180.00")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When
+        feed.onPriceTick("AAPL", new BigDecimal("180.00"));
+        runDeliveries();
+
+        // Then
+        assertEquals(2, subscriber.portfolios.size());
+        assertTrue(subscriber.updates.isEmpty());
+    }
+
+    @Test
+    void heartbeat_IdleSubscription_IsReCheckedAndSentAHeartbeat() throws Exception {
+        // Given
+        IntegrationHubProperties properties = new IntegrationHubProperties();
+        properties.getPortfolio().getLive().setHeartbeat(Duration.ofMillis(20));
+        feed.shutdown();
+        feed = new PortfolioFeed(portfolioService, deliveries::add, properties);
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(portfolio("17525.00", position("AAPL", "175.25")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+
+        // When
+        for (int i = 0; i < 500 && subscriber.heartbeats == 0; i++) {
+            Thread.sleep(10);
+            runDeliveries();
+        }
+
+        // Then
+        assertTrue(subscriber.heartbeats > 0);
+        assertTrue(subscriber.updates.isEmpty());
+    }
+
+    @Test
+    void subscriberFailure_CancelsSubscription() throws Exception {
+        // Given
+        when(portfolioService.getPortfolioWithPositionsVersion("ACC-1")).thenReturn(
+            portfolio("17525.00", position("AAPL", "175.25")),
+            portfolio("17525.00", position("AAPL", "175.25")),
+            portfolio("18000.00", position("AAPL", "180.00")));
+        feed.subscribe("ACC-1", subscriber);
+        runDeliveries();
+        subscriber.failing = true;
+
+        // When
+        feed.onPriceTick("AAPL", new BigDecimal("180.00"));
+        runDeliveries();
+        feed.onPriceTick("AAPL", new BigDecimal("181.00"));
+
+        // Then
+        assertEquals(0, feed.getSubscriptionCount());
+        assertTrue(deliveries.isEmpty());
+    }
+
+    private void runDeliveries() {
+        Runnable delivery;
+        while ((delivery = deliveries.poll()) != null) {
+            delivery.run();
+        }
+    }
+
+    private static Versioned<PortfolioDto> portfolio(String totalValue, PositionDto... positions) {
+        return versioned("v1", totalValue, positions);
+    }
+
+    private static Versioned<PortfolioDto> versioned(String version, String totalValue, PositionDto... positions) {
+        return new Versioned<>(new PortfolioDto("ACC-1", new BigDecimal(totalValue), new BigDecimal("15000.00"),
+            new BigDecimal(totalValue).subtract(new BigDecimal("15000.00")), BigDecimal.ZERO, "USD",
+            List.of(positions), Instant.now(), Instant.now(), false), version);
+    }
+
+    private static PositionDto position(String symbol, String price) {
+        BigDecimal value = new BigDecimal(price).multiply(new BigDecimal("100"));
+        return new PositionDto(symbol, symbol, AssetClass.EQUITY, new BigDecimal("100"), new BigDecimal(price),
+            value, new BigDecimal("150.00"), new BigDecimal("15000.00"), value.subtract(new BigDecimal("15000.00")),
+            BigDecimal.ZERO, "USD", null, false);
+    }
+
+    private static final class RecordingSubscriber implements PortfolioFeed.Subscriber {
+
+        private final List<PortfolioDto> portfolios = new ArrayList<>();
+        private final List<PortfolioUpdateDto> updates = new ArrayList<>();
+        private volatile int heartbeats;
+        private boolean failing;
+
+        @Override
+        public void onPortfolio(PortfolioDto portfolio) {
+            portfolios.add(portfolio);
+        }
+
+        @Override
+        public void onUpdate(PortfolioUpdateDto update) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            updates.add(update);
+        }
+
+        @Override
+        public void onError(RuntimeException failure) {
+        }
+
+        @Override
+        public void onHeartbeat() {
+            heartbeats++;
+        }
+    }
+}
@@ -0,0 +1,677 @@
+package com.fidelity.integration.hub.service;
+
+import com.fidelity.integration.hub.adapter.MarketDataVendorAdapter;
+import com.fidelity.integration.hub.adapter.OmsAdapter;
+import com.fidelity.integration.hub.adapter.PriceTickListener;
+import com.fidelity.integration.hub.adapter.domain.Account;
+import com.fidelity.integration.hub.adapter.domain.AccountSnapshot;
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.config.IntegrationHubProperties;
+import com.fidelity.integration.hub.exception.BadRequestException;
+import com.fidelity.integration.hub.exception.ProviderException;
+import com.fidelity.integration.hub.exception.ResourceNotFoundException;
+import com.fidelity.integration.hub.model.dto.PortfolioDto;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AccountStatus;
+import com.fidelity.integration.hub.model.enums.AccountType;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import com.fidelity.integration.hub.service.valuation.FixedPointValuationEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PortfolioService.
+ * Tests aggregation and valuation logic in isolation using mocked adapters.
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioServiceTest {
+
+    @Mock
+    private OmsAdapter omsAdapter;
+
+    @Mock
+    private MarketDataVendorAdapter marketDataAdapter;
+
+    private ExecutorService executor;
+    private IntegrationHubProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PortfolioService portfolioService;
+
+    private Account testAccount;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        properties = new IntegrationHubProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        portfolioService = new PortfolioService(omsAdapter, marketDataAdapter, executor, executor, properties,
+            new FixedPointValuationEngine(), meterRegistry);
+
+        testAccount = Account.builder()
+            .accountId("ACC-12345")
+            .clientId("CLIENT-98765")
+            .accountType(AccountType.BROKERAGE)
+            .status(AccountStatus.ACTIVE)
+            .currency("USD")
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getPortfolioByAccount_PricesDistinctSymbolsInOneVendorCall() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00"),
+            position("AAPL", "10", "120.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50")
+        ));
+
+        // When
+        PortfolioDto portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        verify(marketDataAdapter, times(1)).getCurrentPrices(argThat((Collection<String> symbols) ->
+            Set.copyOf(symbols).equals(Set.of("AAPL", "MSFT")) && symbols.size() == 2));
+        verify(marketDataAdapter, never()).getCurrentPrice(anyString());
+        assertEquals(3, portfolio.positions().size());
+        assertEquals(0, new BigDecimal("38302.50").compareTo(portfolio.totalValue()));
+        assertEquals(0, new BigDecimal("26200.00").compareTo(portfolio.totalCostBasis()));
+    }
+
+    @Test
+    void getPortfolioByAccount_RecordsStageTimersAndEnrichedPositions() {
+        // Given
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50")
+        ));
+
+        // When
+        portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        for (String stage : List.of("version", "snapshot", "pricing", "valuation")) {
+            assertEquals(1, meterRegistry.get("hub.portfolio.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(2.0, meterRegistry.get("hub.portfolio.positions.enriched").summary().totalAmount());
+    }
+
+    @Test
+    void getPortfolioByAccount_NoPositions_SkipsVendorCall() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of()));
+
+        // When
+        PortfolioDto portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        verify(marketDataAdapter, atLeastOnce()).addPriceTickListener(any());
+        verifyNoMoreInteractions(marketDataAdapter);
+        assertEquals(BigDecimal.ZERO, portfolio.totalValue());
+        assertEquals("USD", portfolio.currency());
+    }
+
+    @Test
+    void getPortfolioByAccount_AccountNotFound_ThrowsException() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-NOTFOUND")).thenReturn(null);
+
+        // When/Then
+        assertThrows(ResourceNotFoundException.class, () -> portfolioService.getPortfolioByAccount("ACC-NOTFOUND"));
+    }
+
+    @Test
+    void getPortfolioByAccount_SerialPath_ProducesSameTotals() {
+        // Given
+        properties.getPortfolio().setParallelFanOut(false);
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(position("AAPL", "100", "150.00"))));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+
+        // When
+        PortfolioDto portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        assertEquals(new BigDecimal("17525.00"), portfolio.totalValue());
+        assertEquals(new BigDecimal("16.8300"), portfolio.totalUnrealizedGainLossPercent());
+    }
+
+    @Test
+    void getPortfolioByAccount_PriceBatchSize_SplitsVendorCalls() {
+        // Given
+        properties.getPortfolio().setPriceBatchSize(1);
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> symbols = invocation.getArgument(0);
+            String symbol = symbols.iterator().next();
+            return Map.of(symbol, "AAPL".equals(symbol) ? new BigDecimal("175.25") : new BigDecimal("380.50"));
+        });
+
+        // When
+        PortfolioDto portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        verify(marketDataAdapter, times(2)).getCurrentPrices(anyCollection());
+        assertEquals(0, new BigDecimal("36550.00").compareTo(portfolio.totalValue()));
+    }
+
+    @Test
+    void getPortfolioByAccount_SlowOms_FailsAtDeadline() {
+        // Given
+        properties.getOms().setTimeout(Duration.ofMillis(50));
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return snapshot(List.of());
+        });
+
+        // When/Then
+        long start = System.nanoTime();
+        assertThrows(ProviderException.class, () -> portfolioService.getPortfolioByAccount("ACC-12345"));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+    }
+
+    @Test
+    void getPortfolioByAccount_UsesSingleCompositeOmsCall() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of()));
+
+        // When
+        portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // Then
+        verify(omsAdapter).getAccountSnapshot("ACC-12345");
+        verify(omsAdapter, never()).getAccountById(anyString());
+        verify(omsAdapter, never()).getPositionsByAccount(anyString());
+    }
+
+    @Test
+    void getPortfolioByAccount_VersionUnchanged_ServesMaterializedPortfolioUpdatedByTicks() throws Exception {
+        // Given
+        AccountSnapshot snapshot = snapshot(List.of(position("AAPL", "100", "150.00"), position("MSFT", "50", "200.00")));
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountVersion("ACC-12345")).thenReturn(snapshot.getVersion());
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot);
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50")
+        ));
+        ArgumentCaptor<PriceTickListener> listeners = ArgumentCaptor.forClass(PriceTickListener.class);
+        verify(marketDataAdapter, atLeastOnce()).addPriceTickListener(listeners.capture());
+        portfolioService.getPortfolioByAccount("ACC-12345");
+        clearInvocations(omsAdapter, marketDataAdapter);
+
+        // When: ticks are applied off the publishing thread
+        listeners.getAllValues().forEach(listener -> listener.onPriceTick("AAPL", new BigDecimal("180.00")));
+        PortfolioDto portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+        for (int i = 0; i < 500 && !new BigDecimal("180.00").equals(portfolio.positions().get(0).currentPrice()); i++) {
+            Thread.sleep(10);
+            portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+        }
+
+        // Then
+        verify(omsAdapter, never()).getAccountSnapshot(anyString());
+        verifyNoInteractions(marketDataAdapter);
+        assertEquals(new BigDecimal("180.00"), portfolio.positions().get(0).currentPrice());
+        assertEquals(new BigDecimal("37025.00"), portfolio.totalValue());
+        assertEquals(new BigDecimal("48.1000"), portfolio.totalUnrealizedGainLossPercent());
+    }
+
+    @Test
+    void getPortfolioByAccount_VendorMissesFallbackDeadline_PricesFromLastKnownPricesMarkedStale() throws Exception {
+        // Given
+        properties.getVendor().getFallback().setDeadline(Duration.ofMillis(50));
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() > 0) {
+                release.await(5, TimeUnit.SECONDS);
+                return Map.of("AAPL", new BigDecimal("180.00"), "MSFT", new BigDecimal("390.00"));
+            }
+            return Map.of("AAPL", new BigDecimal("175.25"), "MSFT", new BigDecimal("380.50"));
+        });
+        PortfolioDto fresh = portfolioService.getPortfolioByAccount("ACC-12345");
+
+        // When
+        long start = System.nanoTime();
+        PortfolioDto portfolio;
+        try {
+            portfolio = portfolioService.getPortfolioByAccount("ACC-12345");
+        } finally {
+            release.countDown();
+        }
+
+        // Then
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+        assertFalse(fresh.stale());
+        assertTrue(portfolio.stale());
+        assertFalse(portfolio.pricesAsOf().isAfter(fresh.positions().get(0).priceAsOf()));
+        assertEquals(fresh.totalValue(), portfolio.totalValue());
+        assertTrue(portfolio.positions().stream().allMatch(PositionDto::stale));
+        assertEquals(2.0, meterRegistry.get("hub.portfolio.prices.stale").counter().count());
+    }
+
+    @Test
+    void getPortfolioByAccount_VendorFailsWithoutLastKnownPrices_ThrowsProviderException() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(position("AAPL", "100", "150.00"))));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenThrow(new ProviderException("Vendor unavailable"));
+
+        // When/Then
+        assertThrows(ProviderException.class, () -> portfolioService.getPortfolioByAccount("ACC-12345"));
+        assertEquals(0.0, meterRegistry.get("hub.portfolio.prices.stale").counter().count());
+    }
+
+    @Test
+    void getPortfolios_MixedAccounts_ReportsEachOutcomeOnce() throws Exception {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(position("AAPL", "100", "150.00"))));
+        when(omsAdapter.getAccountSnapshot("ACC-NOTFOUND")).thenReturn(null);
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+        Map<String, Object> outcomes = new ConcurrentHashMap<>();
+
+        // When
+        portfolioService.getPortfolios(List.of("ACC-12345", "ACC-NOTFOUND", "ACC-12345"),
+            (accountId, portfolio, failure) -> assertNull(outcomes.put(accountId, failure != null ? failure : portfolio)));
+
+        // Then
+        assertEquals(2, outcomes.size());
+        assertInstanceOf(PortfolioDto.class, outcomes.get("ACC-12345"));
+        assertInstanceOf(ResourceNotFoundException.class, outcomes.get("ACC-NOTFOUND"));
+        verify(omsAdapter, times(1)).getAccountSnapshot("ACC-12345");
+    }
+
+    @Test
+    void getPortfolios_ManyAccounts_NeverExceedsBatchConcurrency() throws Exception {
+        // Given
+        properties.getPortfolio().setBatchConcurrency(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(omsAdapter.getAccountSnapshot(anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            running.decrementAndGet();
+            return snapshot(List.of());
+        });
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accountIds.add("ACC-" + i);
+        }
+        List<String> completed = new ArrayList<>();
+
+        // When
+        portfolioService.getPortfolios(accountIds, (accountId, portfolio, failure) -> completed.add(accountId));
+
+        // Then
+        assertEquals(Set.copyOf(accountIds), Set.copyOf(completed));
+        assertTrue(maxRunning.get() <= 3, "at most 3 accounts in flight, saw " + maxRunning.get());
+    }
+
+    @Test
+    void getPortfolios_MoreAccountsThanFanOutThreads_CompletesEveryAccount() throws Exception {
+        // Given: accounts waiting on their own fan-out would hold every thread of this pool
+        ExecutorService fanOut = Executors.newFixedThreadPool(2);
+        ExecutorService batch = Executors.newFixedThreadPool(4);
+        properties.getPortfolio().setBatchConcurrency(8);
+        PortfolioService service = new PortfolioService(omsAdapter, marketDataAdapter, fanOut, batch, properties,
+            new FixedPointValuationEngine(), meterRegistry);
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountVersion(anyString())).thenReturn("v1");
+        when(omsAdapter.getAccountSnapshot(anyString())).thenReturn(snapshot(List.of(position("AAPL", "100", "150.00"))));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+        List<String> accountIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            accountIds.add("ACC-" + i);
+        }
+        List<RuntimeException> failures = new ArrayList<>();
+
+        // When
+        try {
+            service.getPortfolios(accountIds, (accountId, portfolio, failure) -> {
+                if (failure != null) {
+                    failures.add(failure);
+                }
+            });
+        } finally {
+            fanOut.shutdownNow();
+            batch.shutdownNow();
+        }
+
+        // Then
+        assertEquals(List.of(), failures);
+    }
+
+    @Test
+    void openPortfolio_MissingPrice_FailsBeforeAnyPositionIsValued() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+
+        // When/Then
+        ProviderException ex = assertThrows(ProviderException.class, () -> portfolioService.openPortfolio("ACC-12345"));
+        assertTrue(ex.getMessage().contains("MSFT"));
+    }
+
+    @Test
+    void openPortfolio_StreamedPositions_MatchMaterializedPortfolio() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50")
+        ));
+        PortfolioDto expected = portfolioService.getPortfolioByAccount("ACC-12345");
+        List<PositionDto> streamed = new ArrayList<>();
+
+        // When
+        PortfolioStream.Summary summary = portfolioService.openPortfolio("ACC-12345").content().forEachPosition(streamed::add);
+
+        // Then
+        assertEquals(valuations(expected.positions()), valuations(streamed));
+        assertEquals(expected.totalValue(), summary.totals().totalValue());
+        assertEquals(expected.totalUnrealizedGainLossPercent(), summary.totals().totalUnrealizedGainLossPercent());
+        assertEquals("USD", summary.currency());
+    }
+
+    @Test
+    void getPortfolioPage_ValuesAccountOnceThenPricesOnlyLaterPages() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00"),
+            position("GOOGL", "10", "100.00")
+        )));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenAnswer(invocation -> {
+            Map<String, BigDecimal> all = Map.of("AAPL", new BigDecimal("175.25"), "MSFT", new BigDecimal("380.50"),
+                "GOOGL", new BigDecimal("140.00"));
+            Map<String, BigDecimal> prices = new HashMap<>();
+            for (String symbol : invocation.<Collection<String>>getArgument(0)) {
+                prices.put(symbol, all.get(symbol));
+            }
+            return prices;
+        });
+        PortfolioDto whole = portfolioService.getPortfolioByAccount("ACC-12345");
+        clearInvocations(marketDataAdapter);
+
+        // When
+        Page<PortfolioDto> first = portfolioService.getPortfolioPage("ACC-12345", null, 2).content();
+        Page<PortfolioDto> second = portfolioService.getPortfolioPage("ACC-12345", first.nextCursor(), 2).content();
+
+        // Then: the first page and the totals share one pricing pass; the second page reuses the totals
+        verify(marketDataAdapter).getCurrentPrices(argThat((Collection<String> symbols) ->
+            Set.copyOf(symbols).equals(Set.of("AAPL", "MSFT", "GOOGL"))));
+        verify(marketDataAdapter).getCurrentPrices(argThat((Collection<String> symbols) ->
+            Set.copyOf(symbols).equals(Set.of("GOOGL"))));
+        verify(marketDataAdapter, times(2)).getCurrentPrices(anyCollection());
+        assertEquals(valuations(whole.positions().subList(0, 2)), valuations(first.content().positions()));
+        assertEquals(valuations(whole.positions().subList(2, 3)), valuations(second.content().positions()));
+        assertFalse(second.hasNext());
+        assertEquals(whole.totalValue(), first.content().totalValue());
+        assertEquals(whole.totalValue(), second.content().totalValue());
+        // Then: one sample per request; the second page valued only its own position
+        assertEquals(3, meterRegistry.get("hub.portfolio.positions.enriched").summary().count());
+        assertEquals(7.0, meterRegistry.get("hub.portfolio.positions.enriched").summary().totalAmount());
+    }
+
+    @Test
+    void getPortfolioPage_PriceEpochAdvanced_RecomputesTotalsWithThePage() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(List.of(
+            position("AAPL", "100", "150.00"),
+            position("MSFT", "50", "200.00")
+        )));
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(1L, 2L);
+        when(marketDataAdapter.getCurrentPrices(anyCollection()))
+            .thenReturn(Map.of("AAPL", new BigDecimal("175.25"), "MSFT", new BigDecimal("380.50")))
+            .thenReturn(Map.of("AAPL", new BigDecimal("180.00"), "MSFT", new BigDecimal("380.50")));
+        String cursor = portfolioService.getPortfolioPage("ACC-12345", null, 1).content().nextCursor();
+
+        // When
+        Page<PortfolioDto> second = portfolioService.getPortfolioPage("ACC-12345", cursor, 1).content();
+
+        // Then: totals match the new AAPL price rather than the cached ones
+        verify(marketDataAdapter, times(2)).getCurrentPrices(argThat((Collection<String> symbols) -> symbols.size() == 2));
+        assertEquals(new BigDecimal("37025.00"), second.content().totalValue());
+        assertEquals("MSFT", second.content().positions().get(0).symbol());
+    }
+
+    @Test
+    void getPortfolioPage_PositionsChangedSinceCursor_ThrowsBadRequest() {
+        // Given
+        when(omsAdapter.getAccountSnapshot("ACC-12345"))
+            .thenReturn(snapshot(List.of(position("AAPL", "100", "150.00"), position("MSFT", "50", "200.00"))))
+            .thenReturn(snapshot(List.of(position("AAPL", "120", "150.00"), position("MSFT", "50", "200.00"))));
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of(
+            "AAPL", new BigDecimal("175.25"),
+            "MSFT", new BigDecimal("380.50")
+        ));
+        String cursor = portfolioService.getPortfolioPage("ACC-12345", null, 1).content().nextCursor();
+
+        // When/Then
+        BadRequestException ex = assertThrows(BadRequestException.class,
+            () -> portfolioService.getPortfolioPage("ACC-12345", cursor, 1));
+        assertTrue(ex.getMessage().contains("restart"));
+    }
+
+    @Test
+    void getPortfolioVersion_CombinesAccountVersionAndPriceEpoch_WithoutPricing() {
+        // Given
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(42L);
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountVersion("ACC-12345")).thenReturn("v7");
+
+        // When
+        PortfolioVersion version = portfolioService.getPortfolioVersion("ACC-12345");
+
+        // Then
+        assertEquals("v7.2a", version.token());
+        assertEquals("v7", version.accountVersion());
+        verify(omsAdapter, never()).getAccountSnapshot(anyString());
+        verify(marketDataAdapter, never()).getCurrentPrices(anyCollection());
+    }
+
+    @Test
+    void getVersionedPortfolio_VersionMatchesPortfolioVersion_WithOneOmsVersionCall() {
+        // Given
+        List<Position> positions = List.of(position("AAPL", "100", "150.00"));
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(positions));
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountVersion("ACC-12345")).thenReturn(snapshot(positions).getVersion());
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(42L);
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+
+        // When
+        Versioned<PortfolioDto> portfolio = portfolioService.getVersionedPortfolio("ACC-12345");
+
+        // Then: the token comes from the version the materialized portfolio was looked up by
+        verify(omsAdapter, times(1)).getAccountVersion("ACC-12345");
+        assertEquals(portfolioService.getPortfolioVersion("ACC-12345").token(), portfolio.version());
+        assertEquals(new BigDecimal("17525.00"), portfolio.content().totalValue());
+    }
+
+    @Test
+    void getVersionedPortfolio_AfterConditionalCheck_ReusesItsAccountVersion() {
+        // Given
+        List<Position> positions = List.of(position("AAPL", "100", "150.00"));
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(positions));
+        when(omsAdapter.hasAccountVersions()).thenReturn(true);
+        when(omsAdapter.getAccountVersion("ACC-12345")).thenReturn(snapshot(positions).getVersion());
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(42L);
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+        PortfolioVersion checked = portfolioService.getPortfolioVersion("ACC-12345");
+
+        // When
+        Versioned<PortfolioDto> portfolio = portfolioService.getVersionedPortfolio("ACC-12345", checked);
+
+        // Then: one version call in all, for the check
+        verify(omsAdapter, times(1)).getAccountVersion("ACC-12345");
+        verify(omsAdapter, times(1)).getAccountSnapshot("ACC-12345");
+        assertEquals(checked.token(), portfolio.version());
+    }
+
+    @Test
+    void getVersionedPortfolio_OmsWithoutVersions_MakesOneSnapshotCallPerRequest() {
+        // Given: an OMS that keeps the default getAccountVersion
+        List<String> omsCalls = new ArrayList<>();
+        AccountSnapshot snapshot = snapshot(List.of(position("AAPL", "100", "150.00")));
+        OmsAdapter oms = new OmsAdapter() {
+            @Override
+            public Account getAccountById(String accountId) {
+                omsCalls.add("getAccountById");
+                return snapshot.getAccount();
+            }
+
+            @Override
+            public List<Account> getAccountsByClient(String clientId) {
+                omsCalls.add("getAccountsByClient");
+                return List.of(snapshot.getAccount());
+            }
+
+            @Override
+            public List<Position> getPositionsByAccount(String accountId) {
+                omsCalls.add("getPositionsByAccount");
+                return snapshot.getPositions();
+            }
+
+            @Override
+            public AccountSnapshot getAccountSnapshot(String accountId) {
+                omsCalls.add("getAccountSnapshot");
+                return snapshot;
+            }
+        };
+        PortfolioService service = new PortfolioService(oms, marketDataAdapter, executor, executor, properties,
+            new FixedPointValuationEngine(), meterRegistry);
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(42L);
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenReturn(Map.of("AAPL", new BigDecimal("175.25")));
+
+        // When
+        Versioned<PortfolioDto> first = service.getVersionedPortfolio("ACC-12345");
+        Versioned<PortfolioDto> second = service.getVersionedPortfolio("ACC-12345");
+
+        // Then: no version check, which would cost a second snapshot
+        assertEquals(List.of("getAccountSnapshot", "getAccountSnapshot"), omsCalls);
+        assertEquals(snapshot.getVersion() + ".2a", first.version());
+        assertEquals(first.version(), second.version());
+        assertNull(service.getPortfolioVersion("ACC-12345"));
+        assertEquals(List.of("getAccountSnapshot", "getAccountSnapshot"), omsCalls);
+    }
+
+    @Test
+    void getVersionedPortfolio_PricedFromLastKnownPrices_OnlyTheStaleResponseIsTagged() {
+        // Given
+        properties.getVendor().getFallback().setDeadline(Duration.ofMillis(50));
+        List<Position> positions = List.of(position("AAPL", "100", "150.00"));
+        when(omsAdapter.getAccountSnapshot("ACC-12345")).thenReturn(snapshot(positions));
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(42L);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(marketDataAdapter.getCurrentPrices(anyCollection())).thenAnswer(invocation -> {
+            if (calls.getAndIncrement() == 1) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return Map.of("AAPL", new BigDecimal("175.25"));
+        });
+        portfolioService.getVersionedPortfolio("ACC-12345");
+
+        // When
+        Versioned<PortfolioDto> stale;
+        try {
+            stale = portfolioService.getVersionedPortfolio("ACC-12345");
+        } finally {
+            release.countDown();
+        }
+        Versioned<PortfolioDto> fresh = portfolioService.getVersionedPortfolio("ACC-12345");
+
+        // Then: serving last known prices leaves the tokens of fresh responses as they were
+        String freshVersion = snapshot(positions).getVersion() + ".2a";
+        assertTrue(stale.content().stale());
+        assertFalse(fresh.content().stale());
+        assertEquals(freshVersion, fresh.version());
+        assertTrue(stale.version().startsWith(freshVersion + "."), stale.version());
+    }
+
+    @Test
+    void getPortfolioVersion_UnknownPriceEpoch_ReturnsNull() {
+        // Given
+        when(marketDataAdapter.getPriceEpoch()).thenReturn(MarketDataVendorAdapter.UNKNOWN_PRICE_EPOCH);
+
+        // When/Then
+        assertNull(portfolioService.getPortfolioVersion("ACC-12345"));
+        verifyNoInteractions(omsAdapter);
+    }
+
+    private AccountSnapshot snapshot(List<Position> positions) {
+        return new AccountSnapshot(testAccount, positions, AccountSnapshot.versionOf(testAccount, positions));
+    }
+
+    /**
+     * Positions without their price time, which differs between vendor round trips.
+     */
+    private static List<PositionDto> valuations(List<PositionDto> positions) {
+        return positions.stream()
+            .map(p -> new PositionDto(p.symbol(), p.instrumentName(), p.assetClass(), p.quantity(), p.currentPrice(),
+                p.positionValue(), p.costBasis(), p.totalCostBasis(), p.unrealizedGainLoss(),
+                p.unrealizedGainLossPercent(), p.currency(), null, p.stale()))
+            .toList();
+    }
+
+    private static Position position(String symbol, String quantity, String costBasisPerShare) {
+        return Position.builder()
+            .symbol(symbol)
+            .instrumentName(symbol)
+            .assetClass(AssetClass.EQUITY)
+            .quantity(new BigDecimal(quantity))
+            .costBasisPerShare(new BigDecimal(costBasisPerShare))
+            .currency("USD")
+            .build();
+    }
+}
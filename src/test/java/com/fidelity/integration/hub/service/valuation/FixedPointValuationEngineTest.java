@@ -0,0 +1,157 @@
+package com.fidelity.integration.hub.service.valuation;
+
+import com.fidelity.integration.hub.adapter.domain.Position;
+import com.fidelity.integration.hub.model.dto.PositionDto;
+import com.fidelity.integration.hub.model.enums.AssetClass;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests: FixedPointValuationEngine must match BigDecimalValuationEngine exactly,
+ * including the scale of every value.
+ */
+class FixedPointValuationEngineTest {
+
+    private final ValuationEngine reference = new BigDecimalValuationEngine();
+    private final ValuationEngine fixedPoint = new FixedPointValuationEngine();
+
+    @Test
+    void valuePosition_RandomPositions_MatchesBigDecimalEngine() {
+        // Given
+        SplittableRandom random = new SplittableRandom(20240115);
+
+        for (int i = 0; i < 100_000; i++) {
+            Position position = position(
+                decimal(random, 1_000_000, 4, true),
+                decimal(random, 10_000_000, 4, false));
+            BigDecimal price = decimal(random, 10_000_000, 6, false);
+
+            // When / Then
+            assertEquals(reference.valuePosition(position, price), fixedPoint.valuePosition(position, price),
+                () -> "quantity=" + position.getQuantity() + " cost=" + position.getCostBasisPerShare() + " price=" + price);
+        }
+    }
+
+    @Test
+    void valuePosition_RoundingTies_RoundHalfUpLikeBigDecimal() {
+        // Given: gains of exactly half a unit in the last percent digit, both signs
+        List<BigDecimal[]> cases = List.of(
+            new BigDecimal[] {new BigDecimal("1"), new BigDecimal("200000"), new BigDecimal("200001")},
+            new BigDecimal[] {new BigDecimal("1"), new BigDecimal("200000"), new BigDecimal("199999")},
+            new BigDecimal[] {new BigDecimal("-3"), new BigDecimal("3"), new BigDecimal("1")},
+            new BigDecimal[] {new BigDecimal("7"), new BigDecimal("0.03"), new BigDecimal("0.01")});
+
+        for (BigDecimal[] values : cases) {
+            Position position = position(values[0], values[1]);
+
+            // When / Then
+            assertEquals(reference.valuePosition(position, values[2]), fixedPoint.valuePosition(position, values[2]));
+        }
+    }
+
+    @Test
+    void valuePosition_EdgeCases_MatchBigDecimalEngine() {
+        // Given
+        List<Position> positions = List.of(
+            position(new BigDecimal("100"), BigDecimal.ZERO),
+            position(new BigDecimal("100"), new BigDecimal("-5.00")),
+            position(BigDecimal.ZERO, BigDecimal.ZERO),
+            position(new BigDecimal("1E+3"), new BigDecimal("1.5")),
+            position(new BigDecimal("100.000000000000000000001"), new BigDecimal("150.00")),
+            position(new BigDecimal("999999999999"), new BigDecimal("99999999.99")));
+        BigDecimal price = new BigDecimal("175.123456");
+
+        for (Position position : positions) {
+            // When / Then
+            assertEquals(reference.valuePosition(position, price), fixedPoint.valuePosition(position, price),
+                () -> "quantity=" + position.getQuantity() + " cost=" + position.getCostBasisPerShare());
+        }
+    }
+
+    @Test
+    void valuePosition_ZeroQuantityWithCostBasis_FailsLikeBigDecimalEngine() {
+        // Given
+        Position position = position(BigDecimal.ZERO, new BigDecimal("10.00"));
+
+        // When / Then
+        assertThrows(ArithmeticException.class, () -> reference.valuePosition(position, BigDecimal.ONE));
+        assertThrows(ArithmeticException.class, () -> fixedPoint.valuePosition(position, BigDecimal.ONE));
+    }
+
+    @Test
+    void totals_RandomPortfolios_MatchBigDecimalEngine() {
+        // Given
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int portfolio = 0; portfolio < 500; portfolio++) {
+            List<PositionDto> positions = new ArrayList<>();
+            int size = random.nextInt(200);
+            for (int i = 0; i < size; i++) {
+                positions.add(reference.valuePosition(
+                    position(decimal(random, 1_000_000, 4, true), decimal(random, 10_000_000, 4, false)),
+                    decimal(random, 10_000_000, 6, false)));
+            }
+
+            // When
+            ValuationEngine.TotalsAccumulator expected = reference.newAccumulator();
+            ValuationEngine.TotalsAccumulator actual = fixedPoint.newAccumulator();
+            positions.forEach(expected::add);
+            positions.forEach(actual::add);
+
+            // Then
+            assertEquals(expected.totals(), actual.totals());
+        }
+    }
+
+    @Test
+    void totals_SumOverflowsLong_FallsBackToBigDecimal() {
+        // Given: each position value fits a long, their sum does not
+        Position position = position(new BigDecimal("900000000000"), new BigDecimal("1.0000"));
+        PositionDto valued = reference.valuePosition(position, new BigDecimal("9000.0000"));
+        ValuationEngine.TotalsAccumulator expected = reference.newAccumulator();
+        ValuationEngine.TotalsAccumulator actual = fixedPoint.newAccumulator();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            expected.add(valued);
+            actual.add(valued);
+        }
+
+        // Then
+        assertEquals(expected.totals(), actual.totals());
+    }
+
+    @Test
+    void totals_NoPositions_AreZero() {
+        // When
+        PortfolioTotals totals = fixedPoint.newAccumulator().totals();
+
+        // Then
+        assertEquals(reference.newAccumulator().totals(), totals);
+        assertEquals(BigDecimal.ZERO, totals.totalValue());
+    }
+
+    private static Position position(BigDecimal quantity, BigDecimal costBasisPerShare) {
+        return Position.builder()
+            .symbol("TEST")
+            .assetClass(AssetClass.EQUITY)
+            .quantity(quantity)
+            .costBasisPerShare(costBasisPerShare)
+            .currency("USD")
+            .build();
+    }
+
+    private static BigDecimal decimal(SplittableRandom random, long bound, int maxScale, boolean signed) {
+        long unscaled = 1 + random.nextLong(bound);
+        if (signed && random.nextInt(10) == 0) {
+            unscaled = -unscaled;
+        }
+        return BigDecimal.valueOf(unscaled, random.nextInt(maxScale + 1));
+    }
+}